@@ -3,36 +3,35 @@ package com.windsurf.auth.service;
 import com.windsurf.auth.model.LoginRequest;
 import com.windsurf.auth.model.RegisterRequest;
 import com.windsurf.common.core.exception.BusinessException;
-import com.windsurf.common.redis.service.RedisService;
 import com.windsurf.common.security.entity.User;
 import com.windsurf.common.security.entity.UserStatus;
 import com.windsurf.common.security.mapper.UserMapper;
 import com.windsurf.common.security.properties.SecurityProperties;
+import com.windsurf.common.security.service.CustomUserDetailsService;
+import com.windsurf.common.security.service.TokenBlacklistService;
 import com.windsurf.common.security.util.JwtUtils;
-import io.jsonwebtoken.Claims;
+import com.windsurf.common.security.util.ParsedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Date;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
-    private static final String TOKEN_BLACKLIST_PREFIX = "token:blacklist:";
     private static final Pattern PASSWORD_PATTERN = 
         Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,}$");
 
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-    private final RedisService redisService;
     private final SecurityProperties securityProperties;
     private final JwtUtils jwtUtils;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenBlacklistService tokenBlacklistService;
 
     @Transactional
     public String register(RegisterRequest request) {
@@ -61,6 +60,8 @@ public class AuthService {
                 .build();
 
         userMapper.insert(user);
+        // Drop any cached entry left over from a previous account with the same name
+        userDetailsService.evictUser(user.getUsername());
 
         // Generate token
         return jwtUtils.generateToken(user);
@@ -92,16 +93,20 @@ public class AuthService {
     }
 
     public String refreshToken(String token) {
+        ParsedToken parsedToken;
+        try {
+            parsedToken = jwtUtils.parseToken(token);
+        } catch (Exception e) {
+            throw new BusinessException("Failed to refresh token: " + e.getMessage());
+        }
+
         // Check if token is blacklisted
-        if (isTokenBlacklisted(token)) {
+        if (tokenBlacklistService.isRevoked(parsedToken)) {
             throw new BusinessException("Token has been revoked");
         }
 
         try {
-            Claims claims = jwtUtils.getClaimsFromToken(token);
-            String username = claims.getSubject();
-            
-            User user = userMapper.findByUsername(username);
+            User user = userMapper.findByUsername(parsedToken.getUsername());
             if (user == null || user.getStatus() != UserStatus.ACTIVE) {
                 throw new BusinessException("User not found or inactive");
             }
@@ -113,21 +118,15 @@ public class AuthService {
     }
 
     public void logout(String token) {
-        // Add token to blacklist
+        // Add token to blacklist, the entry expires together with the token
         try {
-            Claims claims = jwtUtils.getClaimsFromToken(token);
-            Date expiration = claims.getExpiration();
-            long ttl = Math.max(0, expiration.getTime() - System.currentTimeMillis());
-            redisService.setCacheObject(TOKEN_BLACKLIST_PREFIX + token, "1", ttl, TimeUnit.SECONDS);
+            tokenBlacklistService.revoke(jwtUtils.parseToken(token));
+            jwtUtils.evictToken(token);
         } catch (Exception e) {
             throw new BusinessException("Failed to logout: " + e.getMessage());
         }
     }
 
-    private boolean isTokenBlacklisted(String token) {
-        return redisService.hasKey(TOKEN_BLACKLIST_PREFIX + token);
-    }
-
     private boolean isPasswordValid(String password) {
         return PASSWORD_PATTERN.matcher(password).matches();
     }
@@ -0,0 +1,83 @@
+package com.windsurf.benchmarks.crypto;
+
+import com.windsurf.common.core.utils.EncryptUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EncryptUtils 各算法在典型报文大小下的耗时：token、表单提交、列表响应
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncryptUtilsBenchmark {
+
+    private static final String KEY = "0123456789abcdef";
+
+    @Param({"256", "4096", "65536"})
+    private int payloadSize;
+
+    private String data;
+    private String encrypted;
+    private String base64;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder(payloadSize);
+        for (int i = 0; builder.length() < payloadSize; i++) {
+            builder.append("{\"id\":").append(i).append(",\"name\":\"用户").append(i).append("\"},");
+        }
+        data = builder.substring(0, payloadSize);
+        encrypted = EncryptUtils.aesEncrypt(data, KEY);
+        base64 = EncryptUtils.base64Encode(data);
+    }
+
+    @Benchmark
+    public String aesEncrypt() {
+        return EncryptUtils.aesEncrypt(data, KEY);
+    }
+
+    @Benchmark
+    public String aesDecrypt() {
+        return EncryptUtils.aesDecrypt(encrypted, KEY);
+    }
+
+    @Benchmark
+    public String hmacSha256() {
+        return EncryptUtils.hmacSha256(data, KEY);
+    }
+
+    @Benchmark
+    public String sha256() {
+        return EncryptUtils.sha256(data);
+    }
+
+    @Benchmark
+    public String md5() {
+        return EncryptUtils.md5(data);
+    }
+
+    @Benchmark
+    public String base64Encode() {
+        return EncryptUtils.base64Encode(data);
+    }
+
+    @Benchmark
+    public String base64Decode() {
+        return EncryptUtils.base64Decode(base64);
+    }
+}
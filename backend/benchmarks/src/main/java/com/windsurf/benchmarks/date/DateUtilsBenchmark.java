@@ -0,0 +1,121 @@
+package com.windsurf.benchmarks.date;
+
+import com.windsurf.common.core.utils.DateUtils;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DateUtils 格式化、解析的耗时，多线程下同时反映格式化器的创建和竞争开销
+ * <p>
+ * 以 legacy 开头的方法为引入格式化器缓存前的实现，作为对照。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+
+    private static final String[] PARSE_PATTERNS = {
+            "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm", "yyyy-MM",
+            "yyyy/MM/dd", "yyyy/MM/dd HH:mm:ss", "yyyy/MM/dd HH:mm", "yyyy/MM",
+            "yyyy.MM.dd", "yyyy.MM.dd HH:mm:ss", "yyyy.MM.dd HH:mm", "yyyy.MM",
+            "yyyyMMdd", "yyyyMMddHHmmss", "yyyyMMddHHmm", "yyyyMM" };
+
+    private Date date;
+    private LocalDateTime dateTime;
+
+    @Setup
+    public void setup() {
+        date = new Date(1_700_000_000_000L);
+        dateTime = LocalDateTime.of(2023, 11, 14, 22, 13, 20);
+    }
+
+    @Benchmark
+    public String getDate() {
+        return DateUtils.getDate();
+    }
+
+    @Benchmark
+    public String getDateTime() {
+        return DateUtils.getDateTime();
+    }
+
+    @Benchmark
+    public String dateTimeNow() {
+        return DateUtils.dateTimeNow(DateUtils.YYYYMMDDHHMMSS);
+    }
+
+    @Benchmark
+    public String format() {
+        return DateUtils.format(date, DateUtils.YYYY_MM_DD_HH_MM_SS);
+    }
+
+    @Benchmark
+    public Date parseDateTime() {
+        return DateUtils.parseDate("2023-11-14 22:13:20");
+    }
+
+    /**
+     * 匹配候选格式列表靠后的格式，解析需依次尝试前面的格式
+     */
+    @Benchmark
+    public Date parseCompact() {
+        return DateUtils.parseDate("20231114221320");
+    }
+
+    @Benchmark
+    public StringBuilder formatMillisIntoBuilder(Buffer buffer) {
+        buffer.builder.setLength(0);
+        return DateUtils.formatDateTime(date.getTime(), buffer.builder);
+    }
+
+    @Benchmark
+    public StringBuilder formatLocalDateTimeIntoBuilder(Buffer buffer) {
+        buffer.builder.setLength(0);
+        return DateUtils.formatDateTime(dateTime, buffer.builder);
+    }
+
+    @Benchmark
+    public String legacyGetDateTime() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern(DateUtils.YYYY_MM_DD_HH_MM_SS));
+    }
+
+    @Benchmark
+    public String legacyDateTimeNow() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern(DateUtils.YYYYMMDDHHMMSS));
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        return DateFormatUtils.format(date, DateUtils.YYYY_MM_DD_HH_MM_SS);
+    }
+
+    @Benchmark
+    public Date legacyParseCompact() throws ParseException {
+        return org.apache.commons.lang3.time.DateUtils.parseDate("20231114221320", PARSE_PATTERNS);
+    }
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        final StringBuilder builder = new StringBuilder(32);
+    }
+}
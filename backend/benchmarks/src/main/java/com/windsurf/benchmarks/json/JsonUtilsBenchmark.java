@@ -0,0 +1,140 @@
+package com.windsurf.benchmarks.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.windsurf.common.core.page.PageResult;
+import com.windsurf.common.core.result.R;
+import com.windsurf.common.core.utils.JsonUtils;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtils 序列化/反序列化接口响应的耗时
+ * <p>
+ * pageSize 对应分页接口的常见取值：单条详情、默认分页、大分页导出。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilsBenchmark {
+
+    private static final TypeReference<R<PageResult<UserView>>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"1", "20", "500"})
+    private int pageSize;
+
+    /**
+     * 未注册 Blackbird 的对照组，其余配置与 JsonMappers.web() 相同
+     */
+    private static final ObjectMapper PLAIN = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .registerModule(new JavaTimeModule());
+
+    private R<PageResult<UserView>> response;
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setup() {
+        List<UserView> users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(UserView.sample(i));
+        }
+        response = R.ok(new PageResult<>(users, 10_000, 1, pageSize));
+        json = JsonUtils.toJsonString(response);
+        jsonBytes = JsonUtils.toJsonBytes(response);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return JsonUtils.toJsonString(response);
+    }
+
+    @Benchmark
+    public byte[] serializeBytes() {
+        return JsonUtils.toJsonBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeBytesPlain() throws Exception {
+        return PLAIN.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public R<PageResult<UserView>> parseTyped() throws Exception {
+        return JsonUtils.getObjectMapper().readValue(json, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public R<PageResult<UserView>> parseTypedBytes() throws Exception {
+        return JsonUtils.getObjectMapper().readValue(jsonBytes, PAGE_TYPE);
+    }
+
+    @Benchmark
+    public R<PageResult<UserView>> parseTypedBytesPlain() throws Exception {
+        return PLAIN.readValue(jsonBytes, PAGE_TYPE);
+    }
+
+    @Benchmark
+    @SuppressWarnings("rawtypes")
+    public R parseRaw() {
+        return JsonUtils.parseObject(json, R.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> parseMap() {
+        return JsonUtils.parseMap(json);
+    }
+
+    /**
+     * 与系统用户接口返回字段一致的视图对象
+     */
+    @Data
+    public static class UserView {
+        private Long id;
+        private String username;
+        private String nickname;
+        private String email;
+        private String mobile;
+        private Integer status;
+        private List<String> roles;
+        private LocalDateTime createTime;
+        private LocalDateTime updateTime;
+
+        static UserView sample(int i) {
+            UserView user = new UserView();
+            user.setId(100_000L + i);
+            user.setUsername("user" + i);
+            user.setNickname("测试用户" + i);
+            user.setEmail("user" + i + "@windsurf.com");
+            user.setMobile("138" + String.format("%08d", i));
+            user.setStatus(1);
+            user.setRoles(List.of("ROLE_USER", "ROLE_AUDITOR"));
+            user.setCreateTime(LocalDateTime.of(2023, 1, 1, 8, 30).plusMinutes(i));
+            user.setUpdateTime(LocalDateTime.of(2023, 6, 1, 12, 0).plusMinutes(i));
+            return user;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.windsurf.benchmarks.validate;
+
+import com.windsurf.common.core.utils.StringUtils;
+import com.windsurf.common.core.utils.ValidateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * ValidateUtils、StringUtils 中校验方法的耗时
+ * <p>
+ * 每次调用校验一组输入，valid 为 false 时输入在末尾才不匹配，覆盖正则回溯最多的情况。
+ * 以 regex 开头的方法为改用手写匹配前的实现（每次调用 {@code Pattern.matches}）和预编译正则，作为对照。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+
+    private static final String REGEX_MOBILE_EXACT =
+            "^((13[0-9])|(14[5,7,9])|(15[0-3,5-9])|(16[6])|(17[0-3,5-8])|(18[0-9])|(19[8,9]))\\d{8}$";
+    private static final String REGEX_EMAIL =
+            "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
+    private static final String REGEX_IP =
+            "^(([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])\\.){3}([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])$";
+    private static final String REGEX_URL = "^(https?|ftp)://[^\\s/$.?#].[^\\s]*$";
+    private static final String REGEX_MAC = "^([0-9A-Fa-f]{2}[:-]){5}([0-9A-Fa-f]{2})$";
+
+    private static final Pattern MOBILE_PATTERN = Pattern.compile(REGEX_MOBILE_EXACT);
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(REGEX_EMAIL);
+    private static final Pattern IP_PATTERN = Pattern.compile(REGEX_IP);
+    private static final Pattern URL_PATTERN = Pattern.compile(REGEX_URL);
+    private static final Pattern MAC_PATTERN = Pattern.compile(REGEX_MAC);
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private String mobile;
+    private String email;
+    private String url;
+    private String ip;
+    private String mac;
+    private String tel;
+    private String postcode;
+    private String passport;
+    private String chinese;
+    private List<String> emails;
+
+    @Setup
+    public void setup() {
+        mobile = valid ? "13812345678" : "1381234567x";
+        email = valid ? "zhang.san@windsurf-cloud.com" : "zhang.san@windsurf-cloud.c";
+        url = valid ? "https://api.windsurf.com/system/users?pageNum=1&pageSize=20" : "https://api.windsurf.com/ users";
+        ip = valid ? "192.168.100.254" : "192.168.100.256";
+        mac = valid ? "00:1A:2B:3C:4D:5E" : "00:1A:2B:3C:4D:5G";
+        tel = valid ? "010-12345678" : "010-1234567x";
+        postcode = valid ? "100080" : "10008x";
+        passport = valid ? "G12345678" : "G1234567x";
+        chinese = valid ? "云原生管理系统" : "云原生管理系统x";
+        emails = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            emails.add(valid ? "user" + i + "@windsurf-cloud.com" : "user" + i + "@windsurf-cloud.c");
+        }
+    }
+
+    @Benchmark
+    public void validateUtils(Blackhole blackhole) {
+        blackhole.consume(ValidateUtils.isMobileSimple(mobile));
+        blackhole.consume(ValidateUtils.isMobile(mobile));
+        blackhole.consume(ValidateUtils.isEmail(email));
+        blackhole.consume(ValidateUtils.isUrl(url));
+        blackhole.consume(ValidateUtils.isIp(ip));
+        blackhole.consume(ValidateUtils.isMac(mac));
+        blackhole.consume(ValidateUtils.isTel(tel));
+        blackhole.consume(ValidateUtils.isPostcode(postcode));
+        blackhole.consume(ValidateUtils.isPassport(passport));
+        blackhole.consume(ValidateUtils.isChinese(chinese));
+    }
+
+    @Benchmark
+    public void stringUtils(Blackhole blackhole) {
+        blackhole.consume(StringUtils.isMobile(mobile));
+        blackhole.consume(StringUtils.isEmail(email));
+        blackhole.consume(StringUtils.isUrl(url));
+    }
+
+    @Benchmark
+    public boolean mobile() {
+        return ValidateUtils.isMobile(mobile);
+    }
+
+    @Benchmark
+    public boolean email() {
+        return ValidateUtils.isEmail(email);
+    }
+
+    @Benchmark
+    public boolean ip() {
+        return ValidateUtils.isIp(ip);
+    }
+
+    @Benchmark
+    public boolean url() {
+        return ValidateUtils.isUrl(url);
+    }
+
+    @Benchmark
+    public boolean mac() {
+        return ValidateUtils.isMac(mac);
+    }
+
+    @Benchmark
+    public void regexPerCall(Blackhole blackhole) {
+        blackhole.consume(Pattern.matches(REGEX_MOBILE_EXACT, mobile));
+        blackhole.consume(Pattern.matches(REGEX_EMAIL, email));
+        blackhole.consume(Pattern.matches(REGEX_IP, ip));
+        blackhole.consume(Pattern.matches(REGEX_URL, url));
+        blackhole.consume(Pattern.matches(REGEX_MAC, mac));
+    }
+
+    @Benchmark
+    public void regexPrecompiled(Blackhole blackhole) {
+        blackhole.consume(MOBILE_PATTERN.matcher(mobile).matches());
+        blackhole.consume(EMAIL_PATTERN.matcher(email).matches());
+        blackhole.consume(IP_PATTERN.matcher(ip).matches());
+        blackhole.consume(URL_PATTERN.matcher(url).matches());
+        blackhole.consume(MAC_PATTERN.matcher(mac).matches());
+    }
+
+    /**
+     * 与 regexPerCall、regexPrecompiled 校验相同的五种格式
+     */
+    @Benchmark
+    public void handWritten(Blackhole blackhole) {
+        blackhole.consume(ValidateUtils.isMobile(mobile));
+        blackhole.consume(ValidateUtils.isEmail(email));
+        blackhole.consume(ValidateUtils.isIp(ip));
+        blackhole.consume(ValidateUtils.isUrl(url));
+        blackhole.consume(ValidateUtils.isMac(mac));
+    }
+
+    @Benchmark
+    public List<String> findInvalid() {
+        return ValidateUtils.findInvalid(emails, ValidateUtils::isEmail);
+    }
+}
@@ -0,0 +1,179 @@
+package com.windsurf.common.core.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of JCA crypto primitives.
+ * <p>
+ * Provider lookup in {@code Cipher.getInstance}/{@code Mac.getInstance} is expensive, so instances are
+ * kept per thread for one-shot operations and in a bounded pool for multi-step (streaming) operations.
+ * Secret keys derived from string keys are cached as well.
+ */
+public final class CryptoCache {
+
+    /**
+     * Cached primitive kinds, used for statistics
+     */
+    public enum Primitive {
+        KEY, CIPHER, MAC
+    }
+
+    private static final int MAX_CACHED_KEYS = 1024;
+    private static final int MAX_POOLED_CIPHERS = 64;
+
+    private static final Map<String, SecretKeySpec> KEYS = new ConcurrentHashMap<>();
+    private static final Map<String, BlockingQueue<Cipher>> CIPHER_POOLS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Cipher>> THREAD_CIPHERS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, CachedMac>> THREAD_MACS = ThreadLocal.withInitial(HashMap::new);
+
+    private static final LongAdder[] HITS = newAdders();
+    private static final LongAdder[] MISSES = newAdders();
+    private static final LongAdder[] ALLOCATIONS = newAdders();
+
+    private CryptoCache() {
+    }
+
+    /**
+     * Get the secret key for the UTF-8 bytes of a string key
+     */
+    public static SecretKeySpec secretKey(String key, String algorithm) {
+        String cacheKey = algorithm + ':' + key;
+        SecretKeySpec secretKey = KEYS.get(cacheKey);
+        if (secretKey != null) {
+            HITS[Primitive.KEY.ordinal()].increment();
+            return secretKey;
+        }
+        MISSES[Primitive.KEY.ordinal()].increment();
+        ALLOCATIONS[Primitive.KEY.ordinal()].increment();
+        secretKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), algorithm);
+        if (KEYS.size() < MAX_CACHED_KEYS) {
+            KEYS.putIfAbsent(cacheKey, secretKey);
+        }
+        return secretKey;
+    }
+
+    /**
+     * Get the calling thread's cipher, initialized for the given mode and key.
+     * The instance must not escape the calling method or span multiple calls.
+     */
+    public static Cipher cipher(String transformation, int mode, SecretKeySpec key) throws GeneralSecurityException {
+        Map<String, Cipher> ciphers = THREAD_CIPHERS.get();
+        Cipher cipher = ciphers.get(transformation);
+        if (cipher != null) {
+            HITS[Primitive.CIPHER.ordinal()].increment();
+        } else {
+            MISSES[Primitive.CIPHER.ordinal()].increment();
+            cipher = newCipher(transformation);
+            ciphers.put(transformation, cipher);
+        }
+        // 同一密钥重复 init 时 JCE 会复用已展开的轮密钥，开销很小，同时保证异常后状态被重置
+        cipher.init(mode, key);
+        return cipher;
+    }
+
+    /**
+     * Borrow an initialized cipher from the shared pool, for operations spanning several calls or threads.
+     * Return it with {@link #returnCipher(String, Cipher)} once the operation has completed.
+     */
+    public static Cipher borrowCipher(String transformation, int mode, SecretKeySpec key) throws GeneralSecurityException {
+        Cipher cipher = pool(transformation).poll();
+        if (cipher != null) {
+            HITS[Primitive.CIPHER.ordinal()].increment();
+        } else {
+            MISSES[Primitive.CIPHER.ordinal()].increment();
+            cipher = newCipher(transformation);
+        }
+        cipher.init(mode, key);
+        return cipher;
+    }
+
+    /**
+     * Return a borrowed cipher to the pool; it is dropped when the pool is full
+     */
+    public static void returnCipher(String transformation, Cipher cipher) {
+        if (cipher != null) {
+            pool(transformation).offer(cipher);
+        }
+    }
+
+    /**
+     * Get the calling thread's MAC, initialized with the given key.
+     * The instance must not escape the calling method or span multiple calls.
+     */
+    public static Mac mac(String algorithm, SecretKeySpec key) throws GeneralSecurityException {
+        Map<String, CachedMac> macs = THREAD_MACS.get();
+        CachedMac cached = macs.get(algorithm);
+        if (cached != null) {
+            HITS[Primitive.MAC.ordinal()].increment();
+        } else {
+            MISSES[Primitive.MAC.ordinal()].increment();
+            ALLOCATIONS[Primitive.MAC.ordinal()].increment();
+            cached = new CachedMac(Mac.getInstance(algorithm));
+            macs.put(algorithm, cached);
+        }
+        // doFinal 会重置 Mac 状态，密钥未变化时无需重新 init
+        if (cached.key != key) {
+            cached.key = null;
+            cached.mac.init(key);
+            cached.key = key;
+        }
+        return cached.mac;
+    }
+
+    /**
+     * Number of lookups served from the cache
+     */
+    public static long hits(Primitive primitive) {
+        return HITS[primitive.ordinal()].sum();
+    }
+
+    /**
+     * Number of lookups not served from the cache
+     */
+    public static long misses(Primitive primitive) {
+        return MISSES[primitive.ordinal()].sum();
+    }
+
+    /**
+     * Number of primitives created
+     */
+    public static long allocations(Primitive primitive) {
+        return ALLOCATIONS[primitive.ordinal()].sum();
+    }
+
+    private static Cipher newCipher(String transformation) throws GeneralSecurityException {
+        ALLOCATIONS[Primitive.CIPHER.ordinal()].increment();
+        return Cipher.getInstance(transformation);
+    }
+
+    private static BlockingQueue<Cipher> pool(String transformation) {
+        return CIPHER_POOLS.computeIfAbsent(transformation, key -> new ArrayBlockingQueue<>(MAX_POOLED_CIPHERS));
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[Primitive.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static final class CachedMac {
+        private final Mac mac;
+        private SecretKeySpec key;
+
+        private CachedMac(Mac mac) {
+            this.mac = mac;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.windsurf.common.core.json;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot 自动配置的 ObjectMapper 会注册容器中的所有 {@link Module}，
+ * 使注入的 ObjectMapper 与 {@link JsonMappers} 一样使用加速的属性访问
+ */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
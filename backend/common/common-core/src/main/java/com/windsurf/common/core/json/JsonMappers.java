@@ -0,0 +1,79 @@
+package com.windsurf.common.core.json;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * 按用途共享的 ObjectMapper
+ * <p>
+ * ObjectMapper 线程安全，序列化器、反序列化器缓存在实例内部，重复创建会丢失缓存，应共享使用。
+ * 所有实例注册 {@link BlackbirdModule}，以 LambdaMetafactory 生成的访问器替代反射读写属性。
+ * 共享实例不应再修改配置，需要不同配置时使用 {@code copy()}。
+ */
+public final class JsonMappers {
+
+    private static final ObjectMapper WEB = web(new ObjectMapper());
+    private static final ObjectMapper REDIS = redis(new ObjectMapper());
+    private static final ObjectMapper LOGGING = logging(new ObjectMapper());
+
+    private JsonMappers() {
+    }
+
+    /**
+     * 接口报文、工具类使用：忽略未知属性，支持 java.time 类型
+     */
+    public static ObjectMapper web() {
+        return WEB;
+    }
+
+    /**
+     * Redis 缓存值使用：按字段序列化，非 final 类型写入类型信息，读取时还原为原类型
+     */
+    public static ObjectMapper redis() {
+        return REDIS;
+    }
+
+    /**
+     * 按 {@link #redis()} 的配置创建使用指定数据格式的新实例，如 Smile、CBOR
+     */
+    public static ObjectMapper redis(JsonFactory factory) {
+        return redis(new ObjectMapper(factory));
+    }
+
+    /**
+     * 日志使用：同 {@link #web()}，空对象不报错
+     */
+    public static ObjectMapper logging() {
+        return LOGGING;
+    }
+
+    private static ObjectMapper accelerate(ObjectMapper mapper) {
+        return mapper.registerModule(new BlackbirdModule());
+    }
+
+    private static ObjectMapper web(ObjectMapper mapper) {
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.registerModule(new JavaTimeModule());
+        return accelerate(mapper);
+    }
+
+    private static ObjectMapper redis(ObjectMapper mapper) {
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        mapper.registerModule(new JavaTimeModule());
+        return accelerate(mapper);
+    }
+
+    private static ObjectMapper logging(ObjectMapper mapper) {
+        web(mapper);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        return mapper;
+    }
+}
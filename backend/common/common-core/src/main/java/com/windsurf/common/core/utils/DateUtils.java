@@ -2,17 +2,28 @@ package com.windsurf.common.core.utils;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.DateFormatUtils;
+import org.apache.commons.lang3.time.FastDateFormat;
 
 import java.lang.management.ManagementFactory;
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Date utility class using Java 8+ date/time API
+ * <p>
+ * Formatters are compiled once per pattern and shared, the current date time string is cached per second.
  */
 @Slf4j
 public class DateUtils {
@@ -30,25 +41,152 @@ public class DateUtils {
             "yyyy.MM.dd", "yyyy.MM.dd HH:mm:ss", "yyyy.MM.dd HH:mm", "yyyy.MM",
             "yyyyMMdd", "yyyyMMddHHmmss", "yyyyMMddHHmm", "yyyyMM" };
 
+    /**
+     * Separators each parse pattern requires in the input
+     */
+    private static final String[] SEPARATORS = new String[PARSE_PATTERNS.length];
+
+    static {
+        for (int i = 0; i < PARSE_PATTERNS.length; i++) {
+            StringBuilder separators = new StringBuilder();
+            for (char c : PARSE_PATTERNS[i].toCharArray()) {
+                if ((c == '-' || c == '/' || c == '.' || c == ':') && separators.indexOf(String.valueOf(c)) < 0) {
+                    separators.append(c);
+                }
+            }
+            SEPARATORS[i] = separators.toString();
+        }
+    }
+
+    /**
+     * Upper bound of the formatter registry, patterns beyond it are compiled per call
+     */
+    private static final int MAX_FORMATTERS = 256;
+
+    /**
+     * Compiled formatters by pattern, DateTimeFormatter is immutable and thread-safe
+     */
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Parsers for PARSE_PATTERNS, rebuilt when the default time zone or locale changes
+     */
+    private static volatile Parsers parsers;
+
+    /**
+     * Current time formatted once per second
+     */
+    private static volatile Tick tick = new Tick(Long.MIN_VALUE, null, null);
+
+    /**
+     * UTC offset of the default zone, valid until the next transition
+     */
+    private static volatile Offset offset = new Offset(null, 0, 0, 0);
+
+    /**
+     * Second in which the default zone was last checked, checked at most once per second
+     */
+    private static volatile long zoneCheckedSecond;
+
+    /**
+     * Get a compiled formatter for the pattern, shared between threads
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter != null) {
+            return formatter;
+        }
+        formatter = DateTimeFormatter.ofPattern(pattern);
+        if (FORMATTERS.size() < MAX_FORMATTERS) {
+            FORMATTERS.putIfAbsent(pattern, formatter);
+        }
+        return formatter;
+    }
+
     /**
      * Get current date in yyyy-MM-dd format
      */
     public static String getDate() {
-        return LocalDate.now().format(DateTimeFormatter.ofPattern(YYYY_MM_DD));
+        return currentTick().date;
     }
 
     /**
      * Get current date and time in yyyy-MM-dd HH:mm:ss format
+     * <p>
+     * The string is formatted at most once per second and shared by all callers within that second.
      */
     public static String getDateTime() {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern(YYYY_MM_DD_HH_MM_SS));
+        return currentTick().dateTime;
     }
 
     /**
      * Get current date and time in specified format
      */
     public static String dateTimeNow(String pattern) {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern(pattern));
+        return LocalDateTime.now().format(formatter(pattern));
+    }
+
+    /**
+     * Append epoch millis as yyyy-MM-dd HH:mm:ss in the default time zone, without allocating
+     * <p>
+     * The offset is cached until the next zone transition; changes of the default zone are seen within a second.
+     *
+     * @return the given builder
+     */
+    public static StringBuilder formatDateTime(long epochMillis, StringBuilder out) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        Offset current = offsetAt(epochSecond);
+        long localSecond = epochSecond + current.totalSeconds;
+        long days = Math.floorDiv(localSecond, 86400);
+        int secondOfDay = (int) Math.floorMod(localSecond, 86400);
+
+        // 公历日期换算（proleptic Gregorian，与 java.time 一致）
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9999) {
+            formatter(YYYY_MM_DD_HH_MM_SS).formatTo(
+                    LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.ofTotalSeconds(current.totalSeconds)), out);
+            return out;
+        }
+        return appendDateTime(out, (int) year, month, day,
+                secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60);
+    }
+
+    /**
+     * Append the date time as yyyy-MM-dd HH:mm:ss, without allocating
+     *
+     * @return the given builder
+     */
+    public static StringBuilder formatDateTime(LocalDateTime dateTime, StringBuilder out) {
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            formatter(YYYY_MM_DD_HH_MM_SS).formatTo(dateTime, out);
+            return out;
+        }
+        return appendDateTime(out, year, dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+                dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond());
+    }
+
+    /**
+     * Append the date as yyyy-MM-dd, without allocating
+     *
+     * @return the given builder
+     */
+    public static StringBuilder formatDate(LocalDate date, StringBuilder out) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            formatter(YYYY_MM_DD).formatTo(date, out);
+            return out;
+        }
+        return appendDate(out, year, date.getMonthValue(), date.getDayOfMonth());
     }
 
     /**
@@ -138,12 +276,30 @@ public class DateUtils {
         if (str == null) {
             return null;
         }
-        try {
-            return org.apache.commons.lang3.time.DateUtils.parseDate(str, PARSE_PATTERNS);
-        } catch (ParseException e) {
-            log.error("Parse date error: ", e);
-            return null;
+        // 与 commons-lang3 DateUtils.parseDate(str, PARSE_PATTERNS) 相同：宽松解析，依次尝试各格式，
+        // 要求整个字符串被消费；解析器按格式预先构建，不在每次调用时重新编译
+        Parsers current = currentParsers();
+        Calendar calendar = Calendar.getInstance(current.timeZone, current.locale);
+        calendar.setLenient(true);
+        ParsePosition position = new ParsePosition(0);
+        for (int i = 0; i < current.formats.length; i++) {
+            // 缺少格式中的分隔符时必然无法匹配，跳过以避免代价较高的解析失败
+            if (!containsAll(str, SEPARATORS[i])) {
+                continue;
+            }
+            FastDateFormat parser = current.formats[i];
+            calendar.clear();
+            position.setIndex(0);
+            try {
+                if (parser.parse(str, position, calendar) && position.getIndex() == str.length()) {
+                    return calendar.getTime();
+                }
+            } catch (IllegalArgumentException ignore) {
+                // 宽松模式下字段越界，尝试下一个格式
+            }
         }
+        log.error("Parse date error: ", new ParseException("Unable to parse the date: " + str, -1));
+        return null;
     }
 
     /**
@@ -172,6 +328,10 @@ public class DateUtils {
      * Format Date to string
      */
     public static String format(Date date, String pattern) {
+        // 常用格式且时间不早于1970年时走快速路径，其余保持 SimpleDateFormat 语义
+        if (YYYY_MM_DD_HH_MM_SS.equals(pattern) && date.getTime() >= 0) {
+            return formatDateTime(date.getTime(), new StringBuilder(19)).toString();
+        }
         return DateFormatUtils.format(date, pattern);
     }
 
@@ -203,4 +363,104 @@ public class DateUtils {
     public static int getQuarter(LocalDate date) {
         return (date.getMonthValue() - 1) / 3 + 1;
     }
-}
\ No newline at end of file
+
+    private static Tick currentTick() {
+        long millis = System.currentTimeMillis();
+        long second = Math.floorDiv(millis, 1000);
+        Tick current = tick;
+        if (current.second == second) {
+            return current;
+        }
+        // 每秒最多格式化一次，并发刷新时结果相同，无需加锁
+        String dateTime = formatDateTime(millis, new StringBuilder(19)).toString();
+        current = new Tick(second, dateTime, dateTime.length() == 19 ? dateTime.substring(0, 10)
+                : LocalDate.now().format(formatter(YYYY_MM_DD)));
+        tick = current;
+        return current;
+    }
+
+    private static Offset offsetAt(long epochSecond) {
+        Offset current = offset;
+        long now = System.currentTimeMillis() / 1000;
+        if (now != zoneCheckedSecond) {
+            zoneCheckedSecond = now;
+            ZoneId zone = ZoneId.systemDefault();
+            if (!zone.equals(current.zone)) {
+                return refreshOffset(epochSecond, zone);
+            }
+        }
+        if (epochSecond < current.validFrom || epochSecond >= current.validUntil) {
+            return refreshOffset(epochSecond, current.zone != null ? current.zone : ZoneId.systemDefault());
+        }
+        return current;
+    }
+
+    private static Offset refreshOffset(long epochSecond, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        // previousTransition 只返回严格早于参数的切换，恰好位于切换时刻时要包含该切换
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        Offset current = new Offset(zone,
+                rules.getOffset(instant).getTotalSeconds(),
+                previous != null ? previous.toEpochSecond() : Long.MIN_VALUE,
+                next != null ? next.toEpochSecond() : Long.MAX_VALUE);
+        offset = current;
+        return current;
+    }
+
+    private static Parsers currentParsers() {
+        TimeZone timeZone = TimeZone.getDefault();
+        Locale locale = Locale.getDefault();
+        Parsers current = parsers;
+        if (current == null || !current.timeZone.equals(timeZone) || !current.locale.equals(locale)) {
+            FastDateFormat[] formats = new FastDateFormat[PARSE_PATTERNS.length];
+            for (int i = 0; i < formats.length; i++) {
+                formats[i] = FastDateFormat.getInstance(PARSE_PATTERNS[i], timeZone, locale);
+            }
+            current = new Parsers(timeZone, locale, formats);
+            parsers = current;
+        }
+        return current;
+    }
+
+    private static boolean containsAll(String str, String chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            if (str.indexOf(chars.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static StringBuilder appendDateTime(StringBuilder out, int year, int month, int day,
+                                                int hour, int minute, int second) {
+        appendDate(out, year, month, day).append(' ');
+        appendTwoDigits(out, hour).append(':');
+        appendTwoDigits(out, minute).append(':');
+        return appendTwoDigits(out, second);
+    }
+
+    private static StringBuilder appendDate(StringBuilder out, int year, int month, int day) {
+        out.append((char) ('0' + year / 1000))
+                .append((char) ('0' + year / 100 % 10))
+                .append((char) ('0' + year / 10 % 10))
+                .append((char) ('0' + year % 10))
+                .append('-');
+        appendTwoDigits(out, month).append('-');
+        return appendTwoDigits(out, day);
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder out, int value) {
+        return out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private record Tick(long second, String dateTime, String date) {
+    }
+
+    private record Offset(ZoneId zone, int totalSeconds, long validFrom, long validUntil) {
+    }
+
+    private record Parsers(TimeZone timeZone, Locale locale, FastDateFormat[] formats) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.windsurf.common.core.utils;
 
+import com.windsurf.common.core.crypto.CryptoCache;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -92,15 +93,10 @@ public class EncryptUtils {
             throw new IllegalArgumentException("Input data and key cannot be null or empty");
         }
 
-        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-        if (keyBytes.length != AES_KEY_LENGTH) {
-            throw new IllegalArgumentException("AES key must be 16 bytes (128 bits) long");
-        }
+        SecretKeySpec secretKey = aesKey(key);
 
         try {
-            SecretKeySpec secretKey = new SecretKeySpec(keyBytes, AES_ALGORITHM);
-            Cipher cipher = Cipher.getInstance(AES_ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
+            Cipher cipher = CryptoCache.cipher(AES_ALGORITHM, Cipher.ENCRYPT_MODE, secretKey);
 
             byte[] encryptedBytes = cipher.doFinal(data.getBytes());
             return Base64.encodeBase64String(encryptedBytes);
@@ -118,15 +114,10 @@ public class EncryptUtils {
             throw new IllegalArgumentException("Input encrypted data and key cannot be null or empty");
         }
 
-        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-        if (keyBytes.length != AES_KEY_LENGTH) {
-            throw new IllegalArgumentException("AES key must be 16 bytes (128 bits) long");
-        }
+        SecretKeySpec secretKey = aesKey(key);
 
         try {
-            SecretKeySpec secretKey = new SecretKeySpec(keyBytes, AES_ALGORITHM);
-            Cipher cipher = Cipher.getInstance(AES_ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
+            Cipher cipher = CryptoCache.cipher(AES_ALGORITHM, Cipher.DECRYPT_MODE, secretKey);
 
             byte[] decryptedBytes = cipher.doFinal(Base64.decodeBase64(encryptedData));
             return new String(decryptedBytes);
@@ -145,9 +136,8 @@ public class EncryptUtils {
         }
 
         try {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), HMAC_SHA256_ALGORITHM);
-            Mac mac = Mac.getInstance(HMAC_SHA256_ALGORITHM);
-            mac.init(secretKeySpec);
+            SecretKeySpec secretKeySpec = CryptoCache.secretKey(key, HMAC_SHA256_ALGORITHM);
+            Mac mac = CryptoCache.mac(HMAC_SHA256_ALGORITHM, secretKeySpec);
 
             byte[] hmacBytes = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
             return Base64.encodeBase64String(hmacBytes);
@@ -157,6 +147,17 @@ public class EncryptUtils {
         }
     }
 
+    /**
+     * Get cached AES key, validating its length
+     */
+    private static SecretKeySpec aesKey(String key) {
+        SecretKeySpec secretKey = CryptoCache.secretKey(key, AES_ALGORITHM);
+        if (secretKey.getEncoded().length != AES_KEY_LENGTH) {
+            throw new IllegalArgumentException("AES key must be 16 bytes (128 bits) long");
+        }
+        return secretKey;
+    }
+
     /**
      * Generate random salt
      */
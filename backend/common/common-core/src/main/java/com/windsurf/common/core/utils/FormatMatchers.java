@@ -0,0 +1,417 @@
+package com.windsurf.common.core.utils;
+
+/**
+ * Hand-written matchers for common formats
+ * <p>
+ * Each method accepts exactly the same inputs as the regex noted on it, in a single pass without
+ * backtracking or allocation. Null input throws {@link NullPointerException}, like {@code Pattern.matches}.
+ */
+final class FormatMatchers {
+
+    private FormatMatchers() {
+    }
+
+    /**
+     * {@code ^[1]\d{10}$}
+     */
+    static boolean mobileSimple(String s) {
+        return s.length() == 11 && s.charAt(0) == '1' && digits(s, 1, 11);
+    }
+
+    /**
+     * {@code ^1[3-9]\d{9}$}
+     */
+    static boolean mobileLoose(String s) {
+        if (s.length() != 11 || s.charAt(0) != '1') {
+            return false;
+        }
+        char c = s.charAt(1);
+        return c >= '3' && c <= '9' && digits(s, 2, 11);
+    }
+
+    /**
+     * {@code ^((13[0-9])|(14[5,7,9])|(15[0-3,5-9])|(16[6])|(17[0-3,5-8])|(18[0-9])|(19[8,9]))\d{8}$}
+     * <p>
+     * The commas inside the character classes are literal, so e.g. {@code 14,12345678} matches; kept as is.
+     */
+    static boolean mobileExact(String s) {
+        if (s.length() != 11 || s.charAt(0) != '1') {
+            return false;
+        }
+        char third = s.charAt(2);
+        boolean prefix;
+        switch (s.charAt(1)) {
+            case '3':
+            case '8':
+                prefix = isDigit(third);
+                break;
+            case '4':
+                prefix = third == '5' || third == '7' || third == '9' || third == ',';
+                break;
+            case '5':
+                prefix = (third >= '0' && third <= '3') || (third >= '5' && third <= '9') || third == ',';
+                break;
+            case '6':
+                prefix = third == '6';
+                break;
+            case '7':
+                prefix = (third >= '0' && third <= '3') || (third >= '5' && third <= '8') || third == ',';
+                break;
+            case '9':
+                prefix = third == '8' || third == '9' || third == ',';
+                break;
+            default:
+                prefix = false;
+        }
+        return prefix && digits(s, 3, 11);
+    }
+
+    /**
+     * {@code ^0\d{2,3}[- ]?\d{7,8}$}
+     */
+    static boolean tel(String s) {
+        int length = s.length();
+        if (length < 10 || length > 13 || s.charAt(0) != '0') {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '-' || c == ' ') {
+                int area = i - 1;
+                int number = length - i - 1;
+                return area >= 2 && area <= 3 && number >= 7 && number <= 8 && digits(s, i + 1, length);
+            }
+            if (!isDigit(c)) {
+                return false;
+            }
+        }
+        return length >= 10 && length <= 12;
+    }
+
+    /**
+     * {@code ^[a-zA-Z0-9_+&*-]+(?:\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,7}$}
+     */
+    static boolean email(String s) {
+        int at = localPart(s, true);
+        if (at < 0) {
+            return false;
+        }
+        int length = s.length();
+        int lastDot = s.lastIndexOf('.');
+        if (lastDot <= at) {
+            return false;
+        }
+        int tld = length - lastDot - 1;
+        if (tld < 2 || tld > 7) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isLetter(s.charAt(i))) {
+                return false;
+            }
+        }
+        return labels(s, at + 1, lastDot, false);
+    }
+
+    /**
+     * {@code ^[a-zA-Z0-9_-]+@[a-zA-Z0-9_-]+(\.[a-zA-Z0-9_-]+)+$}
+     */
+    static boolean emailSimple(String s) {
+        int at = localPart(s, false);
+        if (at < 0) {
+            return false;
+        }
+        int lastDot = s.lastIndexOf('.');
+        if (lastDot <= at) {
+            return false;
+        }
+        return labels(s, at + 1, s.length(), true);
+    }
+
+    /**
+     * {@code ^(https?|ftp)://[^\s/$.?#].[^\s]*$}
+     * <p>
+     * Regex classes match code points, so the first two positions step over surrogate pairs.
+     */
+    static boolean url(String s) {
+        int i;
+        if (s.startsWith("http://")) {
+            i = 7;
+        } else if (s.startsWith("https://")) {
+            i = 8;
+        } else if (s.startsWith("ftp://")) {
+            i = 6;
+        } else {
+            return false;
+        }
+        int length = s.length();
+        if (i >= length) {
+            return false;
+        }
+        int first = s.codePointAt(i);
+        if (isRegexWhitespace(first) || first == '/' || first == '$' || first == '.' || first == '?' || first == '#') {
+            return false;
+        }
+        i += Character.charCount(first);
+        if (i >= length) {
+            return false;
+        }
+        int second = s.codePointAt(i);
+        if (isLineTerminator(second)) {
+            return false;
+        }
+        for (i += Character.charCount(second); i < length; i++) {
+            if (isRegexWhitespace(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code ^([0-9A-Fa-f]{2}[:-]){5}([0-9A-Fa-f]{2})$}
+     */
+    static boolean mac(String s) {
+        if (s.length() != 17) {
+            return false;
+        }
+        for (int i = 0; i < 17; i += 3) {
+            if (hexValue(s.charAt(i)) < 0 || hexValue(s.charAt(i + 1)) < 0) {
+                return false;
+            }
+            if (i < 15) {
+                char separator = s.charAt(i + 2);
+                if (separator != ':' && separator != '-') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code ^[\\u4e00-\\u9fa5]+$}
+     */
+    static boolean chinese(String s) {
+        int length = s.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x4E00 || c > 0x9FA5) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code ^[a-zA-Z]\d{8}$}
+     */
+    static boolean passport(String s) {
+        return s.length() == 9 && isLetter(s.charAt(0)) && digits(s, 1, 9);
+    }
+
+    /**
+     * {@code ^[1-9]\d{5}$}
+     */
+    static boolean postcode(String s) {
+        if (s.length() != 6) {
+            return false;
+        }
+        char c = s.charAt(0);
+        return c >= '1' && c <= '9' && digits(s, 1, 6);
+    }
+
+    /**
+     * Dotted-quad IPv4, each octet 0-255 without leading zeros
+     */
+    static boolean ipv4(String s) {
+        return ipv4(s, 0, s.length());
+    }
+
+    /**
+     * IPv6 text form (RFC 4291 section 2.2): up to eight groups of 1-4 hex digits, at most one {@code ::},
+     * optionally ending in a dotted-quad IPv4 address. Zone ids and brackets are not accepted.
+     */
+    static boolean ipv6(String s) {
+        int length = s.length();
+        if (length < 2 || length > 45) {
+            return false;
+        }
+        int groups = 0;
+        boolean compressed = false;
+        int i = 0;
+        if (s.charAt(0) == ':') {
+            if (s.charAt(1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i = 2;
+            if (i == length) {
+                return true;
+            }
+        }
+        while (i < length) {
+            int start = i;
+            int digitCount = 0;
+            while (i < length && digitCount <= 4 && hexValue(s.charAt(i)) >= 0) {
+                i++;
+                digitCount++;
+            }
+            if (i < length && s.charAt(i) == '.') {
+                // A trailing IPv4 address takes the place of two groups
+                if (groups > 6 || !ipv4(s, start, length)) {
+                    return false;
+                }
+                groups += 2;
+                break;
+            }
+            if (digitCount == 0 || digitCount > 4) {
+                return false;
+            }
+            groups++;
+            if (i == length) {
+                break;
+            }
+            if (s.charAt(i) != ':' || groups == 8) {
+                return false;
+            }
+            i++;
+            if (i == length) {
+                // Single trailing colon
+                return false;
+            }
+            if (s.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+        return compressed ? groups < 8 : groups == 8;
+    }
+
+    private static boolean ipv4(String s, int from, int to) {
+        int octets = 0;
+        int i = from;
+        while (true) {
+            int start = i;
+            int value = 0;
+            while (i < to && i - start < 3 && isDigit(s.charAt(i))) {
+                value = value * 10 + (s.charAt(i) - '0');
+                i++;
+            }
+            int digitCount = i - start;
+            if (digitCount == 0 || value > 255 || (digitCount > 1 && s.charAt(start) == '0')) {
+                return false;
+            }
+            octets++;
+            if (i == to) {
+                return octets == 4;
+            }
+            if (octets == 4 || s.charAt(i) != '.') {
+                return false;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Validate the local part of an email address, returning the index of {@code @} or -1
+     *
+     * @param dotted whether dot-separated segments and {@code +&*} are allowed
+     */
+    private static int localPart(String s, boolean dotted) {
+        int length = s.length();
+        int segment = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '@') {
+                return segment > 0 ? i : -1;
+            }
+            if (c == '.' && dotted) {
+                if (segment == 0) {
+                    return -1;
+                }
+                segment = 0;
+            } else if (isWordChar(c) || c == '-' || (dotted && (c == '+' || c == '&' || c == '*'))) {
+                segment++;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Validate non-empty dot-separated labels of letters, digits, {@code -} and optionally {@code _}
+     */
+    private static boolean labels(String s, int from, int to, boolean underscore) {
+        int label = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                if (label == 0) {
+                    return false;
+                }
+                label = 0;
+            } else if (isLetter(c) || isDigit(c) || c == '-' || (underscore && c == '_')) {
+                label++;
+            } else {
+                return false;
+            }
+        }
+        return label > 0;
+    }
+
+    private static boolean digits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isWordChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '_';
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * {@code \s}: [ \t\n\x0B\f\r]
+     */
+    private static boolean isRegexWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Characters that {@code .} does not match without DOTALL
+     */
+    private static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+    }
+}
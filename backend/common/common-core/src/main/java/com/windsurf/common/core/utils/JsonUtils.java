@@ -1,33 +1,35 @@
 package com.windsurf.common.core.utils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.windsurf.common.core.json.JsonMappers;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 /**
  * JSON utility class using Jackson
+ * <p>
+ * Backed by the shared {@link JsonMappers#web()} mapper. Prefer the byte and stream methods when the
+ * JSON goes to or comes from bytes, they skip the intermediate String.
  */
 @Slf4j
 public class JsonUtils {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectMapper objectMapper = JsonMappers.web();
 
-    static {
-        // Configure ObjectMapper
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.registerModule(new JavaTimeModule());
-    }
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
     /**
      * Object to JSON string
@@ -44,6 +46,82 @@ public class JsonUtils {
         }
     }
 
+    /**
+     * Object to UTF-8 JSON bytes
+     */
+    public static byte[] toJsonBytes(Object object) {
+        if (object == null) {
+            throw new IllegalArgumentException("Input object cannot be null");
+        }
+        try {
+            return objectMapper.writeValueAsBytes(object);
+        } catch (JsonProcessingException e) {
+            log.error("Convert object to JSON bytes failed", e);
+            throw new RuntimeException("Failed to convert object to JSON bytes", e);
+        }
+    }
+
+    /**
+     * Write object as JSON to the stream, the stream is left open
+     */
+    public static void writeJson(OutputStream outputStream, Object object) {
+        if (outputStream == null || object == null) {
+            throw new IllegalArgumentException("Output stream and object cannot be null");
+        }
+        try {
+            objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(outputStream, object);
+        } catch (IOException e) {
+            log.error("Write object as JSON failed", e);
+            throw new RuntimeException("Failed to write object as JSON", e);
+        }
+    }
+
+    /**
+     * Object to JSON string for logging, never throws
+     */
+    public static String toLogString(Object object) {
+        try {
+            return JsonMappers.logging().writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(object);
+        }
+    }
+
+    /**
+     * JSON bytes to object
+     */
+    public static <T> T parseBytes(byte[] json, Class<T> clazz) {
+        if (json == null || clazz == null) {
+            throw new IllegalArgumentException("JSON bytes and class type cannot be null");
+        }
+        if (json.length == 0) {
+            throw new IllegalArgumentException("JSON bytes cannot be empty");
+        }
+        try {
+            return objectMapper.readValue(json, clazz);
+        } catch (IOException e) {
+            log.error("Parse JSON bytes to object failed", e);
+            throw new RuntimeException("Failed to parse JSON bytes to object", e);
+        }
+    }
+
+    /**
+     * JSON stream to object, the stream is left open
+     */
+    public static <T> T readJson(InputStream inputStream, Class<T> clazz) {
+        if (inputStream == null || clazz == null) {
+            throw new IllegalArgumentException("Input stream and class type cannot be null");
+        }
+        try {
+            return objectMapper.readerFor(clazz)
+                    .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                    .readValue(inputStream);
+        } catch (IOException e) {
+            log.error("Parse JSON stream to object failed", e);
+            throw new RuntimeException("Failed to parse JSON stream to object", e);
+        }
+    }
+
     /**
      * JSON string to object
      */
@@ -92,13 +170,31 @@ public class JsonUtils {
             throw new IllegalArgumentException("JSON string cannot be empty");
         }
         try {
-            return objectMapper.readValue(jsonString, new TypeReference<Map<String, Object>>() {});
+            return objectMapper.readValue(jsonString, MAP_TYPE);
         } catch (IOException e) {
             log.error("Parse JSON string to map failed", e);
             throw new RuntimeException("Failed to parse JSON string to map", e);
         }
     }
 
+    /**
+     * JSON bytes to Map
+     */
+    public static Map<String, Object> parseBytesToMap(byte[] json) {
+        if (json == null) {
+            throw new IllegalArgumentException("JSON bytes cannot be null");
+        }
+        if (json.length == 0) {
+            throw new IllegalArgumentException("JSON bytes cannot be empty");
+        }
+        try {
+            return objectMapper.readValue(json, MAP_TYPE);
+        } catch (IOException e) {
+            log.error("Parse JSON bytes to map failed", e);
+            throw new RuntimeException("Failed to parse JSON bytes to map", e);
+        }
+    }
+
     /**
      * JSON string to JsonNode
      */
@@ -129,8 +225,7 @@ public class JsonUtils {
             throw new IllegalArgumentException("Object and class type cannot be null");
         }
         try {
-            String jsonString = toJsonString(object);
-            return parseObject(jsonString, clazz);
+            return parseBytes(toJsonBytes(object), clazz);
         } catch (Exception e) {
             log.error("Deep copy object failed", e);
             throw new RuntimeException("Failed to deep copy object", e);
@@ -179,8 +274,7 @@ public class JsonUtils {
             throw new IllegalArgumentException("Input object cannot be null");
         }
         try {
-            String jsonString = toJsonString(object);
-            return parseMap(jsonString);
+            return parseBytesToMap(toJsonBytes(object));
         } catch (Exception e) {
             log.error("Convert object to map failed", e);
             throw new RuntimeException("Failed to convert object to map", e);
@@ -5,7 +5,6 @@ import org.apache.commons.lang3.StringEscapeUtils;
 
 import java.util.Collection;
 import java.util.UUID;
-import java.util.regex.Pattern;
 
 /**
  * Text utility class extending Apache Commons Lang3 StringUtils
@@ -206,7 +205,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (org.apache.commons.lang3.StringUtils.isBlank(str)) {
             return false;
         }
-        return Pattern.matches("^1[3-9]\\d{9}$", str);
+        return FormatMatchers.mobileLoose(str);
     }
 
     /**
@@ -216,7 +215,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (org.apache.commons.lang3.StringUtils.isBlank(str)) {
             return false;
         }
-        return Pattern.matches("^[a-zA-Z0-9_-]+@[a-zA-Z0-9_-]+(\\.[a-zA-Z0-9_-]+)+$", str);
+        return FormatMatchers.emailSimple(str);
     }
 
     /**
@@ -226,6 +225,6 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
         if (org.apache.commons.lang3.StringUtils.isBlank(str)) {
             return false;
         }
-        return Pattern.matches("^(https?|ftp)://[^\\s/$.?#].[^\\s]*$", str);
+        return FormatMatchers.url(str);
     }
 }
\ No newline at end of file
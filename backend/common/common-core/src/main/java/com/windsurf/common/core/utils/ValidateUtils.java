@@ -2,87 +2,39 @@ package com.windsurf.common.core.utils;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Validation utility class
+ * <p>
+ * Format checks use hand-written matchers with the same semantics as the original regexes,
+ * see {@link FormatMatchers}.
  */
 @Slf4j
 public class ValidateUtils {
 
-    /**
-     * Regex pattern: simple mobile number
-     */
-    private static final String REGEX_MOBILE_SIMPLE = "^[1]\\d{10}$";
-
-    /**
-     * Regex pattern: exact mobile number
-     * Mobile: 134(0-8), 135, 136, 137, 138, 139, 147, 150, 151, 152, 157, 158, 159, 178, 182, 183, 184, 187, 188, 198
-     * Unicom: 130, 131, 132, 145, 155, 156, 166, 171, 175, 176, 185, 186
-     * Telecom: 133, 149, 153, 173, 177, 180, 181, 189, 199
-     * Virtual: 170
-     */
-    private static final String REGEX_MOBILE_EXACT = "^((13[0-9])|(14[5,7,9])|(15[0-3,5-9])|(16[6])|(17[0-3,5-8])|(18[0-9])|(19[8,9]))\\d{8}$";
-
-    /**
-     * Regex pattern: telephone number
-     */
-    private static final String REGEX_TEL = "^0\\d{2,3}[- ]?\\d{7,8}$";
-
-    /**
-     * Regex pattern: email
-     */
-    private static final String REGEX_EMAIL = "^[A-Za-z0-9\\u4e00-\\u9fa5]+@[a-zA-Z0-9_-]+(\\.[a-zA-Z0-9_-]+)+$";
-
-    /**
-     * Regex pattern: URL
-     */
-    private static final String REGEX_URL = "^(https?|ftp)://[^\\s/$.?#].[^\\s]*$";
-
-    /**
-     * Regex pattern: MAC address
-     */
-    private static final String REGEX_MAC = "^([0-9A-Fa-f]{2}[:-]){5}([0-9A-Fa-f]{2})$";
-
-    /**
-     * Regex pattern: Chinese characters
-     */
-    private static final String REGEX_CHINESE = "^[\\u4e00-\\u9fa5]+$";
-
-    /**
-     * Regex pattern: passport
-     */
-    private static final String REGEX_PASSPORT = "^[a-zA-Z]\\d{8}$";
-
-    /**
-     * Regex pattern: postal code
-     */
-    private static final String REGEX_POSTCODE = "^[1-9]\\d{5}$";
-
-    /**
-     * Regex pattern: IP address
-     */
-    private static final String REGEX_IP = "^(([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])\\.){3}([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])$";
-
     /**
      * Validate simple mobile number
      */
     public static boolean isMobileSimple(String mobile) {
-        return Pattern.matches(REGEX_MOBILE_SIMPLE, mobile);
+        return FormatMatchers.mobileSimple(mobile);
     }
 
     /**
      * Validate exact mobile number
      */
     public static boolean isMobile(String mobile) {
-        return Pattern.matches(REGEX_MOBILE_EXACT, mobile);
+        return FormatMatchers.mobileExact(mobile);
     }
 
     /**
      * Validate telephone number
      */
     public static boolean isTel(String tel) {
-        return Pattern.matches(REGEX_TEL, tel);
+        return FormatMatchers.tel(tel);
     }
 
     /**
@@ -92,30 +44,28 @@ public class ValidateUtils {
         if (email == null || email.isEmpty()) {
             return false;
         }
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-        Pattern pattern = Pattern.compile(emailRegex);
-        return pattern.matcher(email).matches();
+        return FormatMatchers.email(email);
     }
 
     /**
      * Validate URL
      */
     public static boolean isUrl(String url) {
-        return Pattern.matches(REGEX_URL, url);
+        return FormatMatchers.url(url);
     }
 
     /**
      * Validate MAC address
      */
     public static boolean isMac(String mac) {
-        return Pattern.matches(REGEX_MAC, mac);
+        return FormatMatchers.mac(mac);
     }
 
     /**
      * Validate Chinese characters
      */
     public static boolean isChinese(String chinese) {
-        return Pattern.matches(REGEX_CHINESE, chinese);
+        return FormatMatchers.chinese(chinese);
     }
 
     /**
@@ -126,21 +76,35 @@ public class ValidateUtils {
             return false;
         }
         // 护照号码格式：1 个字母 + 8 个数字，例如：G12345678
-        return Pattern.matches(REGEX_PASSPORT, passport);
+        return FormatMatchers.passport(passport);
     }
 
     /**
      * Validate postal code
      */
     public static boolean isPostcode(String postcode) {
-        return Pattern.matches(REGEX_POSTCODE, postcode);
+        return FormatMatchers.postcode(postcode);
     }
 
     /**
-     * Validate IP address
+     * Validate IPv4 address
      */
     public static boolean isIp(String ip) {
-        return Pattern.matches(REGEX_IP, ip);
+        return FormatMatchers.ipv4(ip);
+    }
+
+    /**
+     * Validate IPv6 address, including compressed and IPv4-embedded forms
+     */
+    public static boolean isIpv6(String ip) {
+        return FormatMatchers.ipv6(ip);
+    }
+
+    /**
+     * Validate IPv4 or IPv6 address
+     */
+    public static boolean isIpAddress(String ip) {
+        return FormatMatchers.ipv4(ip) || FormatMatchers.ipv6(ip);
     }
 
     /**
@@ -232,4 +196,33 @@ public class ValidateUtils {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Validate all values, stopping at the first invalid one. Null values are invalid.
+     * <p>
+     * Example: {@code ValidateUtils.allValid(emails, ValidateUtils::isEmail)}
+     */
+    public static boolean allValid(Collection<String> values, Predicate<String> validator) {
+        for (String value : values) {
+            if (value == null || !validator.test(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validate all values and return the invalid ones in iteration order. Null values are invalid.
+     * <p>
+     * Example: {@code ValidateUtils.findInvalid(mobiles, ValidateUtils::isMobile)}
+     */
+    public static List<String> findInvalid(Collection<String> values, Predicate<String> validator) {
+        List<String> invalid = new ArrayList<>();
+        for (String value : values) {
+            if (value == null || !validator.test(value)) {
+                invalid.add(value);
+            }
+        }
+        return invalid;
+    }
+}
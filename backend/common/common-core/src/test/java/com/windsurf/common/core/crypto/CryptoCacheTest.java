@@ -0,0 +1,80 @@
+package com.windsurf.common.core.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CryptoCache
+ */
+class CryptoCacheTest {
+
+    private static final String TEST_KEY = "0123456789abcdef";
+    private static final byte[] TEST_DATA = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testSecretKeyIsCached() {
+        SecretKeySpec first = CryptoCache.secretKey(TEST_KEY, "AES");
+        long hits = CryptoCache.hits(CryptoCache.Primitive.KEY);
+        SecretKeySpec second = CryptoCache.secretKey(TEST_KEY, "AES");
+
+        assertSame(first, second);
+        assertTrue(CryptoCache.hits(CryptoCache.Primitive.KEY) > hits);
+        assertNotSame(first, CryptoCache.secretKey(TEST_KEY, "HmacSHA256"));
+    }
+
+    @Test
+    void testThreadCipherIsReused() throws Exception {
+        SecretKeySpec key = CryptoCache.secretKey(TEST_KEY, "AES");
+        Cipher encrypt = CryptoCache.cipher("AES/ECB/PKCS5Padding", Cipher.ENCRYPT_MODE, key);
+        byte[] encrypted = encrypt.doFinal(TEST_DATA);
+        long allocations = CryptoCache.allocations(CryptoCache.Primitive.CIPHER);
+
+        Cipher decrypt = CryptoCache.cipher("AES/ECB/PKCS5Padding", Cipher.DECRYPT_MODE, key);
+
+        assertSame(encrypt, decrypt);
+        assertArrayEquals(TEST_DATA, decrypt.doFinal(encrypted));
+        assertEquals(allocations, CryptoCache.allocations(CryptoCache.Primitive.CIPHER));
+    }
+
+    @Test
+    void testThreadCipherRecoversAfterFailure() throws Exception {
+        SecretKeySpec key = CryptoCache.secretKey(TEST_KEY, "AES");
+        Cipher decrypt = CryptoCache.cipher("AES/ECB/PKCS5Padding", Cipher.DECRYPT_MODE, key);
+        assertThrows(Exception.class, () -> decrypt.doFinal(new byte[15]));
+
+        byte[] encrypted = CryptoCache.cipher("AES/ECB/PKCS5Padding", Cipher.ENCRYPT_MODE, key).doFinal(TEST_DATA);
+        assertArrayEquals(TEST_DATA,
+                CryptoCache.cipher("AES/ECB/PKCS5Padding", Cipher.DECRYPT_MODE, key).doFinal(encrypted));
+    }
+
+    @Test
+    void testBorrowedCipherIsPooled() throws Exception {
+        SecretKeySpec key = CryptoCache.secretKey(TEST_KEY, "AES");
+        Cipher borrowed = CryptoCache.borrowCipher("AES/CTR/NoPadding", Cipher.ENCRYPT_MODE, key);
+        CryptoCache.returnCipher("AES/CTR/NoPadding", borrowed);
+
+        assertSame(borrowed, CryptoCache.borrowCipher("AES/CTR/NoPadding", Cipher.ENCRYPT_MODE, key));
+    }
+
+    @Test
+    void testMacIsReusedAndReinitializedOnKeyChange() throws Exception {
+        SecretKeySpec key1 = CryptoCache.secretKey(TEST_KEY, "HmacSHA256");
+        SecretKeySpec key2 = CryptoCache.secretKey("another-key", "HmacSHA256");
+
+        Mac mac = CryptoCache.mac("HmacSHA256", key1);
+        byte[] first = mac.doFinal(TEST_DATA);
+        byte[] again = CryptoCache.mac("HmacSHA256", key1).doFinal(TEST_DATA);
+        byte[] other = CryptoCache.mac("HmacSHA256", key2).doFinal(TEST_DATA);
+
+        assertSame(mac, CryptoCache.mac("HmacSHA256", key1));
+        assertArrayEquals(first, again);
+        assertFalse(Arrays.equals(first, other));
+    }
+}
@@ -0,0 +1,42 @@
+package com.windsurf.common.core.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonMappersTest {
+
+    static class CachedValue {
+        private String name;
+        private LocalDateTime time;
+        private List<String> tags;
+    }
+
+    @Test
+    void shouldShareInstances() {
+        assertSame(JsonMappers.web(), JsonMappers.web());
+        assertNotSame(JsonMappers.web(), JsonMappers.redis());
+        assertTrue(JsonMappers.web().getRegisteredModuleIds().contains("com.fasterxml.jackson.module.blackbird.BlackbirdModule"));
+    }
+
+    @Test
+    void redisMapper_ShouldRestoreTypeFromFields() throws Exception {
+        CachedValue value = new CachedValue();
+        value.name = "admin";
+        value.time = LocalDateTime.of(2023, 11, 14, 22, 13, 20);
+        value.tags = new ArrayList<>(List.of("ROLE_ADMIN"));
+
+        ObjectMapper mapper = JsonMappers.redis();
+        Object restored = mapper.readValue(mapper.writeValueAsBytes(value), Object.class);
+
+        CachedValue cached = assertInstanceOf(CachedValue.class, restored);
+        assertEquals("admin", cached.name);
+        assertEquals(value.time, cached.time);
+        assertEquals(List.of("ROLE_ADMIN"), cached.tags);
+    }
+}
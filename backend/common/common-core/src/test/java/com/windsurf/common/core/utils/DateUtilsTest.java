@@ -0,0 +1,126 @@
+package com.windsurf.common.core.utils;
+
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DateUtils
+ */
+class DateUtilsTest {
+
+    private static final String[] PARSE_PATTERNS = {
+            "yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm", "yyyy-MM",
+            "yyyy/MM/dd", "yyyy/MM/dd HH:mm:ss", "yyyy/MM/dd HH:mm", "yyyy/MM",
+            "yyyy.MM.dd", "yyyy.MM.dd HH:mm:ss", "yyyy.MM.dd HH:mm", "yyyy.MM",
+            "yyyyMMdd", "yyyyMMddHHmmss", "yyyyMMddHHmm", "yyyyMM" };
+
+    private final TimeZone defaultTimeZone = TimeZone.getDefault();
+
+    @AfterEach
+    void tearDown() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    void testFormatter() {
+        assertSame(DateUtils.formatter(DateUtils.YYYY_MM_DD), DateUtils.formatter(DateUtils.YYYY_MM_DD));
+        assertEquals("2023-11-14", DateUtils.formatter(DateUtils.YYYY_MM_DD).format(LocalDate.of(2023, 11, 14)));
+    }
+
+    @Test
+    void testGetDateTime() {
+        String before = LocalDateTime.now().format(DateTimeFormatter.ofPattern(DateUtils.YYYY_MM_DD_HH_MM_SS));
+        String dateTime = DateUtils.getDateTime();
+        String after = LocalDateTime.now().format(DateTimeFormatter.ofPattern(DateUtils.YYYY_MM_DD_HH_MM_SS));
+        assertTrue(dateTime.compareTo(before) >= 0 && dateTime.compareTo(after) <= 0, dateTime);
+        assertTrue(dateTime.startsWith(DateUtils.getDate()));
+    }
+
+    @Test
+    void testFormatDateTimeMatchesJavaTime() throws InterruptedException {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DateUtils.YYYY_MM_DD_HH_MM_SS);
+        Random random = new Random(42);
+        // 含夏令时切换的时区
+        for (String zone : new String[]{"Asia/Shanghai", "America/New_York", "Australia/Lord_Howe", "UTC"}) {
+            TimeZone.setDefault(TimeZone.getTimeZone(zone));
+            awaitNextSecond();
+            for (int i = 0; i < 10_000; i++) {
+                long millis = random.nextLong() % 4_000_000_000_000L;
+                String expected = new Date(millis).toInstant().atZone(java.time.ZoneId.systemDefault())
+                        .toLocalDateTime().format(formatter);
+                assertEquals(expected, DateUtils.formatDateTime(millis, new StringBuilder()).toString(),
+                        zone + " " + millis);
+            }
+        }
+    }
+
+    @Test
+    void testFormatDateTimeAtDstTransition() throws InterruptedException {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        awaitNextSecond();
+        // 2024-03-10T07:00Z 为夏令时切换时刻，先在切换时刻填充偏移缓存，再格式化切换前的时间
+        long transition = java.time.Instant.parse("2024-03-10T07:00:00Z").toEpochMilli();
+        long before = transition - 30 * 60 * 1000;
+
+        assertEquals("2024-03-10 03:00:00", DateUtils.formatDateTime(transition, new StringBuilder()).toString());
+        assertEquals("2024-03-10 01:30:00", DateUtils.formatDateTime(before, new StringBuilder()).toString());
+        assertEquals("2024-03-10 01:59:59",
+                DateUtils.format(new Date(transition - 1000), DateUtils.YYYY_MM_DD_HH_MM_SS));
+        assertEquals("2024-03-10 03:00:00", DateUtils.format(new Date(transition), DateUtils.YYYY_MM_DD_HH_MM_SS));
+    }
+
+    /**
+     * 默认时区变更最迟在下一秒生效
+     */
+    private static void awaitNextSecond() throws InterruptedException {
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+    }
+
+    @Test
+    void testFormatIntoBuilder() {
+        StringBuilder builder = new StringBuilder("at ");
+        DateUtils.formatDateTime(LocalDateTime.of(2023, 1, 2, 3, 4, 5), builder);
+        assertEquals("at 2023-01-02 03:04:05", builder.toString());
+        assertEquals("0999-12-31", DateUtils.formatDate(LocalDate.of(999, 12, 31), new StringBuilder()).toString());
+        assertEquals("+10000-01-01", DateUtils.formatDate(LocalDate.of(10000, 1, 1), new StringBuilder()).toString());
+    }
+
+    @Test
+    void testFormatMatchesSimpleDateFormat() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            Date date = new Date(random.nextLong() % 4_000_000_000_000L);
+            assertEquals(DateFormatUtils.format(date, DateUtils.YYYY_MM_DD_HH_MM_SS),
+                    DateUtils.format(date, DateUtils.YYYY_MM_DD_HH_MM_SS));
+        }
+        Date date = new Date(1_700_000_000_000L);
+        assertEquals(DateFormatUtils.format(date, DateUtils.YYYYMMDDHHMMSS), DateUtils.format(date, DateUtils.YYYYMMDDHHMMSS));
+    }
+
+    @Test
+    void testParseDateMatchesCommonsLang() throws Exception {
+        String[] inputs = {"2023-11-14", "2023-11-14 22:13:20", "2023-11-14 22:13", "2023-11", "2023/11/14 22:13:20",
+                "2023.11.14", "20231114", "20231114221320", "202311142213", "202311", "2023-02-30", "2023-13-01",
+                "2023-11-14T22:13:20", "abc", ""};
+        for (String input : inputs) {
+            Date expected;
+            try {
+                expected = org.apache.commons.lang3.time.DateUtils.parseDate(input, PARSE_PATTERNS);
+            } catch (java.text.ParseException e) {
+                expected = null;
+            }
+            assertEquals(expected, DateUtils.parseDate(input), input);
+        }
+        assertNull(DateUtils.parseDate(null));
+    }
+}
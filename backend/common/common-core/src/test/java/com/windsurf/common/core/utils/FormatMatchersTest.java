@@ -0,0 +1,141 @@
+package com.windsurf.common.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that each hand-written matcher accepts exactly what the regex it replaced accepts
+ */
+class FormatMatchersTest {
+
+    private static final int SAMPLES = 20_000;
+
+    @Test
+    void mobile_ShouldMatchRegex() {
+        List<String> inputs = inputs("0123456789,x", 9, 12, "13800138000", "14,12345678", "16612345678", "19912345678");
+        assertSameAs("^[1]\\d{10}$", FormatMatchers::mobileSimple, inputs);
+        assertSameAs("^1[3-9]\\d{9}$", FormatMatchers::mobileLoose, inputs);
+        assertSameAs("^((13[0-9])|(14[5,7,9])|(15[0-3,5-9])|(16[6])|(17[0-3,5-8])|(18[0-9])|(19[8,9]))\\d{8}$",
+                FormatMatchers::mobileExact, inputs);
+    }
+
+    @Test
+    void tel_ShouldMatchRegex() {
+        assertSameAs("^0\\d{2,3}[- ]?\\d{7,8}$", FormatMatchers::tel,
+                inputs("0123- x", 8, 14, "010-12345678", "0755 1234567", "02112345678", "010--1234567"));
+    }
+
+    @Test
+    void email_ShouldMatchRegex() {
+        List<String> inputs = inputs("ab1_-+&*.@", 1, 14, "test@example.com", "a.b@c.d.ef", "a@b.c", "a..b@c.com",
+                ".a@b.com", "a@b.abcdefgh", "a@-.com", "a_b@c_d.com", "a@b.c1");
+        assertSameAs("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$",
+                FormatMatchers::email, inputs);
+        assertSameAs("^[a-zA-Z0-9_-]+@[a-zA-Z0-9_-]+(\\.[a-zA-Z0-9_-]+)+$", FormatMatchers::emailSimple, inputs);
+    }
+
+    @Test
+    void url_ShouldMatchRegex() {
+        List<String> inputs = new ArrayList<>();
+        for (String prefix : new String[]{"http://", "https://", "ftp://", "http:/", "file://"}) {
+            inputs.addAll(inputs("a/$.?# \t\r\n\u0085 x", 0, 5, prefix));
+            for (String input : inputs("a/.# \n", 0, 5)) {
+                inputs.add(prefix + input);
+            }
+            inputs.add(prefix + "😀");
+            inputs.add(prefix + "😀a");
+            inputs.add(prefix + "a😀");
+            inputs.add(prefix + "a ");
+        }
+        assertSameAs("^(https?|ftp)://[^\\s/$.?#].[^\\s]*$", FormatMatchers::url, inputs);
+    }
+
+    @Test
+    void mac_ShouldMatchRegex() {
+        List<String> inputs = inputs("0aF:-g", 15, 18, "00:11:22:33:44:55", "00-11-22-33-44-55", "00:11-22:33-44:55");
+        assertSameAs("^([0-9A-Fa-f]{2}[:-]){5}([0-9A-Fa-f]{2})$", FormatMatchers::mac, inputs);
+    }
+
+    @Test
+    void shortFormats_ShouldMatchRegex() {
+        assertSameAs("^[\\u4e00-\\u9fa5]+$", FormatMatchers::chinese,
+                inputs("一龥䷿龦中a", 0, 4));
+        assertSameAs("^[a-zA-Z]\\d{8}$", FormatMatchers::passport, inputs("aZ09", 8, 10, "G12345678"));
+        assertSameAs("^[1-9]\\d{5}$", FormatMatchers::postcode, inputs("019x", 5, 7, "100000"));
+    }
+
+    @Test
+    void ipv4_ShouldMatchRegex() {
+        assertSameAs("^(([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])\\.){3}"
+                        + "([0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])$",
+                FormatMatchers::ipv4, inputs("0125.", 7, 16, "255.255.255.255", "256.1.1.1", "01.1.1.1", "1.1.1.1."));
+    }
+
+    @Test
+    void ipv6_ShouldAcceptRfc4291Forms() {
+        assertTrue(FormatMatchers.ipv6("2001:db8:85a3:0:0:8a2e:370:7334"));
+        assertTrue(FormatMatchers.ipv6("2001:DB8::8a2e:370:7334"));
+        assertTrue(FormatMatchers.ipv6("::"));
+        assertTrue(FormatMatchers.ipv6("::1"));
+        assertTrue(FormatMatchers.ipv6("fe80::"));
+        assertTrue(FormatMatchers.ipv6("::ffff:192.168.1.1"));
+        assertTrue(FormatMatchers.ipv6("1:2:3:4:5:6:1.2.3.4"));
+        assertFalse(FormatMatchers.ipv6("1:2:3:4:5:6:7:8:9"));
+        assertFalse(FormatMatchers.ipv6("1::2::3"));
+        assertFalse(FormatMatchers.ipv6(":1:2:3:4:5:6:7"));
+        assertFalse(FormatMatchers.ipv6("1:2:3:4:5:6:7:"));
+        assertFalse(FormatMatchers.ipv6("1::2:3:4:5:6:7:8"));
+        assertFalse(FormatMatchers.ipv6("12345::"));
+        assertFalse(FormatMatchers.ipv6("g::1"));
+        assertFalse(FormatMatchers.ipv6("1:2:3:4:5:6:7:1.2.3.4"));
+        assertFalse(FormatMatchers.ipv6("::1.2.3.256"));
+        assertFalse(FormatMatchers.ipv6("192.168.1.1"));
+        assertFalse(FormatMatchers.ipv6("fe80::1%eth0"));
+    }
+
+    /**
+     * Known inputs plus random strings over the given alphabet, covering both matching and near-miss cases
+     */
+    private static List<String> inputs(String alphabet, int minLength, int maxLength, String... known) {
+        List<String> inputs = new ArrayList<>(List.of(known));
+        inputs.add("");
+        Random random = new Random(42);
+        for (int n = 0; n < SAMPLES; n++) {
+            int length = minLength + random.nextInt(maxLength - minLength + 1);
+            StringBuilder builder = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            inputs.add(builder.toString());
+            // Mutate one character of a known sample to get near misses
+            if (known.length > 0) {
+                StringBuilder mutated = new StringBuilder(known[random.nextInt(known.length)]);
+                if (mutated.length() > 0) {
+                    mutated.setCharAt(random.nextInt(mutated.length()), alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                inputs.add(mutated.toString());
+            }
+        }
+        return inputs;
+    }
+
+    private static void assertSameAs(String regex, Predicate<String> matcher, List<String> inputs) {
+        Pattern pattern = Pattern.compile(regex);
+        int matched = 0;
+        for (String input : inputs) {
+            boolean expected = pattern.matcher(input).matches();
+            assertEquals(expected, matcher.test(input), () -> "Mismatch for " + regex + " on \"" + input + "\"");
+            if (expected) {
+                matched++;
+            }
+        }
+        assertTrue(matched > 0, "No matching samples for " + regex);
+    }
+}
@@ -1,8 +1,13 @@
 package com.windsurf.common.core.utils;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.windsurf.common.core.page.PageResult;
+import com.windsurf.common.core.result.R;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -143,4 +148,36 @@ class JsonUtilsTest {
         TestObject parsed = JsonUtils.parseObject(json, TestObject.class);
         assertEquals(testObject.dateField, parsed.dateField);
     }
+
+    @Test
+    void testBytesAndStreams() throws Exception {
+        byte[] bytes = JsonUtils.toJsonBytes(testObject);
+        assertEquals(JsonUtils.toJsonString(testObject), new String(bytes, StandardCharsets.UTF_8));
+        assertEquals(testObject, JsonUtils.parseBytes(bytes, TestObject.class));
+        assertEquals("test", JsonUtils.parseBytesToMap(bytes).get("stringField"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtils.writeJson(out, testObject);
+        out.write(' ');
+        assertArrayEquals(bytes, Arrays.copyOf(out.toByteArray(), bytes.length));
+
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        assertEquals(testObject, JsonUtils.readJson(in, TestObject.class));
+        assertThrows(IllegalArgumentException.class, () -> JsonUtils.parseBytes(new byte[0], TestObject.class));
+    }
+
+    @Test
+    void testResultRoundTrip() {
+        R<PageResult<String>> result = R.ok(new PageResult<>(List.of("a", "b"), 2, 1, 10));
+        R<?> parsed = JsonUtils.parseBytes(JsonUtils.toJsonBytes(result), R.class);
+        assertEquals(result.getCode(), parsed.getCode());
+        assertEquals(result.getMsg(), parsed.getMsg());
+        assertEquals(List.of("a", "b"), ((Map<?, ?>) parsed.getData()).get("list"));
+    }
+
+    @Test
+    void testToLogString() {
+        assertEquals("{}", JsonUtils.toLogString(new Object()));
+        assertEquals("null", JsonUtils.toLogString(null));
+    }
 }
@@ -2,6 +2,9 @@ package com.windsurf.common.core.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -168,4 +171,24 @@ class ValidateUtilsTest {
         assertFalse(ValidateUtils.isLatitude("-91")); // Too small
         assertFalse(ValidateUtils.isLatitude("abc")); // Not a number
     }
+
+    @Test
+    void testIsIpv6() {
+        assertTrue(ValidateUtils.isIpv6("2001:db8::1"));
+        assertTrue(ValidateUtils.isIpv6("::ffff:192.168.1.1"));
+        assertFalse(ValidateUtils.isIpv6("192.168.1.1")); // IPv4
+        assertFalse(ValidateUtils.isIpv6("2001:db8::1::2")); // Multiple ::
+        assertTrue(ValidateUtils.isIpAddress("192.168.1.1"));
+        assertTrue(ValidateUtils.isIpAddress("::1"));
+        assertFalse(ValidateUtils.isIpAddress("localhost"));
+    }
+
+    @Test
+    void testBulkValidation() {
+        List<String> mobiles = Arrays.asList("13800138000", "12345678901", null, "13100138000");
+        assertEquals(Arrays.asList("12345678901", null), ValidateUtils.findInvalid(mobiles, ValidateUtils::isMobile));
+        assertFalse(ValidateUtils.allValid(mobiles, ValidateUtils::isMobile));
+        assertTrue(ValidateUtils.allValid(List.of("a@b.com", "c.d@e.cn"), ValidateUtils::isEmail));
+        assertTrue(ValidateUtils.findInvalid(List.of(), ValidateUtils::isEmail).isEmpty());
+    }
 }
@@ -104,7 +104,7 @@ public class LogAspect {
             }
 
             // 记录日志
-            log.info("Operation Log: {}", JsonUtils.toJsonString(logMap));
+            log.info("Operation Log: {}", JsonUtils.toLogString(logMap));
             
         } catch (Exception ex) {
             log.error("Log recording failed", ex);
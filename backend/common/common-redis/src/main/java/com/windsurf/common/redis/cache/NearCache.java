@@ -0,0 +1,144 @@
+package com.windsurf.common.redis.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.windsurf.common.redis.properties.NearCacheProperties;
+import com.windsurf.common.redis.service.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Redis前的近端缓存
+ * <p>
+ * 本地缓存未命中时读取Redis并缓存到本地，写入和删除先操作Redis，再失效本节点和其他节点的本地条目。
+ * 读取Redis期间收到失效通知时不缓存读到的值，避免旧值覆盖失效。
+ * Redis中key自然过期不会通知，本地条目最长在 {@code ttl} 后过期。
+ * <p>
+ * 指标：{@code cache.gets{cache, result=hit|miss}}、{@code cache.evictions{cache}} 等Caffeine缓存指标，
+ * 以及 {@code redis.near.cache.invalidation.latency{cache}}：其他节点写入到本节点失效的耗时。
+ */
+public class NearCache {
+
+    @Getter
+    private final String name;
+    private final RedisService redisService;
+    private final Consumer<String> invalidationPublisher;
+    private final Cache<String, Object> local;
+    private final Timer invalidationLatency;
+    /**
+     * 失效次数，读取Redis前后不一致时说明期间发生过失效
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param invalidationPublisher 向其他节点广播失效的key
+     */
+    NearCache(String name, NearCacheProperties.CacheSpec spec, RedisService redisService,
+              Consumer<String> invalidationPublisher, MeterRegistry registry) {
+        this.name = name;
+        this.redisService = redisService;
+        this.invalidationPublisher = invalidationPublisher;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, local, name);
+        this.invalidationLatency = Timer.builder("redis.near.cache.invalidation.latency")
+                .description("Time from a write on another node to the local entry being invalidated")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    /**
+     * 获取缓存对象，本地未命中时读取Redis
+     *
+     * @param key Redis键
+     * @return 缓存的值，不存在时为null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            return (T) value;
+        }
+        long version = invalidations.get();
+        value = redisService.getCacheObject(key);
+        if (value != null) {
+            local.put(key, value);
+            // 读取期间发生失效时读到的可能是旧值，不保留
+            if (invalidations.get() != version) {
+                local.invalidate(key);
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * 写入缓存对象并失效所有节点的本地条目
+     */
+    public <T> void put(final String key, final T value) {
+        redisService.setCacheObject(key, value);
+        invalidate(key);
+    }
+
+    /**
+     * 写入缓存对象并失效所有节点的本地条目
+     *
+     * @param timeout Redis中的有效时间
+     * @param unit    时间颗粒度
+     */
+    public <T> void put(final String key, final T value, final long timeout, final TimeUnit unit) {
+        redisService.setCacheObject(key, value, timeout, unit);
+        invalidate(key);
+    }
+
+    /**
+     * 删除缓存对象并失效所有节点的本地条目
+     */
+    public void evict(final String key) {
+        redisService.deleteObject(key);
+        invalidate(key);
+    }
+
+    /**
+     * 清空本节点的本地缓存，不影响Redis
+     */
+    public void invalidateAllLocal() {
+        invalidations.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    /**
+     * 本地缓存条目数
+     */
+    public long localSize() {
+        return local.estimatedSize();
+    }
+
+    private void invalidate(String key) {
+        invalidateLocal(key);
+        invalidationPublisher.accept(key);
+    }
+
+    void invalidateLocal(String key) {
+        invalidations.incrementAndGet();
+        local.invalidate(key);
+    }
+
+    /**
+     * 处理其他节点的失效通知
+     *
+     * @param publishedAt 通知发出时间，毫秒时间戳
+     */
+    void onRemoteInvalidation(String key, long publishedAt) {
+        invalidateLocal(key);
+        invalidationLatency.record(Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,120 @@
+package com.windsurf.common.redis.cache;
+
+import com.windsurf.common.redis.properties.NearCacheProperties;
+import com.windsurf.common.redis.service.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 近端缓存管理
+ * <p>
+ * 开启 {@code redis.near-cache.enabled} 后可用，通过 {@link #getCache(String)} 按名称获取 {@link NearCache}。
+ * 失效通知通过Redis订阅广播，消息格式为 {@code 节点id \n 缓存名称 \n 发出时间 \n key}，忽略本节点发出的消息。
+ * 重新订阅后期间的消息可能已丢失，清空全部本地缓存。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "redis.near-cache", name = "enabled", havingValue = "true")
+public class NearCacheManager {
+
+    private static final char SEPARATOR = '\n';
+
+    private final RedisService redisService;
+    private final RedissonClient redissonClient;
+    private final NearCacheProperties properties;
+    private final MeterRegistry registry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    private RTopic topic;
+    private int messageListenerId = -1;
+    private int statusListenerId = -1;
+
+    public NearCacheManager(RedisService redisService, RedissonClient redissonClient,
+                            NearCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.redisService = redisService;
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        topic = redissonClient.getTopic(properties.getTopic(), StringCodec.INSTANCE);
+        messageListenerId = topic.addListener(String.class, (channel, message) -> onMessage(message));
+        statusListenerId = topic.addListener(new StatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                caches.values().forEach(NearCache::invalidateAllLocal);
+            }
+
+            @Override
+            public void onUnsubscribe(String channel) {
+            }
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (topic != null) {
+            topic.removeListener(messageListenerId, statusListenerId);
+        }
+    }
+
+    /**
+     * 按名称获取近端缓存，不存在时按 {@code redis.near-cache.caches.<name>} 创建
+     */
+    public NearCache getCache(String name) {
+        return caches.computeIfAbsent(name, key -> new NearCache(key, properties.spec(key), redisService,
+                redisKey -> publish(key, redisKey), registry));
+    }
+
+    private void publish(String cacheName, String key) {
+        String message = nodeId + SEPARATOR + cacheName + SEPARATOR + System.currentTimeMillis() + SEPARATOR + key;
+        try {
+            topic.publish(message);
+        } catch (Exception e) {
+            // 其他节点的本地条目在ttl后过期
+            log.warn("Failed to publish near cache invalidation for {} in {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    void onMessage(String message) {
+        int nodeEnd = message.indexOf(SEPARATOR);
+        int nameEnd = nodeEnd < 0 ? -1 : message.indexOf(SEPARATOR, nodeEnd + 1);
+        int timeEnd = nameEnd < 0 ? -1 : message.indexOf(SEPARATOR, nameEnd + 1);
+        if (timeEnd < 0) {
+            log.warn("Ignored malformed near cache invalidation: {}", message);
+            return;
+        }
+        if (message.regionMatches(0, nodeId, 0, nodeEnd) && nodeEnd == nodeId.length()) {
+            return;
+        }
+        NearCache cache = caches.get(message.substring(nodeEnd + 1, nameEnd));
+        if (cache == null) {
+            return;
+        }
+        long publishedAt;
+        try {
+            publishedAt = Long.parseLong(message, nameEnd + 1, timeEnd, 10);
+        } catch (NumberFormatException e) {
+            log.warn("Ignored malformed near cache invalidation: {}", message);
+            return;
+        }
+        cache.onRemoteInvalidation(message.substring(timeEnd + 1), publishedAt);
+    }
+}
@@ -0,0 +1,267 @@
+package com.windsurf.common.redis.cache;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.windsurf.common.redis.properties.SingleFlightProperties;
+import com.windsurf.common.redis.service.RedisService;
+import com.windsurf.common.redis.util.RedisLockUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 防缓存击穿的Redis缓存加载
+ * <p>
+ * Redis中保存值、写入时间、逻辑过期时间和回源耗时，key的实际有效时间比逻辑过期时间多 {@code staleTtl}：
+ * <ul>
+ *     <li>未过期：直接返回，临近过期时按XFetch算法以一定概率提前在后台刷新，回源越慢、越接近过期，概率越高</li>
+ *     <li>逻辑过期但仍在 {@code staleTtl} 内：返回旧值并在后台刷新</li>
+ *     <li>不存在：同步回源，同一节点内同一key的并发请求只回源一次；开启 {@code distributedLock} 后
+ *     通过 {@link RedisLockUtil} 在节点间合并，未抢到锁的节点等待其他节点写入</li>
+ * </ul>
+ * 回源结果为null时同样缓存，防止缓存穿透。Redis不可用时直接回源。
+ */
+@Slf4j
+@Component
+public class SingleFlightCache {
+
+    private static final String LOCK_PREFIX = "lock:single-flight:";
+
+    private final RedisService redisService;
+    private final RedisLockUtil redisLockUtil;
+    private final SingleFlightProperties properties;
+    private final ThreadPoolExecutor refreshExecutor;
+    /**
+     * 本节点正在回源的key
+     */
+    private final Map<String, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter earlyRefreshCounter;
+    private final Counter loadCounter;
+    private final Counter coalescedCounter;
+
+    public SingleFlightCache(RedisService redisService, ObjectProvider<RedisLockUtil> redisLockUtilProvider,
+                             SingleFlightProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.redisService = redisService;
+        this.redisLockUtil = properties.isDistributedLock() ? redisLockUtilProvider.getIfAvailable() : null;
+        this.properties = properties;
+        this.refreshExecutor = new ThreadPoolExecutor(properties.getRefreshThreads(), properties.getRefreshThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getRefreshQueueSize()),
+                new ThreadFactoryBuilder().setNameFormat("single-flight-refresh-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        this.hitCounter = outcomeCounter(registry, "hit");
+        this.staleCounter = outcomeCounter(registry, "stale");
+        this.earlyRefreshCounter = outcomeCounter(registry, "early_refresh");
+        this.loadCounter = outcomeCounter(registry, "load");
+        this.coalescedCounter = outcomeCounter(registry, "coalesced");
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("redis.single.flight.requests")
+                .description("Single-flight cache lookups by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 获取缓存，未命中时回源
+     *
+     * @param key    Redis键
+     * @param ttl    逻辑有效时间
+     * @param loader 回源方法，可能在后台线程执行
+     * @return 缓存的值
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key, final Duration ttl, final Supplier<T> loader) {
+        Entry entry = read(key);
+        if (entry == null) {
+            return (T) load(key, ttl, loader, 0);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now >= entry.expiresAt) {
+            staleCounter.increment();
+            refreshAsync(key, ttl, loader, entry.createdAt);
+        } else if (shouldRefreshEarly(entry, now)) {
+            earlyRefreshCounter.increment();
+            refreshAsync(key, ttl, loader, entry.createdAt);
+        } else {
+            hitCounter.increment();
+        }
+        return (T) entry.value;
+    }
+
+    /**
+     * 删除缓存，下次获取时回源
+     */
+    public void evict(final String key) {
+        redisService.deleteObject(key);
+    }
+
+    /**
+     * XFetch：now - delta * beta * ln(rand) >= expiry，rand取(0,1]
+     */
+    private boolean shouldRefreshEarly(Entry entry, long now) {
+        double beta = properties.getEarlyRefreshBeta();
+        if (beta <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return now - entry.computeMillis * beta * Math.log(random) >= entry.expiresAt;
+    }
+
+    private void refreshAsync(String key, Duration ttl, Supplier<?> loader, long observedCreatedAt) {
+        if (inflight.containsKey(key)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                load(key, ttl, loader, observedCreatedAt);
+            } catch (Exception e) {
+                log.warn("Background refresh of {} failed: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 同一节点内同一key只有一个线程回源，其余线程等待其结果
+     *
+     * @param observedCreatedAt 调用方看到的缓存写入时间，不存在时为0；Redis中的值比它新时不再回源
+     */
+    private Object load(String key, Duration ttl, Supplier<?> loader, long observedCreatedAt) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inflight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalescedCounter.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            Object value = redisLockUtil != null
+                    ? loadWithLock(key, ttl, loader, observedCreatedAt)
+                    : compute(key, ttl, loader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(key, future);
+        }
+    }
+
+    private Object loadWithLock(String key, Duration ttl, Supplier<?> loader, long observedCreatedAt) {
+        boolean refresh = observedCreatedAt > 0;
+        RLock lock;
+        boolean locked;
+        try {
+            lock = redisLockUtil.getLock(LOCK_PREFIX + key);
+            // 后台刷新不等待，其他节点正在刷新时直接放弃
+            locked = lock.tryLock(refresh ? 0 : properties.getLockWait().toMillis(),
+                    properties.getLockLease().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return compute(key, ttl, loader);
+        } catch (RuntimeException e) {
+            log.warn("Failed to acquire single-flight lock for {}: {}", key, e.getMessage());
+            return compute(key, ttl, loader);
+        }
+
+        if (!locked) {
+            Entry entry = read(key);
+            if (entry != null && (refresh || entry.createdAt > observedCreatedAt)) {
+                return entry.value;
+            }
+            // 等待超时且其他节点仍未写入，自行回源
+            return compute(key, ttl, loader);
+        }
+        try {
+            // 等锁期间其他节点可能已经写入
+            Entry entry = read(key);
+            if (entry != null && entry.createdAt > observedCreatedAt) {
+                return entry.value;
+            }
+            return compute(key, ttl, loader);
+        } finally {
+            redisLockUtil.unlock(lock);
+        }
+    }
+
+    private Object compute(String key, Duration ttl, Supplier<?> loader) {
+        loadCounter.increment();
+        long start = System.currentTimeMillis();
+        Object value = loader.get();
+        long now = System.currentTimeMillis();
+
+        Entry entry = new Entry();
+        entry.value = value;
+        entry.createdAt = now;
+        entry.expiresAt = now + ttl.toMillis();
+        entry.computeMillis = now - start;
+        try {
+            redisService.setCacheObject(key, entry, ttl.plus(properties.getStaleTtl()).toMillis(),
+                    TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("Failed to cache {}: {}", key, e.getMessage());
+        }
+        return value;
+    }
+
+    private Entry read(String key) {
+        try {
+            Object cached = redisService.getCacheObject(key);
+            return cached instanceof Entry ? (Entry) cached : null;
+        } catch (Exception e) {
+            log.warn("Failed to read {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Redis中保存的缓存条目
+     */
+    static class Entry {
+        private Object value;
+        /**
+         * 写入时间，毫秒时间戳
+         */
+        private long createdAt;
+        /**
+         * 逻辑过期时间，毫秒时间戳
+         */
+        private long expiresAt;
+        /**
+         * 回源耗时，毫秒
+         */
+        private long computeMillis;
+    }
+}
@@ -0,0 +1,36 @@
+package com.windsurf.common.redis.config;
+
+import com.windsurf.common.redis.properties.RedisSerializerProperties;
+import com.windsurf.common.redis.serializer.CompactRedisSerializer;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * 响应式Redis配置类，序列化方式与 {@link RedisConfig} 一致
+ */
+@Configuration
+@ConditionalOnClass(name = "reactor.core.publisher.Flux")
+@AutoConfigureBefore(RedisReactiveAutoConfiguration.class)
+public class ReactiveRedisConfig {
+
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory factory,
+                                                                       RedisSerializerProperties serializerProperties) {
+        CompactRedisSerializer valueSerializer = new CompactRedisSerializer(serializerProperties);
+        StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(stringRedisSerializer)
+                .value(valueSerializer)
+                .hashKey(stringRedisSerializer)
+                .hashValue(valueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(factory, context);
+    }
+}
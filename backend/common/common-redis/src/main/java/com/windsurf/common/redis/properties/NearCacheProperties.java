@@ -0,0 +1,51 @@
+package com.windsurf.common.redis.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 近端缓存配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.near-cache")
+public class NearCacheProperties {
+
+    /**
+     * 是否启用近端缓存
+     */
+    private boolean enabled = false;
+    /**
+     * 失效通知的订阅频道
+     */
+    private String topic = "redis:near-cache:invalidate";
+    /**
+     * 未单独配置的缓存使用的默认配置
+     */
+    private CacheSpec defaults = new CacheSpec();
+    /**
+     * 按缓存名称的配置
+     */
+    private Map<String, CacheSpec> caches = new HashMap<>();
+
+    public CacheSpec spec(String name) {
+        return caches.getOrDefault(name, defaults);
+    }
+
+    @Data
+    public static class CacheSpec {
+        /**
+         * 本地最大缓存条目数
+         */
+        private long maximumSize = 10000;
+        /**
+         * 本地条目写入后的有效时间，也是丢失失效通知或Redis中key自然过期时本地值的最长过期时间
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+    }
+}
@@ -0,0 +1,29 @@
+package com.windsurf.common.redis.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * RedisService 自动批量配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.batch")
+public class RedisBatchProperties {
+
+    /**
+     * 是否把多线程并发的单key调用合并为一次pipeline
+     */
+    private boolean enabled = false;
+    /**
+     * 收到第一个命令后等待更多命令的时间窗口，单次调用的额外延迟不超过该值
+     */
+    private Duration window = Duration.ofNanos(50_000);
+    /**
+     * 单次pipeline的最大命令数
+     */
+    private int maxBatchSize = 256;
+}
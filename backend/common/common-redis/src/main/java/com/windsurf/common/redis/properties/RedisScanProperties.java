@@ -0,0 +1,23 @@
+package com.windsurf.common.redis.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * RedisService 按模式遍历key的配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.scan")
+public class RedisScanProperties {
+
+    /**
+     * 每次SCAN的COUNT提示值，越大往返越少，单次阻塞Redis的时间越长
+     */
+    private long count = 1000;
+    /**
+     * 按模式删除时每次UNLINK的key数
+     */
+    private int unlinkBatchSize = 500;
+}
@@ -0,0 +1,35 @@
+package com.windsurf.common.redis.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * RedisTemplate 值序列化配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.serializer")
+public class RedisSerializerProperties {
+
+    /**
+     * 写入格式，读取时两种格式都支持。
+     * 迁移时先全部节点升级到可读二进制格式的版本，再切换为 SMILE，避免旧节点读不了新值
+     */
+    private Format format = Format.JSON;
+    /**
+     * 二进制值达到该字节数时使用LZ4压缩，小于等于0不压缩
+     */
+    private int compressionThreshold = 1024;
+
+    public enum Format {
+        /**
+         * 与之前一致的JSON文本，不带头部
+         */
+        JSON,
+        /**
+         * 带版本头的Smile二进制，可选LZ4压缩
+         */
+        SMILE
+    }
+}
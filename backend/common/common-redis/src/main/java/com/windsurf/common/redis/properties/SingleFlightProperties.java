@@ -0,0 +1,45 @@
+package com.windsurf.common.redis.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 防缓存击穿加载配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "redis.single-flight")
+public class SingleFlightProperties {
+
+    /**
+     * 是否通过分布式锁在节点间合并回源，关闭时只在节点内合并
+     */
+    private boolean distributedLock = false;
+    /**
+     * 缓存未命中时等待其他节点回源的最长时间，超时后本节点自行回源
+     */
+    private Duration lockWait = Duration.ofSeconds(3);
+    /**
+     * 分布式锁的租期，应大于最慢一次回源的耗时
+     */
+    private Duration lockLease = Duration.ofSeconds(30);
+    /**
+     * 逻辑过期后继续返回旧值并后台刷新的时间，Redis中key的有效时间为 ttl + staleTtl
+     */
+    private Duration staleTtl = Duration.ofMinutes(5);
+    /**
+     * 提前刷新系数，越大越早刷新，小于等于0不提前刷新
+     */
+    private double earlyRefreshBeta = 1.0;
+    /**
+     * 后台刷新线程数
+     */
+    private int refreshThreads = 2;
+    /**
+     * 后台刷新队列长度，队列满时放弃本次刷新
+     */
+    private int refreshQueueSize = 1000;
+}
@@ -0,0 +1,143 @@
+package com.windsurf.common.redis.serializer;
+
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.windsurf.common.core.json.JsonMappers;
+import com.windsurf.common.redis.properties.RedisSerializerProperties;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 带版本头的紧凑二进制序列化器
+ * <p>
+ * 二进制值格式：1字节头部 + Smile正文。头部高4位为格式版本（当前为1），低位为标志，
+ * 置 {@link #FLAG_LZ4} 时头部后为4字节原始长度（大端）和LZ4压缩后的正文。
+ * Smile按 {@link JsonMappers#redis()} 的配置读写，类型信息不变；重复的属性名和类名等短字符串写为回引用，
+ * 集合中的每个元素不再重复完整类名。
+ * <p>
+ * JSON文本首字节总是可打印字符，与头部取值（0x10-0x1F）不冲突，读取时不带头部的值按原JSON格式解析，
+ * 迁移期间新旧格式可以混存。
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 格式版本1：Smile正文
+     */
+    static final int VERSION_1 = 0x10;
+    static final int VERSION_MASK = 0xF0;
+    /**
+     * 正文经过LZ4压缩
+     */
+    static final int FLAG_LZ4 = 0x01;
+    private static final int LENGTH_BYTES = 4;
+
+    private static final ObjectMapper SMILE = JsonMappers.redis(SmileFactory.builder()
+            // 共享字符串值的开关记录在Smile自身的4字节头中，因此保留该头
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final RedisSerializerProperties.Format format;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    public CompactRedisSerializer(RedisSerializerProperties properties) {
+        this(properties.getFormat(), properties.getCompressionThreshold());
+    }
+
+    /**
+     * @param format               写入格式
+     * @param compressionThreshold 二进制正文达到该字节数时压缩，小于等于0不压缩
+     */
+    public CompactRedisSerializer(RedisSerializerProperties.Format format, int compressionThreshold) {
+        this.format = format;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            if (format == RedisSerializerProperties.Format.JSON) {
+                return JsonMappers.redis().writeValueAsBytes(value);
+            }
+            ByteArrayBuilder builder = new ByteArrayBuilder();
+            builder.write(VERSION_1);
+            SMILE.writeValue(builder, value);
+            return compress(builder.toByteArray());
+        } catch (IOException e) {
+            throw new SerializationException("Could not write value: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        int header = bytes[0] & 0xFF;
+        try {
+            if (header >= 0x20) {
+                return JsonMappers.redis().readValue(bytes, Object.class);
+            }
+            if ((header & VERSION_MASK) != VERSION_1 || (header & ~(VERSION_MASK | FLAG_LZ4)) != 0) {
+                throw new SerializationException("Unsupported value header: 0x" + Integer.toHexString(header));
+            }
+            if ((header & FLAG_LZ4) == 0) {
+                return SMILE.readValue(bytes, 1, bytes.length - 1, Object.class);
+            }
+            byte[] body = decompress(bytes);
+            return SMILE.readValue(body, Object.class);
+        } catch (IOException | LZ4Exception e) {
+            throw new SerializationException("Could not read value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 正文达到阈值且压缩后更小时返回压缩格式，否则原样返回
+     */
+    private byte[] compress(byte[] plain) {
+        int length = plain.length - 1;
+        if (compressionThreshold <= 0 || length < compressionThreshold) {
+            return plain;
+        }
+        int offset = 1 + LENGTH_BYTES;
+        byte[] compressed = new byte[offset + compressor.maxCompressedLength(length)];
+        int compressedLength = compressor.compress(plain, 1, length, compressed, offset, compressed.length - offset);
+        if (offset + compressedLength >= plain.length) {
+            return plain;
+        }
+        compressed[0] = (byte) (VERSION_1 | FLAG_LZ4);
+        compressed[1] = (byte) (length >>> 24);
+        compressed[2] = (byte) (length >>> 16);
+        compressed[3] = (byte) (length >>> 8);
+        compressed[4] = (byte) length;
+        return Arrays.copyOf(compressed, offset + compressedLength);
+    }
+
+    private byte[] decompress(byte[] bytes) {
+        if (bytes.length < 1 + LENGTH_BYTES) {
+            throw new SerializationException("Truncated compressed value");
+        }
+        int length = (bytes[1] & 0xFF) << 24 | (bytes[2] & 0xFF) << 16 | (bytes[3] & 0xFF) << 8 | (bytes[4] & 0xFF);
+        if (length < 0) {
+            throw new SerializationException("Invalid uncompressed length: " + length);
+        }
+        byte[] body = new byte[length];
+        decompressor.decompress(bytes, 1 + LENGTH_BYTES, body, 0, length);
+        return body;
+    }
+}
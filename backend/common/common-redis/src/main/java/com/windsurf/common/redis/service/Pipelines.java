@@ -0,0 +1,42 @@
+package com.windsurf.common.redis.service;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * pipeline执行
+ */
+final class Pipelines {
+
+    private Pipelines() {
+    }
+
+    /**
+     * 在一次pipeline中执行命令，返回结果与命令一一对应，GET类结果已按模板的value序列化器反序列化
+     *
+     * @param template redis模板
+     * @param commands 通过传入的 {@link RedisOperations} 发出命令，每条命令产生一个结果
+     * @param expected 预期的命令数
+     */
+    @SuppressWarnings("unchecked")
+    static List<Object> execute(RedisTemplate<String, Object> template,
+                                Consumer<RedisOperations<String, Object>> commands, int expected) {
+        List<Object> results = template.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, Object>) operations);
+                return null;
+            }
+        });
+        if (results.size() != expected) {
+            throw new InvalidDataAccessApiUsageException(
+                    "Pipeline returned " + results.size() + " results for " + expected + " commands");
+        }
+        return results;
+    }
+}
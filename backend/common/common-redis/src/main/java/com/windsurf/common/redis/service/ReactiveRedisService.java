@@ -0,0 +1,282 @@
+package com.windsurf.common.redis.service;
+
+import com.windsurf.common.redis.properties.RedisScanProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 响应式Redis服务
+ * <p>
+ * 与 {@link RedisService} 对应的非阻塞接口，供WebFlux网关等运行在事件循环上的代码使用，序列化方式相同，
+ * 两者写入的值可以互相读取。所有方法在订阅时才执行。
+ */
+@Component
+@ConditionalOnClass(name = "reactor.core.publisher.Flux")
+public class ReactiveRedisService {
+
+    private final ReactiveRedisOperations<String, Object> redisTemplate;
+    private final RedisScanProperties scanProperties;
+
+    public ReactiveRedisService(ReactiveRedisOperations<String, Object> reactiveRedisTemplate,
+                                RedisScanProperties scanProperties) {
+        this.redisTemplate = reactiveRedisTemplate;
+        this.scanProperties = scanProperties;
+    }
+
+    /**
+     * 缓存基本的对象，Integer、String、实体类等
+     *
+     * @param key   缓存的键值
+     * @param value 缓存的值
+     */
+    public <T> Mono<Boolean> setCacheObject(final String key, final T value) {
+        return redisTemplate.opsForValue().set(key, value);
+    }
+
+    /**
+     * 缓存基本的对象，Integer、String、实体类等
+     *
+     * @param key      缓存的键值
+     * @param value    缓存的值
+     * @param timeout  时间
+     * @param timeUnit 时间颗粒度
+     */
+    public <T> Mono<Boolean> setCacheObject(final String key, final T value, final long timeout,
+                                            final TimeUnit timeUnit) {
+        return redisTemplate.opsForValue().set(key, value, Duration.ofNanos(timeUnit.toNanos(timeout)));
+    }
+
+    /**
+     * 获得缓存的基本对象，不存在时为空
+     *
+     * @param key 缓存键值
+     * @return 缓存键值对应的数据
+     */
+    public <T> Mono<T> getCacheObject(final String key) {
+        return redisTemplate.opsForValue().get(key).map(value -> (T) value);
+    }
+
+    /**
+     * 删除单个对象
+     *
+     * @param key 缓存的键值
+     */
+    public Mono<Boolean> deleteObject(final String key) {
+        return redisTemplate.delete(key).map(count -> count > 0);
+    }
+
+    /**
+     * 删除集合对象
+     *
+     * @param collection 多个对象
+     * @return 删除的数量
+     */
+    public Mono<Long> deleteObject(final Collection<String> collection) {
+        if (collection.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return redisTemplate.delete(collection.toArray(new String[0]));
+    }
+
+    /**
+     * 缓存List数据
+     *
+     * @param key      缓存的键值
+     * @param dataList 待缓存的List数据
+     * @return 缓存后List的长度
+     */
+    public <T> Mono<Long> setCacheList(final String key, final List<T> dataList) {
+        return redisTemplate.opsForList().rightPushAll(key, (Collection<Object>) dataList);
+    }
+
+    /**
+     * 获得缓存的list对象
+     *
+     * @param key 缓存的键值
+     * @return 缓存键值对应的数据
+     */
+    public <T> Mono<List<T>> getCacheList(final String key) {
+        return redisTemplate.opsForList().range(key, 0, -1).map(value -> (T) value).collectList();
+    }
+
+    /**
+     * 缓存Set
+     *
+     * @param key     缓存键值
+     * @param dataSet 缓存的数据
+     * @return 新增的元素数量
+     */
+    public <T> Mono<Long> setCacheSet(final String key, final Set<T> dataSet) {
+        return redisTemplate.opsForSet().add(key, dataSet.toArray());
+    }
+
+    /**
+     * 获得缓存的set
+     *
+     * @param key 缓存的key
+     * @return set对象
+     */
+    public <T> Mono<Set<T>> getCacheSet(final String key) {
+        return redisTemplate.opsForSet().members(key).map(value -> (T) value).collect(Collectors.toSet());
+    }
+
+    /**
+     * 缓存Map
+     *
+     * @param key     缓存的键值
+     * @param dataMap 缓存的数据
+     */
+    public <T> Mono<Boolean> setCacheMap(final String key, final Map<String, T> dataMap) {
+        if (dataMap == null || dataMap.isEmpty()) {
+            return Mono.just(false);
+        }
+        return redisTemplate.<String, T>opsForHash().putAll(key, dataMap);
+    }
+
+    /**
+     * 获得缓存的Map
+     *
+     * @param key 缓存的键值
+     * @return map对象
+     */
+    public <T> Mono<Map<String, T>> getCacheMap(final String key) {
+        return redisTemplate.<Object, Object>opsForHash().entries(key)
+                .collectMap(entry -> entry.getKey().toString(), entry -> (T) entry.getValue());
+    }
+
+    /**
+     * 往Hash中存入数据
+     *
+     * @param key   Redis键
+     * @param hKey  Hash键
+     * @param value 值
+     */
+    public <T> Mono<Boolean> setCacheMapValue(final String key, final String hKey, final T value) {
+        return redisTemplate.<String, T>opsForHash().put(key, hKey, value);
+    }
+
+    /**
+     * 获取Hash中的数据
+     *
+     * @param key  Redis键
+     * @param hKey Hash键
+     * @return Hash中的对象
+     */
+    public <T> Mono<T> getCacheMapValue(final String key, final String hKey) {
+        return redisTemplate.<String, T>opsForHash().get(key, hKey);
+    }
+
+    /**
+     * 获取多个Hash中的数据
+     *
+     * @param key   Redis键
+     * @param hKeys Hash键集合
+     * @return 与hKeys顺序一致的对象集合，不存在的为null
+     */
+    public <T> Mono<List<T>> getMultiCacheMapValue(final String key, final Collection<Object> hKeys) {
+        return redisTemplate.<Object, T>opsForHash().multiGet(key, hKeys);
+    }
+
+    /**
+     * 批量获取缓存对象，一次MGET
+     *
+     * @param keys 缓存键值集合
+     * @return 与keys顺序一致的值列表，不存在的key对应null
+     */
+    public <T> Mono<List<T>> multiGet(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return redisTemplate.opsForValue().multiGet(keys).map(values -> (List<T>) values);
+    }
+
+    /**
+     * 批量缓存对象，不设置有效时间，一次MSET
+     *
+     * @param values 键值对
+     */
+    public <T> Mono<Boolean> multiSet(final Map<String, T> values) {
+        if (values.isEmpty()) {
+            return Mono.just(true);
+        }
+        return redisTemplate.opsForValue().multiSet(values);
+    }
+
+    /**
+     * 按模式遍历key，基于SCAN，按需分批拉取
+     *
+     * @param pattern 匹配模式
+     * @return key流，可能包含重复key
+     */
+    public Flux<String> keys(final String pattern) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(scanProperties.getCount()).build());
+    }
+
+    /**
+     * 按模式删除key，SCAN遍历并按 {@code redis.scan.unlink-batch-size} 分批UNLINK
+     *
+     * @param pattern 匹配模式
+     * @return 删除的数量
+     */
+    public Mono<Long> deleteByPattern(final String pattern) {
+        return keys(pattern)
+                .buffer(Math.max(1, scanProperties.getUnlinkBatchSize()))
+                .concatMap(batch -> redisTemplate.unlink(batch.toArray(new String[0])))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * 判断key是否存在
+     *
+     * @param key 键
+     * @return true 存在 false不存在
+     */
+    public Mono<Boolean> hasKey(final String key) {
+        return redisTemplate.hasKey(key);
+    }
+
+    /**
+     * 设置有效时间
+     *
+     * @param key     Redis键
+     * @param timeout 超时时间，单位秒
+     * @return true=设置成功；false=设置失败
+     */
+    public Mono<Boolean> expire(final String key, final long timeout) {
+        return expire(key, timeout, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 设置有效时间
+     *
+     * @param key     Redis键
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @return true=设置成功；false=设置失败
+     */
+    public Mono<Boolean> expire(final String key, final long timeout, final TimeUnit unit) {
+        return redisTemplate.expire(key, Duration.ofNanos(unit.toNanos(timeout)));
+    }
+
+    /**
+     * 获取有效时间
+     *
+     * @param key Redis键
+     * @return 剩余有效时间，未设置有效时间时为0，key不存在时为空
+     */
+    public Mono<Duration> getExpire(final String key) {
+        return redisTemplate.getExpire(key);
+    }
+}
@@ -0,0 +1,143 @@
+package com.windsurf.common.redis.service;
+
+import com.windsurf.common.redis.properties.RedisBatchProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 自动批量执行器
+ * <p>
+ * 调用线程把单条命令放入队列后等待结果，后台线程取到第一条命令后在 {@code window} 内继续收集，
+ * 达到时间窗口或 {@code maxBatchSize} 后以一次pipeline发出。上一批等待响应期间到达的命令会合并到下一批，
+ * 并发越高每批越大。同一批中任一命令失败时整批调用都会收到该异常。
+ */
+@Slf4j
+final class RedisAutoBatcher {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    RedisAutoBatcher(RedisTemplate<String, Object> redisTemplate, RedisBatchProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.worker = new Thread(this::run, "redis-auto-batcher");
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    /**
+     * 停止后台线程，已入队的命令会先执行完
+     */
+    void stop() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 提交一条命令并等待结果
+     *
+     * @param command 通过传入的 {@link RedisOperations} 发出且只发出一条命令
+     * @return 命令结果
+     */
+    Object execute(Consumer<RedisOperations<String, Object>> command) {
+        Command pending = new Command(command);
+        queue.add(pending);
+        // 后台线程已退出时自行执行，避免调用方一直等待
+        if (!running && queue.remove(pending)) {
+            flush(List.of(pending));
+        }
+        try {
+            return pending.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Command first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Command next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                flush(batch);
+                return;
+            } catch (Throwable e) {
+                log.error("Redis auto batcher failed", e);
+                for (Command command : batch) {
+                    command.future.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Command> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Object> results = Pipelines.execute(redisTemplate, operations -> {
+                for (Command command : batch) {
+                    command.issue.accept(operations);
+                }
+            }, batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            for (Command command : batch) {
+                command.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Command {
+        private final Consumer<RedisOperations<String, Object>> issue;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        private Command(Consumer<RedisOperations<String, Object>> issue) {
+            this.issue = issue;
+        }
+    }
+}
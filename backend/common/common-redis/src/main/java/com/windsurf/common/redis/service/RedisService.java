@@ -1,19 +1,33 @@
 package com.windsurf.common.redis.service;
 
+import com.windsurf.common.redis.properties.RedisBatchProperties;
+import com.windsurf.common.redis.properties.RedisScanProperties;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Redis服务
+ * <p>
+ * 开启 {@code redis.batch.enabled} 后，{@link #getCacheObject}、{@link #setCacheObject}、{@link #hasKey}、
+ * {@link #expire} 的并发调用会合并为一次pipeline执行，见 {@link RedisAutoBatcher}。
  */
 @Component
 public class RedisService {
@@ -23,6 +37,29 @@ public class RedisService {
     @Autowired
     private ValueOperations<String, Object> valueOperations;
 
+    @Autowired
+    private RedisBatchProperties batchProperties;
+
+    @Autowired
+    private RedisScanProperties scanProperties;
+
+    private RedisAutoBatcher autoBatcher;
+
+    @PostConstruct
+    public void init() {
+        if (batchProperties != null && batchProperties.isEnabled()) {
+            autoBatcher = new RedisAutoBatcher(redisTemplate, batchProperties);
+            autoBatcher.start();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (autoBatcher != null) {
+            autoBatcher.stop();
+        }
+    }
+
     /**
      * 缓存基本的对象，Integer、String、实体类等
      *
@@ -30,6 +67,10 @@ public class RedisService {
      * @param value 缓存的值
      */
     public <T> void setCacheObject(final String key, final T value) {
+        if (autoBatcher != null) {
+            autoBatcher.execute(operations -> operations.opsForValue().set(key, value));
+            return;
+        }
         redisTemplate.opsForValue().set(key, value);
     }
 
@@ -42,6 +83,10 @@ public class RedisService {
      * @param timeUnit 时间颗粒度
      */
     public <T> void setCacheObject(final String key, final T value, final Long timeout, final TimeUnit timeUnit) {
+        if (autoBatcher != null) {
+            autoBatcher.execute(operations -> operations.opsForValue().set(key, value, timeout, timeUnit));
+            return;
+        }
         redisTemplate.opsForValue().set(key, value, timeout, timeUnit);
     }
 
@@ -52,6 +97,9 @@ public class RedisService {
      * @return 缓存键值对应的数据
      */
     public <T> T getCacheObject(final String key) {
+        if (autoBatcher != null) {
+            return (T) autoBatcher.execute(operations -> operations.opsForValue().get(key));
+        }
         ValueOperations<String, Object> operation = redisTemplate.opsForValue();
         return (T) operation.get(key);
     }
@@ -181,12 +229,83 @@ public class RedisService {
 
     /**
      * 获得缓存的基本对象列表
+     * <p>
+     * 基于SCAN遍历，不阻塞Redis，但结果全部加载到内存，key较多时使用 {@link #scanKeys(String)}
      *
      * @param pattern 字符串前缀
      * @return 对象列表
      */
     public Collection<String> keys(final String pattern) {
-        return redisTemplate.keys(pattern);
+        // SCAN在遍历期间发生rehash时可能返回重复key
+        Set<String> keys = new LinkedHashSet<>();
+        try (Cursor<String> cursor = scan(pattern)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    /**
+     * 按模式遍历key，每次SCAN取 {@code redis.scan.count} 个，使用后必须关闭
+     *
+     * @param pattern 匹配模式
+     * @return key游标
+     */
+    public Cursor<String> scan(final String pattern) {
+        return scan(pattern, scanProperties.getCount());
+    }
+
+    /**
+     * 按模式遍历key，使用后必须关闭
+     * <p>
+     * 遍历期间一直存在的key至少返回一次，可能重复；遍历期间新增或删除的key不保证返回
+     *
+     * @param pattern 匹配模式
+     * @param count   每次SCAN的COUNT提示值
+     * @return key游标
+     */
+    public Cursor<String> scan(final String pattern, final long count) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(count).build());
+    }
+
+    /**
+     * 按模式遍历key的惰性流，边遍历边从Redis分批拉取，内存占用与key总数无关。
+     * 流占用一个Redis连接，需在 try-with-resources 中使用
+     *
+     * @param pattern 匹配模式
+     * @return key流，关闭时释放游标
+     */
+    public Stream<String> scanKeys(final String pattern) {
+        return scan(pattern).stream();
+    }
+
+    /**
+     * 按模式删除key，SCAN遍历并按 {@code redis.scan.unlink-batch-size} 分批UNLINK，在后台线程回收内存
+     *
+     * @param pattern 匹配模式
+     * @return 删除的数量
+     */
+    public long deleteByPattern(final String pattern) {
+        int batchSize = Math.max(1, scanProperties.getUnlinkBatchSize());
+        List<String> batch = new ArrayList<>(batchSize);
+        long deleted = 0;
+        try (Cursor<String> cursor = scan(pattern)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    deleted += unlink(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += unlink(batch);
+        }
+        return deleted;
+    }
+
+    private long unlink(final List<String> keys) {
+        Long count = redisTemplate.unlink(keys);
+        return count == null ? 0 : count;
     }
 
     /**
@@ -196,6 +315,9 @@ public class RedisService {
      * @return true 存在 false不存在
      */
     public Boolean hasKey(String key) {
+        if (autoBatcher != null) {
+            return (Boolean) autoBatcher.execute(operations -> operations.hasKey(key));
+        }
         return redisTemplate.hasKey(key);
     }
 
@@ -219,6 +341,9 @@ public class RedisService {
      * @return true=设置成功；false=设置失败
      */
     public boolean expire(final String key, final long timeout, final TimeUnit unit) {
+        if (autoBatcher != null) {
+            return Boolean.TRUE.equals(autoBatcher.execute(operations -> operations.expire(key, timeout, unit)));
+        }
         return redisTemplate.expire(key, timeout, unit);
     }
 
@@ -231,4 +356,112 @@ public class RedisService {
     public long getExpire(final String key) {
         return redisTemplate.getExpire(key);
     }
+
+    /**
+     * 批量获取缓存对象，一次MGET
+     *
+     * @param keys 缓存键值集合
+     * @return 与keys顺序一致的值列表，不存在的key对应null
+     */
+    public <T> List<T> multiGet(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return (List<T>) redisTemplate.opsForValue().multiGet(keys);
+    }
+
+    /**
+     * 批量缓存对象，不设置有效时间，一次MSET
+     *
+     * @param values 键值对
+     */
+    public <T> void multiSet(final Map<String, T> values) {
+        if (!values.isEmpty()) {
+            redisTemplate.opsForValue().multiSet(values);
+        }
+    }
+
+    /**
+     * 批量缓存对象并设置相同的有效时间，一次pipeline
+     *
+     * @param values  键值对
+     * @param timeout 时间
+     * @param unit    时间颗粒度
+     */
+    public <T> void multiSet(final Map<String, T> values, final long timeout, final TimeUnit unit) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Pipelines.execute(redisTemplate, operations -> {
+            for (Map.Entry<String, T> entry : values.entrySet()) {
+                operations.opsForValue().set(entry.getKey(), entry.getValue(), timeout, unit);
+            }
+        }, values.size());
+    }
+
+    /**
+     * 批量缓存对象并按key设置有效时间，一次pipeline
+     *
+     * @param values   键值对
+     * @param timeouts 各key的有效时间，未包含的key不设置有效时间
+     */
+    public <T> void multiSet(final Map<String, T> values, final Map<String, Duration> timeouts) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Pipelines.execute(redisTemplate, operations -> {
+            for (Map.Entry<String, T> entry : values.entrySet()) {
+                Duration timeout = timeouts.get(entry.getKey());
+                if (timeout != null) {
+                    operations.opsForValue().set(entry.getKey(), entry.getValue(), timeout);
+                } else {
+                    operations.opsForValue().set(entry.getKey(), entry.getValue());
+                }
+            }
+        }, values.size());
+    }
+
+    /**
+     * 批量设置有效时间，一次pipeline
+     *
+     * @param keys    Redis键集合
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @return 与keys顺序一致的设置结果，key不存在时为false
+     */
+    public List<Boolean> multiExpire(final Collection<String> keys, final long timeout, final TimeUnit unit) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return toBooleans(Pipelines.execute(redisTemplate, operations -> {
+            for (String key : keys) {
+                operations.expire(key, timeout, unit);
+            }
+        }, keys.size()));
+    }
+
+    /**
+     * 批量判断key是否存在，一次pipeline
+     *
+     * @param keys Redis键集合
+     * @return 与keys顺序一致的判断结果
+     */
+    public List<Boolean> multiHasKey(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return toBooleans(Pipelines.execute(redisTemplate, operations -> {
+            for (String key : keys) {
+                operations.hasKey(key);
+            }
+        }, keys.size()));
+    }
+
+    private static List<Boolean> toBooleans(List<Object> results) {
+        List<Boolean> booleans = new ArrayList<>(results.size());
+        for (Object result : results) {
+            booleans.add(Boolean.TRUE.equals(result));
+        }
+        return booleans;
+    }
 }
@@ -0,0 +1,128 @@
+package com.windsurf.common.redis.cache;
+
+import com.windsurf.common.redis.properties.NearCacheProperties;
+import com.windsurf.common.redis.service.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NearCacheManagerTest {
+
+    private static final String TOPIC = "redis:near-cache:invalidate";
+
+    @Mock
+    private RedisService redisService;
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private RTopic topic;
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private NearCacheManager manager;
+    private NearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.getTopic(TOPIC, StringCodec.INSTANCE)).thenReturn(topic);
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(registry);
+        manager = new NearCacheManager(redisService, redissonClient, new NearCacheProperties(), meterRegistryProvider);
+        manager.init();
+        cache = manager.getCache("config");
+    }
+
+    private String remoteMessage(String key) {
+        return "other-node\nconfig\n" + System.currentTimeMillis() + "\n" + key;
+    }
+
+    private double invalidationCount() {
+        return registry.get("redis.near.cache.invalidation.latency").tag("cache", "config").timer().count();
+    }
+
+    @Test
+    void get_ShouldServeRepeatedReadsLocally() {
+        when(redisService.getCacheObject("config:site")).thenReturn("value");
+
+        assertEquals("value", cache.get("config:site"));
+        assertEquals("value", cache.get("config:site"));
+
+        verify(redisService, times(1)).getCacheObject("config:site");
+        assertEquals(1, registry.get("cache.gets").tags("cache", "config", "result", "hit").functionCounter().count());
+        assertSame(cache, manager.getCache("config"));
+    }
+
+    @Test
+    void put_ShouldWriteRedisAndBroadcastInvalidation() {
+        when(redisService.getCacheObject("config:site")).thenReturn("old");
+        cache.get("config:site");
+
+        cache.put("config:site", "new", 10, TimeUnit.MINUTES);
+
+        verify(redisService).setCacheObject("config:site", "new", 10L, TimeUnit.MINUTES);
+        assertEquals(0, cache.localSize());
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(topic).publish(message.capture());
+        assertTrue(message.getValue().endsWith("\nconfig:site"));
+
+        // 本节点发出的消息不重复处理
+        manager.onMessage(message.getValue());
+        assertEquals(0, invalidationCount());
+    }
+
+    @Test
+    void remoteInvalidation_ShouldEvictLocalEntry() {
+        when(redisService.getCacheObject("config:site")).thenReturn("old", "new");
+        cache.get("config:site");
+
+        manager.onMessage(remoteMessage("config:site"));
+        manager.onMessage("malformed");
+
+        assertEquals("new", cache.get("config:site"));
+        assertEquals(1, invalidationCount());
+    }
+
+    @Test
+    void get_ShouldNotCacheValueLoadedDuringInvalidation() {
+        when(redisService.getCacheObject("config:site")).thenAnswer(invocation -> {
+            manager.onMessage(remoteMessage("config:site"));
+            return "stale";
+        });
+
+        assertEquals("stale", cache.get("config:site"));
+        assertEquals(0, cache.localSize());
+    }
+
+    @Test
+    void resubscribe_ShouldClearLocalEntries() {
+        when(redisService.getCacheObject(anyString())).thenReturn("value");
+        cache.get("a");
+        cache.get("b");
+        ArgumentCaptor<StatusListener> listener = ArgumentCaptor.forClass(StatusListener.class);
+        verify(topic).addListener(listener.capture());
+
+        listener.getValue().onSubscribe(TOPIC);
+
+        assertEquals(0, cache.localSize());
+    }
+}
@@ -0,0 +1,218 @@
+package com.windsurf.common.redis.cache;
+
+import com.windsurf.common.redis.properties.RedisSerializerProperties.Format;
+import com.windsurf.common.redis.properties.SingleFlightProperties;
+import com.windsurf.common.redis.serializer.CompactRedisSerializer;
+import com.windsurf.common.redis.service.RedisService;
+import com.windsurf.common.redis.util.RedisLockUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.redisson.api.RLock;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SingleFlightCacheTest {
+
+    @Mock
+    private RedisService redisService;
+    @Mock
+    private RedisLockUtil redisLockUtil;
+    @Mock
+    private RLock lock;
+    @Mock
+    private ObjectProvider<RedisLockUtil> redisLockUtilProvider;
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlightProperties properties = new SingleFlightProperties();
+    /**
+     * 模拟Redis，值经过序列化器往返，与实际存储一致
+     */
+    private final Map<String, byte[]> redis = new ConcurrentHashMap<>();
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(Format.SMILE, 0);
+    private SingleFlightCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(redisService.getCacheObject(anyString()))
+                .thenAnswer(invocation -> serializer.deserialize(redis.get(invocation.<String>getArgument(0))));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), serializer.serialize(invocation.getArgument(1))))
+                .when(redisService).setCacheObject(anyString(), any(), anyLong(), any(TimeUnit.class));
+        when(redisLockUtilProvider.getIfAvailable()).thenReturn(redisLockUtil);
+        when(redisLockUtil.getLock(anyString())).thenReturn(lock);
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(registry);
+        properties.setEarlyRefreshBeta(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.destroy();
+        }
+    }
+
+    private SingleFlightCache cache() {
+        cache = new SingleFlightCache(redisService, redisLockUtilProvider, properties, meterRegistryProvider);
+        return cache;
+    }
+
+    private double outcome(String outcome) {
+        return registry.get("redis.single.flight.requests").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void concurrentMisses_ShouldLoadOnce() throws Exception {
+        SingleFlightCache cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> cache.get("config", Duration.ofMinutes(1), () -> {
+                    loads.incrementAndGet();
+                    await(loading);
+                    return "value";
+                })));
+            }
+            // 等待所有线程进入回源或等待状态后再放行
+            Thread.sleep(200);
+            loading.countDown();
+            for (Future<String> future : futures) {
+                assertEquals("value", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals("value", cache.get("config", Duration.ofMinutes(1), () -> "other"));
+        assertEquals(1, outcome("hit"));
+    }
+
+    @Test
+    void expiredEntry_ShouldServeStaleAndRefreshInBackground() throws Exception {
+        SingleFlightCache cache = cache();
+        cache.get("config", Duration.ofMillis(1), () -> "old");
+        Thread.sleep(10);
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        String value = cache.get("config", Duration.ofMinutes(1), () -> {
+            refreshed.countDown();
+            return "new";
+        });
+
+        assertEquals("old", value);
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"new".equals(cache.get("config", Duration.ofMinutes(1), () -> "unexpected"))) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+        assertEquals(1, outcome("stale"));
+    }
+
+    @Test
+    void earlyRefresh_ShouldRefreshBeforeExpiry() throws Exception {
+        properties.setEarlyRefreshBeta(1e9);
+        SingleFlightCache cache = cache();
+        // 回源耗时乘以极大的系数，下一次读取必然触发提前刷新
+        cache.get("config", Duration.ofMinutes(1), () -> {
+            sleep(5);
+            return "old";
+        });
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        assertEquals("old", cache.get("config", Duration.ofMinutes(1), () -> {
+            refreshed.countDown();
+            return "new";
+        }));
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, outcome("early_refresh"));
+    }
+
+    @Test
+    void nullValues_ShouldBeCached() {
+        SingleFlightCache cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get("missing", Duration.ofMinutes(1), () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.get("missing", Duration.ofMinutes(1), () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void distributedLock_ShouldUseValueLoadedByOtherNode() throws Exception {
+        properties.setDistributedLock(true);
+        SingleFlightCache cache = cache();
+        // 其他节点持有锁并在等待期间写入
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> {
+            new SingleFlightCache(redisService, redisLockUtilProvider, new SingleFlightProperties(),
+                    meterRegistryProvider).get("config", Duration.ofMinutes(1), () -> "other-node");
+            return false;
+        });
+
+        assertEquals("other-node", cache.get("config", Duration.ofMinutes(1), () -> "this-node"));
+        verify(redisLockUtil, never()).unlock(any(RLock.class));
+    }
+
+    @Test
+    void distributedLock_ShouldLoadUnderLock() throws Exception {
+        properties.setDistributedLock(true);
+        SingleFlightCache cache = cache();
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+
+        assertEquals("value", cache.get("config", Duration.ofMinutes(1), () -> "value"));
+        verify(redisLockUtil).getLock("lock:single-flight:config");
+        verify(redisLockUtil).unlock(lock);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
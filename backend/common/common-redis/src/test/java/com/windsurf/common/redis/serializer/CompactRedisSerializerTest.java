@@ -0,0 +1,96 @@
+package com.windsurf.common.redis.serializer;
+
+import com.windsurf.common.core.json.JsonMappers;
+import com.windsurf.common.redis.properties.RedisSerializerProperties.Format;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRedisSerializerTest {
+
+    static class CachedUser {
+        private Long id;
+        private String username;
+        private LocalDateTime lastLogin;
+        private List<String> roles;
+    }
+
+    private static List<CachedUser> users(int count) {
+        List<CachedUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CachedUser user = new CachedUser();
+            user.id = (long) i;
+            user.username = "user" + i;
+            user.lastLogin = LocalDateTime.of(2023, 11, 14, 22, 13, 20).plusMinutes(i);
+            user.roles = new ArrayList<>(List.of("ROLE_USER"));
+            users.add(user);
+        }
+        return users;
+    }
+
+    @Test
+    void smile_ShouldRoundTripWithHeader() {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(Format.SMILE, 0);
+        List<CachedUser> value = users(3);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertEquals(CompactRedisSerializer.VERSION_1, bytes[0]);
+        List<?> restored = assertInstanceOf(List.class, serializer.deserialize(bytes));
+        assertEquals(3, restored.size());
+        CachedUser user = assertInstanceOf(CachedUser.class, restored.get(2));
+        assertEquals(2L, user.id);
+        assertEquals("user2", user.username);
+        assertEquals(value.get(2).lastLogin, user.lastLogin);
+        assertEquals(List.of("ROLE_USER"), user.roles);
+    }
+
+    @Test
+    void smile_ShouldBeSmallerThanJson() throws Exception {
+        List<CachedUser> value = users(50);
+
+        byte[] json = JsonMappers.redis().writeValueAsBytes(value);
+        byte[] smile = new CompactRedisSerializer(Format.SMILE, 0).serialize(value);
+        byte[] compressed = new CompactRedisSerializer(Format.SMILE, 256).serialize(value);
+
+        assertTrue(smile.length < json.length * 7 / 10, smile.length + " vs " + json.length);
+        assertEquals(CompactRedisSerializer.VERSION_1 | CompactRedisSerializer.FLAG_LZ4, compressed[0]);
+        assertTrue(compressed.length < smile.length);
+        assertEquals(50, ((List<?>) new CompactRedisSerializer(Format.SMILE, 0).deserialize(compressed)).size());
+    }
+
+    @Test
+    void shouldReadLegacyJsonValues() throws Exception {
+        byte[] legacy = JsonMappers.redis().writeValueAsBytes(users(1));
+        CompactRedisSerializer serializer = new CompactRedisSerializer(Format.SMILE, 1024);
+
+        List<?> restored = assertInstanceOf(List.class, serializer.deserialize(legacy));
+        assertEquals("user0", assertInstanceOf(CachedUser.class, restored.get(0)).username);
+        assertEquals("text", serializer.deserialize(JsonMappers.redis().writeValueAsBytes("text")));
+    }
+
+    @Test
+    void jsonFormat_ShouldWriteLegacyBytes() throws Exception {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(Format.JSON, 1);
+        List<CachedUser> value = users(2);
+
+        assertArrayEquals(JsonMappers.redis().writeValueAsBytes(value), serializer.serialize(value));
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(new byte[0]));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    void shouldRejectUnknownHeader() {
+        CompactRedisSerializer serializer = new CompactRedisSerializer(Format.SMILE, 0);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{0x12, 0x00}));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{0x01, 0x00}));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{0x11, 0x00}));
+    }
+}
@@ -0,0 +1,70 @@
+package com.windsurf.common.redis.service;
+
+import com.windsurf.common.redis.properties.RedisScanProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReactiveRedisServiceTest {
+
+    @Mock
+    private ReactiveRedisOperations<String, Object> redisTemplate;
+    @Mock
+    private ReactiveHashOperations<String, Object, Object> hashOperations;
+
+    private final RedisScanProperties scanProperties = new RedisScanProperties();
+    private ReactiveRedisService redisService;
+
+    @BeforeEach
+    void setUp() {
+        redisService = new ReactiveRedisService(redisTemplate, scanProperties);
+    }
+
+    @Test
+    void getCacheMap_ShouldCollectEntries() {
+        when(redisTemplate.opsForHash()).thenAnswer(invocation -> hashOperations);
+        when(hashOperations.entries("user:1")).thenReturn(Flux.just(Map.entry("name", "admin"), Map.entry("age", 18)));
+
+        Map<String, Object> map = redisService.<Object>getCacheMap("user:1").block();
+
+        assertEquals(Map.of("name", "admin", "age", 18), map);
+    }
+
+    @Test
+    void deleteByPattern_ShouldUnlinkScannedKeysInBatches() {
+        scanProperties.setUnlinkBatchSize(2);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(Flux.just("a", "b", "c", "d", "e"));
+        List<List<String>> batches = new ArrayList<>();
+        when(redisTemplate.unlink(ArgumentMatchers.<String>any())).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            String[] keys = Arrays.copyOf(arguments, arguments.length, String[].class);
+            batches.add(List.of(keys));
+            return Mono.just((long) keys.length);
+        });
+
+        assertEquals(5L, redisService.deleteByPattern("*").block());
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), batches);
+        verify(redisTemplate).scan(argThat(options -> "*".equals(options.getPattern()) && options.getCount() == 1000));
+    }
+}
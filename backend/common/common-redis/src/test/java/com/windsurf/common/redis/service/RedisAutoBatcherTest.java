@@ -0,0 +1,127 @@
+package com.windsurf.common.redis.service;
+
+import com.windsurf.common.redis.properties.RedisBatchProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisAutoBatcherTest {
+
+    private final AtomicInteger pipelines = new AtomicInteger();
+
+    /**
+     * 模拟pipeline：GET key 返回 "v:" + key
+     */
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, Object> template() {
+        RedisTemplate<String, Object> template = mock(RedisTemplate.class);
+        when(template.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            pipelines.incrementAndGet();
+            List<Object> results = new ArrayList<>();
+            RedisOperations<String, Object> operations = mock(RedisOperations.class);
+            ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+            when(operations.opsForValue()).thenReturn(valueOperations);
+            when(valueOperations.get(anyString())).thenAnswer(get -> {
+                results.add("v:" + get.getArgument(0));
+                return null;
+            });
+            invocation.<SessionCallback<Object>>getArgument(0).execute(operations);
+            return results;
+        });
+        return template;
+    }
+
+    private static RedisBatchProperties properties(Duration window) {
+        RedisBatchProperties properties = new RedisBatchProperties();
+        properties.setEnabled(true);
+        properties.setWindow(window);
+        return properties;
+    }
+
+    @Test
+    void shouldMergeConcurrentCallsIntoOnePipeline() throws Exception {
+        RedisAutoBatcher batcher = new RedisAutoBatcher(template(), properties(Duration.ofMillis(500)));
+        batcher.start();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String key = "key" + i;
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return batcher.execute(operations -> operations.opsForValue().get(key));
+                }));
+            }
+            for (int i = 0; i < threads; i++) {
+                assertEquals("v:key" + i, futures.get(i).get());
+            }
+            assertTrue(pipelines.get() < threads, "pipelines: " + pipelines.get());
+        } finally {
+            executor.shutdownNow();
+            batcher.stop();
+        }
+    }
+
+    @Test
+    void shouldRespectMaxBatchSize() {
+        RedisBatchProperties properties = properties(Duration.ofSeconds(10));
+        properties.setMaxBatchSize(1);
+        RedisAutoBatcher batcher = new RedisAutoBatcher(template(), properties);
+        batcher.start();
+        try {
+            // 批大小为1时不等待时间窗口
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertEquals("v:a", batcher.execute(operations -> operations.opsForValue().get("a")));
+                assertEquals("v:b", batcher.execute(operations -> operations.opsForValue().get("b")));
+            });
+            assertEquals(2, pipelines.get());
+        } finally {
+            batcher.stop();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPropagatePipelineFailure() {
+        RedisTemplate<String, Object> template = mock(RedisTemplate.class);
+        when(template.executePipelined(any(SessionCallback.class))).thenThrow(new QueryTimeoutException("timeout"));
+        RedisAutoBatcher batcher = new RedisAutoBatcher(template, properties(Duration.ofNanos(50_000)));
+        batcher.start();
+        try {
+            assertThrows(QueryTimeoutException.class,
+                    () -> batcher.execute(operations -> operations.opsForValue().get("a")));
+        } finally {
+            batcher.stop();
+        }
+    }
+
+    @Test
+    void shouldExecuteDirectlyAfterStop() {
+        RedisAutoBatcher batcher = new RedisAutoBatcher(template(), properties(Duration.ofNanos(50_000)));
+        batcher.start();
+        batcher.stop();
+
+        assertEquals("v:a", batcher.execute(operations -> operations.opsForValue().get("a")));
+    }
+}
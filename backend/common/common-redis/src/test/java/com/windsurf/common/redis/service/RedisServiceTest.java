@@ -0,0 +1,83 @@
+package com.windsurf.common.redis.service;
+
+import com.windsurf.common.redis.properties.RedisBatchProperties;
+import com.windsurf.common.redis.properties.RedisScanProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RedisServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private Cursor<String> cursor;
+    @Spy
+    private RedisBatchProperties batchProperties = new RedisBatchProperties();
+    @Spy
+    private RedisScanProperties scanProperties = new RedisScanProperties();
+    @InjectMocks
+    private RedisService redisService;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+    }
+
+    private void cursorOf(String... keys) {
+        List<String> list = List.of(keys);
+        int[] position = {0};
+        when(cursor.hasNext()).thenAnswer(invocation -> position[0] < list.size());
+        when(cursor.next()).thenAnswer(invocation -> list.get(position[0]++));
+        doCallRealMethod().when(cursor).forEachRemaining(any());
+    }
+
+    @Test
+    void keys_ShouldScanInsteadOfKeys() {
+        cursorOf("user:1", "user:2", "user:1");
+
+        Collection<String> keys = redisService.keys("user:*");
+
+        assertEquals(List.of("user:1", "user:2"), new ArrayList<>(keys));
+        verify(redisTemplate).scan(argThat(options -> "user:*".equals(options.getPattern())
+                && options.getCount() == 1000));
+        verify(redisTemplate, never()).keys(anyString());
+        verify(cursor).close();
+    }
+
+    @Test
+    void deleteByPattern_ShouldUnlinkInBatches() {
+        scanProperties.setUnlinkBatchSize(2);
+        cursorOf("a", "b", "c", "d", "e");
+        List<List<String>> batches = new ArrayList<>();
+        when(redisTemplate.unlink(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            batches.add(new ArrayList<>(keys));
+            return (long) keys.size();
+        });
+
+        assertEquals(5, redisService.deleteByPattern("*"));
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), batches);
+        verify(redisTemplate, never()).delete(anyCollection());
+        verify(cursor).close();
+    }
+}
@@ -0,0 +1,55 @@
+package com.windsurf.common.security.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 缓存中的用户认证信息快照
+ * <p>
+ * 缓存快照而不是 {@link UserDetails}：认证成功后 Spring Security 会擦除 UserDetails 中的密码，
+ * 共享同一个实例会破坏缓存。每次读取时基于快照构建新的 UserDetails。
+ * <p>
+ * 快照不包含密码：缓存只用于token认证，不校验密码，避免密码哈希写入共享的Redis。
+ * 登录时的密码校验直接查询数据库。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CachedUserDetails implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String username;
+
+    private boolean enabled;
+
+    private List<String> roles;
+
+    public static CachedUserDetails from(User user) {
+        List<String> roles = new ArrayList<>();
+        if (user.getRoles() != null) {
+            for (String role : user.getRoles().split(",")) {
+                if (!role.isEmpty()) {
+                    roles.add(role);
+                }
+            }
+        }
+        return new CachedUserDetails(user.getUsername(), Boolean.TRUE.equals(user.getEnabled()), roles);
+    }
+
+    public UserDetails toUserDetails() {
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (String role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role));
+        }
+        return new org.springframework.security.core.userdetails.User(username, "", authorities);
+    }
+}
@@ -1,14 +1,23 @@
 package com.windsurf.common.security.filter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.windsurf.common.security.properties.SecurityProperties;
+import com.windsurf.common.security.service.TokenRevocationChecker;
+import com.windsurf.common.security.util.ClaimsEnvelope;
 import com.windsurf.common.security.util.JwtUtils;
-import lombok.RequiredArgsConstructor;
+import com.windsurf.common.security.util.ParsedToken;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import javax.servlet.FilterChain;
@@ -16,33 +25,66 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * JWT认证过滤器
+ * <p>
+ * 默认通过 {@link UserDetailsService} 加载用户权限；开启 {@code security.jwt.claims-trusted.enabled}
+ * 后直接基于验签后的声明构建认证信息，请求处理过程中不访问数据库。
+ * 配置 {@code security.jwt.envelope-secret} 后信任网关转发的声明信封，跳过JWT验签。
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
     private final JwtUtils jwtUtils;
+    private final SecurityProperties.ClaimsTrustedProperties claimsTrusted;
+    private final TokenRevocationChecker revocationChecker;
+    private final String envelopeSecret;
+    /**
+     * 注销检查结果缓存，key为token标识
+     */
+    private final Cache<String, Boolean> revocationCache;
+
+    public JwtAuthenticationFilter(UserDetailsService userDetailsService,
+                                   JwtUtils jwtUtils,
+                                   SecurityProperties securityProperties,
+                                   ObjectProvider<TokenRevocationChecker> revocationCheckerProvider) {
+        this.userDetailsService = userDetailsService;
+        this.jwtUtils = jwtUtils;
+        this.claimsTrusted = securityProperties.getJwt().getClaimsTrusted();
+        this.envelopeSecret = StringUtils.hasText(securityProperties.getJwt().getEnvelopeSecret())
+                ? securityProperties.getJwt().getEnvelopeSecret()
+                : null;
+        this.revocationChecker = claimsTrusted.isRevocationCheck()
+                ? revocationCheckerProvider.getIfAvailable()
+                : null;
+        this.revocationCache = revocationChecker != null && claimsTrusted.getRevocationCacheTtl() > 0
+                ? Caffeine.newBuilder()
+                    .maximumSize(claimsTrusted.getRevocationCacheMaximumSize())
+                    .expireAfterWrite(claimsTrusted.getRevocationCacheTtl(), TimeUnit.SECONDS)
+                    .build()
+                : null;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         try {
-            String authorizationHeader = request.getHeader("Authorization");
-
-            if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
-                chain.doFilter(request, response);
-                return;
-            }
-
-            String jwt = authorizationHeader.substring(7);
-            String username = jwtUtils.getClaimsFromToken(jwt).getSubject();
+            ParsedToken parsedToken = resolveToken(request);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (parsedToken != null && parsedToken.getUsername() != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null
+                    && parsedToken.isValid()) {
+                UserDetails userDetails = claimsTrusted.isEnabled()
+                        ? loadFromClaims(parsedToken)
+                        : userDetailsService.loadUserByUsername(parsedToken.getUsername());
 
-                if (jwtUtils.validateToken(jwt)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -55,4 +97,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
+
+    /**
+     * 优先使用网关签发的声明信封，否则解析Authorization头中的JWT，整个请求只解析、验签一次
+     */
+    private ParsedToken resolveToken(HttpServletRequest request) {
+        if (envelopeSecret != null) {
+            String envelope = request.getHeader(ClaimsEnvelope.HEADER);
+            if (envelope != null) {
+                ParsedToken parsedToken = ClaimsEnvelope.verify(envelope, envelopeSecret);
+                if (parsedToken != null) {
+                    return parsedToken;
+                }
+            }
+        }
+
+        String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        return jwtUtils.parseToken(authorizationHeader.substring(7));
+    }
+
+    /**
+     * 基于声明构建用户信息，token已被注销时返回null
+     */
+    private UserDetails loadFromClaims(ParsedToken parsedToken) {
+        if (isRevoked(parsedToken)) {
+            log.debug("Rejected revoked token for user {}", parsedToken.getUsername());
+            return null;
+        }
+
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>(parsedToken.getRoles().size());
+        for (String role : parsedToken.getRoles()) {
+            if (!role.isEmpty()) {
+                authorities.add(new SimpleGrantedAuthority(role));
+            }
+        }
+        return new User(parsedToken.getUsername(), "", authorities);
+    }
+
+    private boolean isRevoked(ParsedToken parsedToken) {
+        if (revocationChecker == null) {
+            return false;
+        }
+        if (revocationCache == null) {
+            return revocationChecker.isRevoked(parsedToken);
+        }
+        return revocationCache.get(parsedToken.getTokenId(), key -> revocationChecker.isRevoked(parsedToken));
+    }
 }
@@ -13,6 +13,7 @@ public class SecurityProperties {
     
     private JwtProperties jwt = new JwtProperties();
     private IgnoreProperties ignore = new IgnoreProperties();
+    private UserCacheProperties userCache = new UserCacheProperties();
 
     @Data
     public static class JwtProperties {
@@ -20,10 +21,89 @@ public class SecurityProperties {
         private long expiration = 86400; // 24小时
         private String tokenPrefix = "Bearer ";
         private String header = "Authorization";
+        private TokenCacheProperties cache = new TokenCacheProperties();
+        private ClaimsTrustedProperties claimsTrusted = new ClaimsTrustedProperties();
+        private BlacklistProperties blacklist = new BlacklistProperties();
+        /**
+         * 网关声明信封的HMAC密钥，配置后信任网关转发的 X-Auth-Claims，不再校验JWT签名
+         */
+        private String envelopeSecret;
+    }
+
+    @Data
+    public static class TokenCacheProperties {
+        /**
+         * 是否缓存验签后的token
+         */
+        private boolean enabled = true;
+        /**
+         * 最大缓存条目数
+         */
+        private long maximumSize = 10000;
+        /**
+         * 单个条目最长缓存时间（秒），实际过期时间不超过token的exp
+         */
+        private long maxTtl = 300;
+    }
+
+    @Data
+    public static class ClaimsTrustedProperties {
+        /**
+         * 是否直接基于验签后的JWT声明构建认证信息，不再查询用户表
+         */
+        private boolean enabled = false;
+        /**
+         * 是否检查token是否已被注销
+         */
+        private boolean revocationCheck = true;
+        /**
+         * 注销检查结果的缓存时间（秒），0表示每次请求都检查
+         */
+        private long revocationCacheTtl = 5;
+        /**
+         * 注销检查结果的最大缓存条目数
+         */
+        private long revocationCacheMaximumSize = 10000;
+    }
+
+    @Data
+    public static class BlacklistProperties {
+        /**
+         * 单个布隆过滤器周期（一个token有效期）内预计注销的token数量
+         */
+        private int expectedInsertions = 100000;
+        /**
+         * 布隆过滤器误判率，误判时回查Redis
+         */
+        private double falsePositiveProbability = 0.01;
+        /**
+         * 从Redis全量同步黑名单的间隔（秒），用于补偿丢失的订阅消息
+         */
+        private long resyncInterval = 300;
     }
 
     @Data
     public static class IgnoreProperties {
         private List<String> urls;
     }
+
+    @Data
+    public static class UserCacheProperties {
+        /**
+         * 是否缓存用户认证信息
+         */
+        private boolean enabled = true;
+        /**
+         * 本地缓存最大条目数
+         */
+        private long localMaximumSize = 10000;
+        /**
+         * 本地缓存有效期（秒），其他节点修改用户后最长在此时间内可见
+         */
+        private long localTtl = 60;
+        /**
+         * Redis缓存有效期（秒），未调用 evictUser 的用户变更（如直接修改数据库禁用用户）最长在此时间后生效
+         */
+        private long redisTtl = 300;
+    }
 }
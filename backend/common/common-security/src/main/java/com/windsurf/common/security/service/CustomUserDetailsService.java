@@ -1,58 +1,161 @@
 package com.windsurf.common.security.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.windsurf.common.redis.service.RedisService;
+import com.windsurf.common.security.entity.CachedUserDetails;
 import com.windsurf.common.security.entity.User;
 import com.windsurf.common.security.mapper.UserMapper;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.windsurf.common.security.properties.SecurityProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 用户认证信息查询
+ * <p>
+ * 两级缓存：本地Caffeine缓存 + Redis（存在 {@link RedisService} 时启用），未命中时查询数据库。
+ * 用户状态、角色或密码变更后需调用 {@link #evictUser(String)}，否则最长在本地和Redis缓存有效期之后生效。
+ * 返回的 UserDetails 不包含密码，不能用于密码认证。
+ */
+@Slf4j
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final String CACHE_NAME = "userDetails";
+    private static final String REDIS_KEY_PREFIX = "security:user:details:";
+
     private final UserMapper userMapper;
+    private final SecurityProperties.UserCacheProperties cacheProperties;
+    private final RedisService redisService;
+    private final Cache<String, CachedUserDetails> localCache;
+    private final Timer redisLoadTimer;
+    private final Timer databaseLoadTimer;
 
     public CustomUserDetailsService(UserMapper userMapper) {
+        this(userMapper, null, null, null);
+    }
+
+    @Autowired
+    public CustomUserDetailsService(UserMapper userMapper,
+                                    SecurityProperties securityProperties,
+                                    ObjectProvider<RedisService> redisServiceProvider,
+                                    ObjectProvider<MeterRegistry> meterRegistryProvider) {
         this.userMapper = userMapper;
+        this.cacheProperties = securityProperties != null
+                ? securityProperties.getUserCache()
+                : new SecurityProperties.UserCacheProperties();
+        this.redisService = redisServiceProvider != null ? redisServiceProvider.getIfAvailable() : null;
+        MeterRegistry registry = meterRegistryProvider != null
+                ? meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry)
+                : Metrics.globalRegistry;
+
+        if (cacheProperties.isEnabled()) {
+            this.localCache = Caffeine.newBuilder()
+                    .maximumSize(cacheProperties.getLocalMaximumSize())
+                    .expireAfterWrite(cacheProperties.getLocalTtl(), TimeUnit.SECONDS)
+                    .recordStats()
+                    .build();
+            // 暴露 cache.gets{result=hit|miss}、cache.load.duration 等指标
+            CaffeineCacheMetrics.monitor(registry, localCache, CACHE_NAME);
+        } else {
+            this.localCache = null;
+        }
+        this.redisLoadTimer = Timer.builder("security.user.details.load")
+                .description("User details load latency on local cache miss")
+                .tag("source", "redis")
+                .register(registry);
+        this.databaseLoadTimer = Timer.builder("security.user.details.load")
+                .description("User details load latency on local cache miss")
+                .tag("source", "database")
+                .register(registry);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // 从数据库中查询用户信息
-        User user = userMapper.selectOne(
-            new LambdaQueryWrapper<User>()
-                .eq(User::getUsername, username)
-        );
-
-        if (user == null) {
-            throw new UsernameNotFoundException("用户不存在: " + username);
-        }
+        CachedUserDetails user = localCache != null
+                ? localCache.get(username, this::loadFromRemote)
+                : loadFromDatabase(username);
 
-        if (!user.getEnabled()) {
+        if (!user.isEnabled()) {
             throw new UsernameNotFoundException("用户已被禁用: " + username);
         }
 
-        // 解析用户角色
-        List<SimpleGrantedAuthority> authorities = Collections.emptyList();
-        if (StringUtils.hasText(user.getRoles())) {
-            authorities = Arrays.stream(user.getRoles().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        // 构建并返回UserDetails对象
+        return user.toUserDetails();
+    }
+
+    /**
+     * 清除用户缓存，用户状态、角色或密码变更后调用
+     *
+     * @param username 用户名
+     */
+    public void evictUser(String username) {
+        if (localCache != null) {
+            localCache.invalidate(username);
+        }
+        if (redisService != null) {
+            try {
+                redisService.deleteObject(REDIS_KEY_PREFIX + username);
+            } catch (Exception e) {
+                log.warn("Failed to evict cached user details for {}: {}", username, e.getMessage());
+            }
         }
+    }
 
-        // 构建并返回UserDetails对象
-        return new org.springframework.security.core.userdetails.User(
-            user.getUsername(),
-            user.getPassword(),
-            authorities
-        );
+    private CachedUserDetails loadFromRemote(String username) {
+        if (redisService != null) {
+            long start = System.nanoTime();
+            try {
+                CachedUserDetails cached = redisService.getCacheObject(REDIS_KEY_PREFIX + username);
+                if (cached != null) {
+                    redisLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return cached;
+                }
+            } catch (Exception e) {
+                // Redis不可用时直接回源数据库
+                log.warn("Failed to read cached user details for {}: {}", username, e.getMessage());
+            }
+        }
+
+        CachedUserDetails user = loadFromDatabase(username);
+        if (redisService != null) {
+            try {
+                redisService.setCacheObject(REDIS_KEY_PREFIX + username, user,
+                        cacheProperties.getRedisTtl(), TimeUnit.SECONDS);
+            } catch (Exception e) {
+                log.warn("Failed to cache user details for {}: {}", username, e.getMessage());
+            }
+        }
+        return user;
+    }
+
+    private CachedUserDetails loadFromDatabase(String username) {
+        long start = System.nanoTime();
+        try {
+            // 从数据库中查询用户信息
+            User user = userMapper.selectOne(
+                new LambdaQueryWrapper<User>()
+                    .eq(User::getUsername, username)
+            );
+
+            if (user == null) {
+                throw new UsernameNotFoundException("用户不存在: " + username);
+            }
+            return CachedUserDetails.from(user);
+        } finally {
+            databaseLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
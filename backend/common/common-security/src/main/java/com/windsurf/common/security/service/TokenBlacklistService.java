@@ -0,0 +1,222 @@
+package com.windsurf.common.security.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.windsurf.common.redis.service.RedisService;
+import com.windsurf.common.security.properties.SecurityProperties;
+import com.windsurf.common.security.util.JwtUtils;
+import com.windsurf.common.security.util.ParsedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.StatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * token黑名单
+ * <p>
+ * Redis中以 {@code token:revoked:<jti>} 保存已注销的token，过期时间与token的exp一致。
+ * 本地布隆过滤器保存全部已注销的token标识，未命中即可判定未注销，无需访问Redis；
+ * 命中时回查Redis排除误判。各节点通过Redis订阅同步新注销的token，并定期全量同步补偿丢失的消息。
+ * <p>
+ * 布隆过滤器无法删除元素，按token有效期轮换：新元素写入当前代，查询同时检查上一代，
+ * 轮换两次后元素对应的token必然已过期。
+ * <p>
+ * 旧版本登出写入的 {@code token:blacklist:<完整token>} 在启动后一个token有效期内随全量同步迁移为
+ * {@code token:revoked:<摘要>}，旧token没有jti，摘要即其标识。
+ */
+@Slf4j
+@Component
+@ConditionalOnClass(name = {"com.windsurf.common.redis.service.RedisService", "org.redisson.api.RedissonClient"})
+public class TokenBlacklistService implements TokenRevocationChecker {
+
+    public static final String REVOKED_KEY_PREFIX = "token:revoked:";
+    public static final String REVOKED_TOPIC = "security:token:revoked";
+    /**
+     * 旧版本黑名单key前缀，值为完整token
+     */
+    public static final String LEGACY_KEY_PREFIX = "token:blacklist:";
+
+    private final RedisService redisService;
+    private final RedissonClient redissonClient;
+    private final SecurityProperties.BlacklistProperties properties;
+    private final long generationMillis;
+    /**
+     * 迁移旧黑名单的截止时间，之后旧token均已过期
+     */
+    private final long legacyMigrationDeadline;
+
+    private volatile BloomFilter<CharSequence> current;
+    private volatile BloomFilter<CharSequence> previous;
+    private volatile long currentCreatedAt;
+    /**
+     * 是否已完成全量同步，未同步前直接查询Redis
+     */
+    private volatile boolean synced;
+
+    private RTopic topic;
+    private int messageListenerId = -1;
+    private int statusListenerId = -1;
+    private ScheduledExecutorService scheduler;
+
+    public TokenBlacklistService(RedisService redisService, RedissonClient redissonClient,
+                                 SecurityProperties securityProperties) {
+        this.redisService = redisService;
+        this.redissonClient = redissonClient;
+        this.properties = securityProperties.getJwt().getBlacklist();
+        this.generationMillis = TimeUnit.SECONDS.toMillis(Math.max(1, securityProperties.getJwt().getExpiration()));
+        this.current = newFilter();
+        this.previous = newFilter();
+        this.currentCreatedAt = System.currentTimeMillis();
+        this.legacyMigrationDeadline = currentCreatedAt + generationMillis;
+    }
+
+    @PostConstruct
+    public void init() {
+        topic = redissonClient.getTopic(REVOKED_TOPIC, StringCodec.INSTANCE);
+        messageListenerId = topic.addListener(String.class, (channel, tokenId) -> put(tokenId));
+        // 重新订阅后消息可能已丢失，立即全量同步
+        statusListenerId = topic.addListener(new StatusListener() {
+            @Override
+            public void onSubscribe(String channel) {
+                if (scheduler != null) {
+                    scheduler.execute(TokenBlacklistService.this::resync);
+                }
+            }
+
+            @Override
+            public void onUnsubscribe(String channel) {
+            }
+        });
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("token-blacklist-sync")
+                .setDaemon(true)
+                .build());
+        scheduler.scheduleWithFixedDelay(this::resync, 0, properties.getResyncInterval(), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (topic != null) {
+            topic.removeListener(messageListenerId, statusListenerId);
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 注销token，token过期后黑名单条目自动删除
+     *
+     * @param token 已验签的token
+     */
+    public void revoke(ParsedToken token) {
+        long ttl = token.getExpirationMillis() == Long.MAX_VALUE
+                ? generationMillis
+                : token.getExpirationMillis() - System.currentTimeMillis();
+        if (ttl <= 0) {
+            return;
+        }
+        redisService.setCacheObject(REVOKED_KEY_PREFIX + token.getTokenId(), 1, ttl, TimeUnit.MILLISECONDS);
+        put(token.getTokenId());
+        topic.publish(token.getTokenId());
+    }
+
+    @Override
+    public boolean isRevoked(ParsedToken token) {
+        String tokenId = token.getTokenId();
+        if (synced && !mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisService.hasKey(REVOKED_KEY_PREFIX + tokenId));
+        } catch (Exception e) {
+            log.warn("Token revocation check failed: {}", e.getMessage());
+            // 布隆过滤器命中时按已注销处理，未同步时放行
+            return synced;
+        }
+    }
+
+    /**
+     * 从Redis全量加载黑名单，只追加不清除，避免与同时到达的订阅消息竞争
+     */
+    void resync() {
+        if (System.currentTimeMillis() < legacyMigrationDeadline) {
+            migrateLegacy();
+        }
+        try {
+            long count = 0;
+            for (String key : redissonClient.getKeys().getKeysByPattern(REVOKED_KEY_PREFIX + "*", 1000)) {
+                put(key.substring(REVOKED_KEY_PREFIX.length()));
+                count++;
+            }
+            synced = true;
+            log.debug("Synchronized {} revoked tokens", count);
+        } catch (Exception e) {
+            log.warn("Failed to synchronize token blacklist: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 旧黑名单迁移为按摘要保存；旧版本按秒写入了毫秒数的过期时间，迁移时不超过一个token有效期
+     */
+    void migrateLegacy() {
+        try {
+            long count = 0;
+            for (String key : redissonClient.getKeys().getKeysByPattern(LEGACY_KEY_PREFIX + "*", 1000)) {
+                String tokenId = JwtUtils.digest(key.substring(LEGACY_KEY_PREFIX.length()));
+                long expire = redisService.getExpire(key);
+                long ttl = expire > 0 ? Math.min(TimeUnit.SECONDS.toMillis(expire), generationMillis) : generationMillis;
+                redisService.setCacheObject(REVOKED_KEY_PREFIX + tokenId, 1, ttl, TimeUnit.MILLISECONDS);
+                put(tokenId);
+                redisService.deleteObject(key);
+                count++;
+            }
+            if (count > 0) {
+                log.info("Migrated {} legacy blacklisted tokens", count);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to migrate legacy token blacklist: {}", e.getMessage());
+        }
+    }
+
+    void put(String tokenId) {
+        rotateIfNecessary();
+        current.put(tokenId);
+    }
+
+    private boolean mightContain(String tokenId) {
+        rotateIfNecessary();
+        return current.mightContain(tokenId) || previous.mightContain(tokenId);
+    }
+
+    private void rotateIfNecessary() {
+        if (System.currentTimeMillis() - currentCreatedAt < generationMillis) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (now - currentCreatedAt >= generationMillis) {
+                previous = current;
+                current = newFilter();
+                currentCreatedAt = now;
+            }
+        }
+    }
+
+    private BloomFilter<CharSequence> newFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                properties.getExpectedInsertions(), properties.getFalsePositiveProbability());
+    }
+}
@@ -0,0 +1,17 @@
+package com.windsurf.common.security.service;
+
+import com.windsurf.common.security.util.ParsedToken;
+
+/**
+ * token注销检查
+ * <p>
+ * 信任JWT声明的无状态认证模式下，用于拒绝已登出的token。
+ */
+public interface TokenRevocationChecker {
+
+    /**
+     * @param token 已验签的token
+     * @return token是否已被注销
+     */
+    boolean isRevoked(ParsedToken token);
+}
@@ -0,0 +1,82 @@
+package com.windsurf.common.security.util;
+
+import com.windsurf.common.core.crypto.CryptoCache;
+import com.windsurf.common.core.utils.JsonUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * 网关验签后转发给下游服务的声明信封
+ * <p>
+ * 格式为 {@code base64url(声明JSON).base64url(HmacSHA256)}，下游服务校验HMAC后即可信任其中的声明，
+ * 无需再次校验JWT签名。信封中的exp与原token一致，过期判定不变。
+ */
+@Slf4j
+public final class ClaimsEnvelope {
+
+    public static final String HEADER = "X-Auth-Claims";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ClaimsEnvelope() {
+    }
+
+    /**
+     * 签发信封，token标识写入jti
+     *
+     * @param token  已验签的token
+     * @param secret 网关与下游服务共享的密钥
+     * @return 信封
+     */
+    public static String sign(ParsedToken token, String secret) {
+        Claims claims = token.copyClaims();
+        claims.setId(token.getTokenId());
+        String payload = ENCODER.encodeToString(JsonUtils.toJsonBytes(claims));
+        return payload + '.' + ENCODER.encodeToString(hmac(payload, secret));
+    }
+
+    /**
+     * 校验信封
+     *
+     * @param envelope 信封
+     * @param secret   网关与下游服务共享的密钥
+     * @return 信封中的声明，格式错误或签名不匹配时返回null
+     */
+    public static ParsedToken verify(String envelope, String secret) {
+        int separator = envelope.indexOf('.');
+        if (separator <= 0 || separator == envelope.length() - 1) {
+            return null;
+        }
+        String payload = envelope.substring(0, separator);
+        try {
+            byte[] signature = DECODER.decode(envelope.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, hmac(payload, secret))) {
+                log.warn("Claims envelope signature mismatch");
+                return null;
+            }
+            Claims claims = Jwts.claims(JsonUtils.parseBytesToMap(DECODER.decode(payload)));
+            return new ParsedToken(claims, null);
+        } catch (RuntimeException e) {
+            log.warn("Malformed claims envelope: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] hmac(String payload, String secret) {
+        try {
+            Mac mac = CryptoCache.mac(HMAC_ALGORITHM, CryptoCache.secretKey(secret, HMAC_ALGORITHM));
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign claims envelope", e);
+        }
+    }
+}
@@ -3,8 +3,12 @@ package com.windsurf.common.security.util;
 import com.windsurf.common.security.entity.User;
 import com.windsurf.common.security.entity.UserStatus;
 import com.windsurf.common.security.properties.SecurityProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.SecurityException;
@@ -14,24 +18,72 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtUtils {
 
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
     private final SecurityProperties securityProperties;
     private Key signingKey;
+    private JwtParser jwtParser;
+    /**
+     * 验签后的token缓存，key为token的SHA-256摘要，条目在token过期时失效
+     */
+    private Cache<String, ParsedToken> tokenCache;
 
     @PostConstruct
     public void init() {
         byte[] keyBytes = Base64.getDecoder().decode(securityProperties.getJwt().getSecret());
         signingKey = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS512.getJcaName());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+
+        SecurityProperties.TokenCacheProperties cacheProperties = securityProperties.getJwt().getCache();
+        if (cacheProperties.isEnabled()) {
+            long maxTtlNanos = TimeUnit.SECONDS.toNanos(cacheProperties.getMaxTtl());
+            tokenCache = Caffeine.newBuilder()
+                    .maximumSize(cacheProperties.getMaximumSize())
+                    .expireAfter(new Expiry<String, ParsedToken>() {
+                        @Override
+                        public long expireAfterCreate(String key, ParsedToken value, long currentTime) {
+                            long remaining = value.getExpirationMillis() - System.currentTimeMillis();
+                            return Math.max(0, Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remaining)));
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String key, ParsedToken value, long currentTime, long currentDuration) {
+                            return expireAfterCreate(key, value, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(String key, ParsedToken value, long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        } else {
+            tokenCache = null;
+        }
     }
 
     public String generateToken(User user) {
@@ -47,6 +99,7 @@ public class JwtUtils {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
@@ -54,13 +107,43 @@ public class JwtUtils {
                 .compact();
     }
 
+    /**
+     * 解析并验签token，同一token在有效期内只验签一次
+     *
+     * @param token JWT
+     * @return 解析结果，可在整个请求中复用
+     */
+    public ParsedToken parseToken(String token) {
+        String key = digest(token);
+        if (tokenCache == null) {
+            return new ParsedToken(parseClaims(token), key);
+        }
+        ParsedToken parsed = tokenCache.getIfPresent(key);
+        if (parsed == null) {
+            parsed = new ParsedToken(parseClaims(token), key);
+            tokenCache.put(key, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * 从缓存中移除token，token被吊销（如登出加入黑名单）时调用
+     *
+     * @param token JWT
+     */
+    public void evictToken(String token) {
+        if (tokenCache != null && token != null) {
+            tokenCache.invalidate(digest(token));
+        }
+    }
+
     public Claims getClaimsFromToken(String token) {
+        return parseToken(token).copyClaims();
+    }
+
+    private Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(signingKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             log.warn("Token已过期: {}", e.getMessage());
             throw e;
@@ -75,35 +158,31 @@ public class JwtUtils {
 
     public boolean validateToken(String token) {
         try {
-            Claims claims = getClaimsFromToken(token);
-            return !claims.getExpiration().before(new Date()) &&
-                   claims.get("enabled", Boolean.class);
+            return parseToken(token).isValid();
         } catch (Exception e) {
             return false;
         }
     }
 
     public String getUsernameFromToken(String token) {
-        return getClaimsFromToken(token).getSubject();
+        return parseToken(token).getUsername();
     }
 
     public Long getUserIdFromToken(String token) {
-        return getClaimsFromToken(token).get("userId", Long.class);
+        return parseToken(token).getUserId();
     }
 
     public UserStatus getUserStatusFromToken(String token) {
-        return UserStatus.valueOf(getClaimsFromToken(token).get("status", String.class));
+        return parseToken(token).getStatus();
     }
 
     public String[] getRolesFromToken(String token) {
-        String roles = getClaimsFromToken(token).get("roles", String.class);
-        return roles != null ? roles.split(",") : new String[0];
+        return parseToken(token).getRoles().toArray(new String[0]);
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = getClaimsFromToken(token);
-            return claims.getExpiration().before(new Date());
+            return parseToken(token).isExpired();
         } catch (ExpiredJwtException e) {
             return true;
         }
@@ -112,6 +191,7 @@ public class JwtUtils {
     public String refreshToken(String token) {
         try {
             Claims claims = getClaimsFromToken(token);
+            claims.setId(UUID.randomUUID().toString());
             claims.setIssuedAt(new Date());
             claims.setExpiration(new Date(System.currentTimeMillis() + securityProperties.getJwt().getExpiration() * 1000));
             
@@ -125,6 +205,17 @@ public class JwtUtils {
         }
     }
 
+    /**
+     * token的SHA-256摘要，没有jti的旧token以此作为 {@link ParsedToken#getTokenId()}
+     *
+     * @param token JWT
+     * @return URL安全的Base64摘要
+     */
+    public static String digest(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
     /**
      * Extract JWT token from Authorization header
      * @param bearerToken Authorization header value
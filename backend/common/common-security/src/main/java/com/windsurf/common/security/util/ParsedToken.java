@@ -0,0 +1,112 @@
+package com.windsurf.common.security.util;
+
+import com.windsurf.common.security.entity.UserStatus;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 已验签的JWT，一次解析供整个请求使用
+ * <p>
+ * 实例会被 {@link JwtUtils} 缓存并在线程间共享，因此不对外暴露可变的 {@link Claims}。
+ */
+public class ParsedToken {
+
+    private final Claims claims;
+    private final String tokenId;
+    private final String username;
+    private final Long userId;
+    private final String status;
+    private final List<String> roles;
+    private final boolean enabled;
+    private final long expirationMillis;
+
+    ParsedToken(Claims claims, String digest) {
+        this.claims = claims;
+        this.tokenId = claims.getId() != null ? claims.getId() : digest;
+        this.username = claims.getSubject();
+        this.userId = claims.get("userId", Long.class);
+        this.status = claims.get("status", String.class);
+        String rolesClaim = claims.get("roles", String.class);
+        this.roles = rolesClaim != null
+                ? Collections.unmodifiableList(Arrays.asList(rolesClaim.split(",")))
+                : Collections.emptyList();
+        this.enabled = Boolean.TRUE.equals(claims.get("enabled", Boolean.class));
+        this.expirationMillis = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * token唯一标识：jti，旧token没有jti时为token的SHA-256摘要
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public UserStatus getStatus() {
+        return UserStatus.valueOf(status);
+    }
+
+    /**
+     * 角色列表，token中没有角色时为空列表
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 过期时间，token中没有exp时为 {@link Long#MAX_VALUE}
+     */
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    public boolean isExpired() {
+        return expirationMillis < System.currentTimeMillis();
+    }
+
+    /**
+     * 与 {@link JwtUtils#validateToken(String)} 的判定一致：未过期且用户可用
+     */
+    public boolean isValid() {
+        return !isExpired() && enabled;
+    }
+
+    /**
+     * 读取任意声明
+     */
+    public <T> T getClaim(String name, Class<T> requiredType) {
+        return claims.get(name, requiredType);
+    }
+
+    /**
+     * 声明的副本，调用方可以自由修改
+     */
+    public Claims copyClaims() {
+        Claims copy = Jwts.claims();
+        copy.putAll(claims);
+        return copy;
+    }
+
+    /**
+     * 兼容旧接口的过期时间
+     */
+    public Date getExpiration() {
+        return expirationMillis == Long.MAX_VALUE ? null : new Date(expirationMillis);
+    }
+}
@@ -0,0 +1,143 @@
+package com.windsurf.common.security.filter;
+
+import com.windsurf.common.security.entity.User;
+import com.windsurf.common.security.entity.UserStatus;
+import com.windsurf.common.security.properties.SecurityProperties;
+import com.windsurf.common.security.service.TokenRevocationChecker;
+import com.windsurf.common.security.util.ClaimsEnvelope;
+import com.windsurf.common.security.util.JwtUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "windsurf-test-secret-key-which-is-long-enough-for-hs512-signing!".getBytes(StandardCharsets.UTF_8));
+
+    private SecurityProperties securityProperties;
+    private JwtUtils jwtUtils;
+    private UserDetailsService userDetailsService;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        securityProperties = new SecurityProperties();
+        securityProperties.getJwt().setSecret(SECRET);
+        securityProperties.getJwt().getClaimsTrusted().setEnabled(true);
+        jwtUtils = new JwtUtils(securityProperties);
+        jwtUtils.init();
+        userDetailsService = mock(UserDetailsService.class);
+
+        token = jwtUtils.generateToken(User.builder()
+                .id(1L)
+                .username("testuser")
+                .roles("ROLE_USER,ROLE_ADMIN")
+                .status(UserStatus.ACTIVE)
+                .enabled(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void claimsTrusted_ShouldAuthenticateWithoutLoadingUser() throws Exception {
+        doFilter(newFilter(null));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testuser", authentication.getName());
+        assertEquals(2, authentication.getAuthorities().size());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void claimsTrusted_RevokedToken_ShouldNotAuthenticate() throws Exception {
+        doFilter(newFilter(jwt -> true));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void claimsTrusted_ShouldCacheRevocationResult() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        JwtAuthenticationFilter filter = newFilter(jwt -> {
+            checks.incrementAndGet();
+            return false;
+        });
+
+        doFilter(filter);
+        SecurityContextHolder.clearContext();
+        doFilter(filter);
+
+        assertEquals(1, checks.get());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void claimsTrusted_RevocationCheckDisabled_ShouldSkipChecker() throws Exception {
+        securityProperties.getJwt().getClaimsTrusted().setRevocationCheck(false);
+
+        doFilter(newFilter(jwt -> true));
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void envelope_ShouldAuthenticateWithoutAuthorizationHeader() throws Exception {
+        securityProperties.getJwt().setEnvelopeSecret("envelope-secret");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ClaimsEnvelope.HEADER, ClaimsEnvelope.sign(jwtUtils.parseToken(token), "envelope-secret"));
+
+        newFilter(null).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testuser", authentication.getName());
+    }
+
+    @Test
+    void envelope_WrongSecret_ShouldBeIgnored() throws Exception {
+        securityProperties.getJwt().setEnvelopeSecret("envelope-secret");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ClaimsEnvelope.HEADER, ClaimsEnvelope.sign(jwtUtils.parseToken(token), "forged-secret"));
+
+        newFilter(null).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private JwtAuthenticationFilter newFilter(TokenRevocationChecker checker) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (checker != null) {
+            beanFactory.addBean("tokenRevocationChecker", checker);
+        }
+        ObjectProvider<TokenRevocationChecker> provider = beanFactory.getBeanProvider(TokenRevocationChecker.class);
+        return new JwtAuthenticationFilter(userDetailsService, jwtUtils, securityProperties, provider);
+    }
+
+    private void doFilter(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,7 +52,7 @@ class CustomUserDetailsServiceTest {
         // 验证结果
         assertNotNull(userDetails);
         assertEquals("testuser", userDetails.getUsername());
-        assertEquals("password123", userDetails.getPassword());
+        assertEquals("", userDetails.getPassword());
         assertTrue(userDetails.isEnabled());
         assertEquals(2, userDetails.getAuthorities().size());
         assertTrue(userDetails.getAuthorities().stream()
@@ -115,4 +117,36 @@ class CustomUserDetailsServiceTest {
         assertNotNull(userDetails);
         assertTrue(userDetails.getAuthorities().isEmpty());
     }
+
+    @Test
+    void loadUserByUsername_WhenCalledTwice_ShouldQueryDatabaseOnce() {
+        // 配置Mock行为
+        when(userMapper.selectOne(any(LambdaQueryWrapper.class))).thenReturn(testUser);
+
+        // 执行测试
+        UserDetails first = userDetailsService.loadUserByUsername("testuser");
+        UserDetails second = userDetailsService.loadUserByUsername("testuser");
+
+        // 验证结果：命中本地缓存，且每次返回新的UserDetails实例
+        verify(userMapper, times(1)).selectOne(any(LambdaQueryWrapper.class));
+        assertNotSame(first, second);
+        assertEquals("", second.getPassword());
+    }
+
+    @Test
+    void evictUser_ShouldReloadFromDatabase() {
+        // 配置Mock行为
+        when(userMapper.selectOne(any(LambdaQueryWrapper.class))).thenReturn(testUser);
+        userDetailsService.loadUserByUsername("testuser");
+
+        // 用户被禁用后清除缓存
+        testUser.setEnabled(false);
+        userDetailsService.evictUser("testuser");
+
+        // 执行测试并验证异常
+        assertThrows(UsernameNotFoundException.class, () ->
+            userDetailsService.loadUserByUsername("testuser")
+        );
+        verify(userMapper, times(2)).selectOne(any(LambdaQueryWrapper.class));
+    }
 }
@@ -0,0 +1,160 @@
+package com.windsurf.common.security.service;
+
+import com.windsurf.common.redis.service.RedisService;
+import com.windsurf.common.security.entity.User;
+import com.windsurf.common.security.entity.UserStatus;
+import com.windsurf.common.security.properties.SecurityProperties;
+import com.windsurf.common.security.util.JwtUtils;
+import com.windsurf.common.security.util.ParsedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.redisson.api.RKeys;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TokenBlacklistServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "windsurf-test-secret-key-which-is-long-enough-for-hs512-signing!".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private RedisService redisService;
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private RTopic topic;
+    @Mock
+    private RKeys keys;
+
+    private JwtUtils jwtUtils;
+    private TokenBlacklistService blacklistService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.getJwt().setSecret(SECRET);
+        jwtUtils = new JwtUtils(securityProperties);
+        jwtUtils.init();
+
+        when(redissonClient.getTopic(TokenBlacklistService.REVOKED_TOPIC, StringCodec.INSTANCE)).thenReturn(topic);
+        when(redissonClient.getKeys()).thenReturn(keys);
+        when(keys.getKeysByPattern(anyString(), anyInt())).thenReturn(Collections.emptyList());
+        blacklistService = new TokenBlacklistService(redisService, redissonClient, securityProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blacklistService.destroy();
+    }
+
+    @Test
+    void isRevoked_NotRevokedAfterSync_ShouldNotQueryRedis() {
+        blacklistService.resync();
+
+        assertFalse(blacklistService.isRevoked(newToken()));
+        verify(redisService, never()).hasKey(anyString());
+    }
+
+    @Test
+    void isRevoked_BeforeSync_ShouldQueryRedis() {
+        ParsedToken token = newToken();
+        when(redisService.hasKey(TokenBlacklistService.REVOKED_KEY_PREFIX + token.getTokenId())).thenReturn(true);
+
+        assertTrue(blacklistService.isRevoked(token));
+    }
+
+    @Test
+    void revoke_ShouldStoreTokenIdUntilExpirationAndPublish() {
+        blacklistService.init();
+        blacklistService.resync();
+        ParsedToken token = newToken();
+
+        blacklistService.revoke(token);
+
+        String key = TokenBlacklistService.REVOKED_KEY_PREFIX + token.getTokenId();
+        verify(redisService).setCacheObject(eq(key), eq(1), longThat(ttl -> ttl > 0 && ttl <= 86400_000L),
+                eq(TimeUnit.MILLISECONDS));
+        verify(topic).publish(token.getTokenId());
+
+        when(redisService.hasKey(key)).thenReturn(true);
+        assertTrue(blacklistService.isRevoked(token));
+    }
+
+    @Test
+    void resync_ShouldLoadRevokedTokensFromRedis() {
+        ParsedToken token = newToken();
+        String key = TokenBlacklistService.REVOKED_KEY_PREFIX + token.getTokenId();
+        when(keys.getKeysByPattern(anyString(), anyInt())).thenReturn(Collections.singletonList(key));
+        when(redisService.hasKey(key)).thenReturn(true);
+
+        blacklistService.resync();
+
+        assertTrue(blacklistService.isRevoked(token));
+        assertFalse(blacklistService.isRevoked(newToken()));
+        verify(redisService, times(1)).hasKey(anyString());
+    }
+
+    @Test
+    void isRevoked_RedisDownOnBloomHit_ShouldTreatAsRevoked() {
+        blacklistService.resync();
+        ParsedToken token = newToken();
+        blacklistService.put(token.getTokenId());
+        when(redisService.hasKey(anyString())).thenThrow(new IllegalStateException("connection refused"));
+
+        assertTrue(blacklistService.isRevoked(token));
+    }
+
+    @Test
+    void resync_ShouldMigrateLegacyBlacklistEntries() {
+        String legacyToken = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 3600_000L))
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)), SignatureAlgorithm.HS512)
+                .compact();
+        ParsedToken token = jwtUtils.parseToken(legacyToken);
+        String legacyKey = TokenBlacklistService.LEGACY_KEY_PREFIX + legacyToken;
+        String key = TokenBlacklistService.REVOKED_KEY_PREFIX + token.getTokenId();
+        when(keys.getKeysByPattern(eq(TokenBlacklistService.LEGACY_KEY_PREFIX + "*"), anyInt()))
+                .thenReturn(Collections.singletonList(legacyKey));
+        when(redisService.getExpire(legacyKey)).thenReturn(3_600_000L);
+        when(redisService.hasKey(key)).thenReturn(true);
+
+        blacklistService.resync();
+
+        verify(redisService).setCacheObject(eq(key), eq(1), eq(86400_000L), eq(TimeUnit.MILLISECONDS));
+        verify(redisService).deleteObject(legacyKey);
+        assertTrue(blacklistService.isRevoked(token));
+    }
+
+    private ParsedToken newToken() {
+        return jwtUtils.parseToken(jwtUtils.generateToken(User.builder()
+                .id(1L)
+                .username("testuser")
+                .roles("ROLE_USER")
+                .status(UserStatus.ACTIVE)
+                .enabled(true)
+                .build()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.windsurf.common.security.util;
+
+import com.windsurf.common.security.entity.User;
+import com.windsurf.common.security.entity.UserStatus;
+import com.windsurf.common.security.properties.SecurityProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "windsurf-test-secret-key-which-is-long-enough-for-hs512-signing!".getBytes(StandardCharsets.UTF_8));
+
+    private SecurityProperties securityProperties;
+    private JwtUtils jwtUtils;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        securityProperties = new SecurityProperties();
+        securityProperties.getJwt().setSecret(SECRET);
+        jwtUtils = new JwtUtils(securityProperties);
+        jwtUtils.init();
+
+        testUser = User.builder()
+                .id(1L)
+                .username("testuser")
+                .roles("ROLE_USER,ROLE_ADMIN")
+                .status(UserStatus.ACTIVE)
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    void parseToken_ShouldExposeClaims() {
+        ParsedToken parsed = jwtUtils.parseToken(jwtUtils.generateToken(testUser));
+
+        assertEquals("testuser", parsed.getUsername());
+        assertEquals(1L, parsed.getUserId());
+        assertEquals(UserStatus.ACTIVE, parsed.getStatus());
+        assertEquals(2, parsed.getRoles().size());
+        assertTrue(parsed.isValid());
+    }
+
+    @Test
+    void parseToken_SameToken_ShouldReturnCachedResult() {
+        String token = jwtUtils.generateToken(testUser);
+
+        assertSame(jwtUtils.parseToken(token), jwtUtils.parseToken(token));
+    }
+
+    @Test
+    void evictToken_ShouldForceReparse() {
+        String token = jwtUtils.generateToken(testUser);
+        ParsedToken first = jwtUtils.parseToken(token);
+
+        jwtUtils.evictToken(token);
+
+        assertNotSame(first, jwtUtils.parseToken(token));
+    }
+
+    @Test
+    void parseToken_CacheDisabled_ShouldParseEveryTime() {
+        securityProperties.getJwt().getCache().setEnabled(false);
+        jwtUtils.init();
+        String token = jwtUtils.generateToken(testUser);
+
+        assertNotSame(jwtUtils.parseToken(token), jwtUtils.parseToken(token));
+    }
+
+    @Test
+    void parseToken_TamperedToken_ShouldFail() {
+        String token = jwtUtils.generateToken(testUser);
+        jwtUtils.parseToken(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(Exception.class, () -> jwtUtils.parseToken(tampered));
+        assertFalse(jwtUtils.validateToken(tampered));
+    }
+
+    @Test
+    void parseToken_ExpiredToken_ShouldThrow() {
+        securityProperties.getJwt().setExpiration(-1);
+        String token = jwtUtils.generateToken(testUser);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtils.parseToken(token));
+        assertTrue(jwtUtils.isTokenExpired(token));
+    }
+
+    @Test
+    void getClaimsFromToken_ShouldReturnIndependentCopy() {
+        String token = jwtUtils.generateToken(testUser);
+        Claims claims = jwtUtils.getClaimsFromToken(token);
+        claims.setExpiration(new Date(0));
+        claims.put("roles", "ROLE_HACKER");
+
+        assertArrayEquals(new String[]{"ROLE_USER", "ROLE_ADMIN"}, jwtUtils.getRolesFromToken(token));
+        assertFalse(jwtUtils.isTokenExpired(token));
+    }
+
+    @Test
+    void refreshToken_ShouldKeepSubject() {
+        String token = jwtUtils.generateToken(testUser);
+
+        String refreshed = jwtUtils.refreshToken(token);
+
+        assertEquals("testuser", jwtUtils.getUsernameFromToken(refreshed));
+    }
+}
@@ -0,0 +1,111 @@
+package com.windsurf.gateway.accesslog;
+
+import java.util.Arrays;
+
+/**
+ * 环形缓冲区中的访问日志记录，槽位预先分配并循环复用
+ * <p>
+ * 只保存对请求中已有字符串的引用，填充时不做格式化，序列化在后台写线程中完成。
+ */
+public final class AccessLogRecord {
+
+    long timestamp;
+    String method;
+    String path;
+    String remoteAddress;
+    int status;
+    long durationNanos;
+    int headerCount;
+    String[] headerNames = new String[16];
+    String[] headerValues = new String[16];
+
+    /**
+     * 发布序号，等于写入该槽位的序号时表示记录可读
+     */
+    volatile long sequence = -1;
+
+    public AccessLogRecord set(long timestamp, String method, String path, String remoteAddress,
+                               int status, long durationNanos) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.path = path;
+        this.remoteAddress = remoteAddress;
+        this.status = status;
+        this.durationNanos = durationNanos;
+        this.headerCount = 0;
+        return this;
+    }
+
+    public void addHeader(String name, String value) {
+        if (headerCount == headerNames.length) {
+            headerNames = Arrays.copyOf(headerNames, headerCount * 2);
+            headerValues = Arrays.copyOf(headerValues, headerCount * 2);
+        }
+        headerNames[headerCount] = name;
+        headerValues[headerCount] = value;
+        headerCount++;
+    }
+
+    /**
+     * 释放引用，避免槽位长期持有请求数据
+     */
+    void clear() {
+        method = null;
+        path = null;
+        remoteAddress = null;
+        Arrays.fill(headerNames, 0, headerCount, null);
+        Arrays.fill(headerValues, 0, headerCount, null);
+        headerCount = 0;
+    }
+
+    /**
+     * 以单行JSON追加到缓冲区
+     */
+    void appendJson(StringBuilder out) {
+        out.append("{\"ts\":").append(timestamp)
+                .append(",\"method\":");
+        appendString(out, method);
+        out.append(",\"path\":");
+        appendString(out, path);
+        out.append(",\"remote\":");
+        appendString(out, remoteAddress);
+        out.append(",\"status\":").append(status)
+                .append(",\"durationUs\":").append(durationNanos / 1000)
+                .append(",\"headers\":{");
+        for (int i = 0; i < headerCount; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendString(out, headerNames[i]);
+            out.append(':');
+            appendString(out, headerValues[i]);
+        }
+        out.append("}}\n");
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,101 @@
+package com.windsurf.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 多生产者单消费者的有界环形缓冲区
+ * <p>
+ * 生产者通过CAS申请序号，缓冲区满时立即放弃并计入丢弃数，从不阻塞；
+ * 填充完成后发布序号，消费者按序读取已发布的槽位。
+ */
+public class AccessLogRingBuffer {
+
+    private final AccessLogRecord[] slots;
+    private final int mask;
+    /**
+     * 下一个待申请的序号
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * 下一个待消费的序号，只由消费者线程推进
+     */
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder consumed = new LongAdder();
+
+    public AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AccessLogRecord[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AccessLogRecord();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 申请一个槽位
+     *
+     * @return 序号，缓冲区已满时返回-1
+     */
+    public long tryClaim() {
+        while (true) {
+            long current = tail.get();
+            if (current - head.get() >= slots.length) {
+                dropped.increment();
+                return -1;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    public AccessLogRecord get(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    public void publish(long sequence) {
+        get(sequence).sequence = sequence;
+    }
+
+    /**
+     * 消费已发布的记录，只能由单个线程调用
+     *
+     * @return 本次消费的记录数
+     */
+    public int drain(Consumer<AccessLogRecord> consumer, int maxRecords) {
+        long next = head.get();
+        int count = 0;
+        while (count < maxRecords) {
+            AccessLogRecord record = slots[(int) (next & mask)];
+            if (record.sequence != next) {
+                break;
+            }
+            try {
+                consumer.accept(record);
+            } finally {
+                record.clear();
+                next++;
+                count++;
+                // 槽位处理完毕后才允许生产者复用
+                head.lazySet(next);
+            }
+        }
+        consumed.add(count);
+        return count;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long consumed() {
+        return consumed.sum();
+    }
+}
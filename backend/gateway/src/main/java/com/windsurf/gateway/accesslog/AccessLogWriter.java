@@ -0,0 +1,163 @@
+package com.windsurf.gateway.accesslog;
+
+import com.windsurf.gateway.config.AccessLogProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 访问日志后台写线程：批量消费环形缓冲区，以JSON行写入按大小滚动的文件
+ */
+@Slf4j
+public class AccessLogWriter implements Runnable {
+
+    private static final DateTimeFormatter ROLL_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final AccessLogRingBuffer ringBuffer;
+    private final Path file;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private final StringBuilder batch = new StringBuilder(16 * 1024);
+    private final LongAdder writeErrors = new LongAdder();
+
+    private FileChannel channel;
+    /**
+     * 当前文件的字节数，按UTF-8编码后的长度累计
+     */
+    private long fileSize;
+    private volatile boolean running = true;
+    private Thread thread;
+
+    public AccessLogWriter(AccessLogRingBuffer ringBuffer, AccessLogProperties properties) {
+        this.ringBuffer = ringBuffer;
+        this.file = Paths.get(properties.getFile()).toAbsolutePath();
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.maxFileSize = properties.getMaxFileSize().toBytes();
+        this.maxHistory = properties.getMaxHistory();
+    }
+
+    public void start() {
+        thread = new Thread(this, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 停止写线程，剩余记录写完后关闭文件
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            if (drainOnce() == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        while (drainOnce() > 0) {
+            // 关闭前写完缓冲区中的记录
+        }
+        closeQuietly();
+    }
+
+    /**
+     * 消费一批记录并写入文件
+     *
+     * @return 本批记录数
+     */
+    int drainOnce() {
+        batch.setLength(0);
+        int count = ringBuffer.drain(record -> record.appendJson(batch), batchSize);
+        if (count > 0) {
+            write(batch);
+        }
+        return count;
+    }
+
+    public long writeErrors() {
+        return writeErrors.sum();
+    }
+
+    private void write(CharSequence content) {
+        try {
+            if (channel == null) {
+                open();
+            }
+            ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(content));
+            fileSize += bytes.remaining();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if (fileSize >= maxFileSize) {
+                roll();
+            }
+        } catch (IOException e) {
+            writeErrors.increment();
+            log.warn("Failed to write access log: {}", e.getMessage());
+            closeQuietly();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(file.getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void roll() throws IOException {
+        closeQuietly();
+        String name = file.getFileName().toString();
+        Files.move(file, file.resolveSibling(name + '.' + LocalDateTime.now().format(ROLL_SUFFIX)));
+
+        List<Path> history = new ArrayList<>();
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            files.filter(path -> path.getFileName().toString().startsWith(name + '.'))
+                    .sorted()
+                    .forEach(history::add);
+        }
+        for (int i = 0; i < history.size() - maxHistory; i++) {
+            Files.deleteIfExists(history.get(i));
+        }
+    }
+
+    private void closeQuietly() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close access log: {}", e.getMessage());
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.windsurf.gateway.cache;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 缓存的上游响应
+ */
+@Data
+public class CachedResponse {
+    private int status;
+    /**
+     * 需要回放的响应头，如 Content-Type、Cache-Control
+     */
+    private Map<String, String> headers;
+    private byte[] body;
+    private String etag;
+    /**
+     * 过期时间，毫秒时间戳
+     */
+    private long expiresAt;
+}
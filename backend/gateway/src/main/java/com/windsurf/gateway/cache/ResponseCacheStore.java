@@ -0,0 +1,102 @@
+package com.windsurf.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.windsurf.common.redis.service.ReactiveRedisService;
+import com.windsurf.gateway.config.ResponseCacheProperties;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网关响应缓存的存储
+ * <p>
+ * 本地按响应体字节数限制总大小，每个条目按自身的过期时间淘汰；开启Redis时未命中本地再查Redis，
+ * 多个网关节点共享上游响应。Redis不可用时只使用本地缓存。
+ */
+@Slf4j
+@Component
+public class ResponseCacheStore {
+
+    private final Cache<String, CachedResponse> local;
+    private final ReactiveRedisService redisService;
+    private final String redisKeyPrefix;
+
+    public ResponseCacheStore(ResponseCacheProperties properties,
+                              ObjectProvider<ReactiveRedisService> redisServiceProvider,
+                              GatewayMetrics metrics) {
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, CachedResponse value) -> value.getBody().length + key.length())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                                                  long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.redisService = redisServiceProvider.getIfAvailable();
+        this.redisKeyPrefix = properties.getRedisKeyPrefix();
+        metrics.registerResponseCacheMetrics(local);
+    }
+
+    private static long remainingNanos(CachedResponse value) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.getExpiresAt() - System.currentTimeMillis()));
+    }
+
+    /**
+     * 读取未过期的缓存
+     *
+     * @param key   缓存key
+     * @param redis 本地未命中时是否查询Redis
+     */
+    public Mono<CachedResponse> get(String key, boolean redis) {
+        CachedResponse cached = local.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        if (!redis || redisService == null) {
+            return Mono.empty();
+        }
+        return redisService.<CachedResponse>getCacheObject(redisKeyPrefix + key)
+                .filter(response -> response.getExpiresAt() > System.currentTimeMillis())
+                .doOnNext(response -> local.put(key, response))
+                .onErrorResume(e -> {
+                    log.debug("Failed to read cached response {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 写入缓存，Redis异步写入
+     *
+     * @param key      缓存key
+     * @param response 响应
+     * @param redis    是否同时写入Redis
+     */
+    public void put(String key, CachedResponse response, boolean redis) {
+        local.put(key, response);
+        long ttl = response.getExpiresAt() - System.currentTimeMillis();
+        if (redis && redisService != null && ttl > 0) {
+            redisService.setCacheObject(redisKeyPrefix + key, response, ttl, TimeUnit.MILLISECONDS)
+                    .subscribe(null, e -> log.debug("Failed to cache response {}: {}", key, e.getMessage()));
+        }
+    }
+}
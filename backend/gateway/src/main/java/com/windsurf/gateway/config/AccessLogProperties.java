@@ -0,0 +1,47 @@
+package com.windsurf.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+    /**
+     * 是否记录访问日志
+     */
+    private boolean enabled = true;
+    /**
+     * 访问日志文件
+     */
+    private String file = "logs/access.log";
+    /**
+     * 环形缓冲区大小，向上取整为2的幂，缓冲区满时丢弃新记录
+     */
+    private int bufferSize = 8192;
+    /**
+     * 后台线程单次写入的最大记录数
+     */
+    private int batchSize = 256;
+    /**
+     * 缓冲区为空时后台线程的等待时间
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+    /**
+     * 单个日志文件的最大大小，超过后滚动
+     */
+    private DataSize maxFileSize = DataSize.ofMegabytes(100);
+    /**
+     * 保留的历史文件数量
+     */
+    private int maxHistory = 7;
+    /**
+     * 不记录的请求头，不区分大小写
+     */
+    private List<String> excludeHeaders = List.of("cookie", "authorization", "proxy-authorization", "x-xsrf-token");
+}
@@ -0,0 +1,47 @@
+package com.windsurf.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 灰度发布配置
+ * <p>
+ * 修改配置后调用管理端口的 /actuator/refresh 重新绑定，过滤器和负载均衡每次请求读取，无需重启。
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.gray")
+public class GrayReleaseProperties {
+    /**
+     * 是否启用灰度路由
+     */
+    private boolean enabled = true;
+    /**
+     * 实例元数据中表示版本的key，Nacos中通过 spring.cloud.nacos.discovery.metadata.version 注册
+     */
+    private String metadataKey = "version";
+    /**
+     * 是否允许请求头 gray_version/gray_weight 指定灰度版本，仅用于测试环境
+     */
+    private boolean allowTestHeaders = false;
+    /**
+     * 各服务的灰度规则，key为服务名（lb:// 后的部分）
+     */
+    private Map<String, Rule> services = new HashMap<>();
+
+    @Data
+    public static class Rule {
+        /**
+         * 灰度版本，与实例元数据中的版本一致
+         */
+        private String version;
+        /**
+         * 灰度流量比例，0-100；按用户ID或IP哈希分桶，调大比例时已进入灰度的用户保持不变
+         */
+        private int weight = 0;
+    }
+}
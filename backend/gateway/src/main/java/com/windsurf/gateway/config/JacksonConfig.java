@@ -0,0 +1,13 @@
+package com.windsurf.gateway.config;
+
+import com.windsurf.common.core.json.JsonConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 网关只扫描自身的包，显式引入公共的Jackson配置
+ */
+@Configuration
+@Import(JsonConfig.class)
+public class JacksonConfig {
+}
@@ -0,0 +1,15 @@
+package com.windsurf.gateway.config;
+
+import com.windsurf.gateway.loadbalancer.P2cLoadBalancerConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * lb:// 路由默认使用按上游耗时和在途请求数的两次随机选择负载均衡
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.load-balancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = P2cLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
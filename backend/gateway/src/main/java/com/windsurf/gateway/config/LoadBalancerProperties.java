@@ -0,0 +1,33 @@
+package com.windsurf.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class LoadBalancerProperties {
+    /**
+     * 是否按上游耗时和在途请求数选择实例，关闭时使用默认的轮询
+     */
+    private boolean enabled = true;
+    /**
+     * 耗时EWMA的衰减时间，越小越快遗忘历史耗时
+     */
+    private Duration decayTime = Duration.ofSeconds(10);
+    /**
+     * 转发失败（连接失败、超时等）时计入的耗时，尚无耗时样本但已有在途请求的实例也按此估算
+     */
+    private Duration failurePenalty = Duration.ofSeconds(1);
+    /**
+     * 最多统计的实例数量
+     */
+    private long maxInstances = 10000;
+    /**
+     * 实例统计空闲多久后回收
+     */
+    private Duration instanceIdleTimeout = Duration.ofMinutes(10);
+}
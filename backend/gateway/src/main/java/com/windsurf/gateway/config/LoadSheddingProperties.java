@@ -0,0 +1,87 @@
+package com.windsurf.gateway.config;
+
+import com.windsurf.gateway.loadshedding.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.load-shedding")
+public class LoadSheddingProperties {
+    /**
+     * 是否按优先级丢弃过载请求
+     */
+    private boolean enabled = true;
+    /**
+     * 事件循环延迟和连接池排队数的采样间隔
+     */
+    private Duration probeInterval = Duration.ofMillis(100);
+    /**
+     * 未匹配任何规则时的优先级
+     */
+    private Priority defaultPriority = Priority.NORMAL;
+    /**
+     * 分类规则，按顺序匹配第一条
+     */
+    private List<Rule> rules = new ArrayList<>();
+    /**
+     * 各优先级的丢弃阈值，任一指标达到即丢弃该优先级的请求；未配置的优先级不丢弃
+     */
+    private Map<Priority, Threshold> thresholds = defaultThresholds();
+    /**
+     * 丢弃请求时返回的 Retry-After，秒
+     */
+    private int retryAfter = 1;
+
+    private static Map<Priority, Threshold> defaultThresholds() {
+        Map<Priority, Threshold> thresholds = new EnumMap<>(Priority.class);
+        thresholds.put(Priority.LOW, new Threshold(Duration.ofMillis(20), 50));
+        thresholds.put(Priority.NORMAL, new Threshold(Duration.ofMillis(50), 200));
+        thresholds.put(Priority.HIGH, new Threshold(Duration.ofMillis(150), 1000));
+        return thresholds;
+    }
+
+    @Data
+    public static class Rule {
+        private Priority priority;
+        /**
+         * 路由id，为空时不按路由匹配
+         */
+        private List<String> routes = new ArrayList<>();
+        /**
+         * Ant风格的请求路径，为空时不按路径匹配
+         */
+        private List<String> paths = new ArrayList<>();
+        /**
+         * 请求头名称，为空时不按请求头匹配
+         */
+        private String header;
+        /**
+         * 请求头的值，为空时只要求请求头存在
+         */
+        private String headerValue;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Threshold {
+        /**
+         * 事件循环任务的排队延迟
+         */
+        private Duration eventLoopLag;
+        /**
+         * 上游连接池中等待获取连接的请求数
+         */
+        private int pendingAcquire;
+    }
+}
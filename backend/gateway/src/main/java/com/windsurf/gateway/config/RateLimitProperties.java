@@ -0,0 +1,33 @@
+package com.windsurf.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    /**
+     * 本地令牌桶与Redis对账的间隔
+     */
+    private Duration syncInterval = Duration.ofMillis(100);
+    /**
+     * 单次对账的超时时间，超时后本轮消耗不再上报，各节点按本地令牌桶限流
+     */
+    private Duration syncTimeout = Duration.ofMillis(500);
+    /**
+     * 单次Redis脚本调用对账的最大key数量
+     */
+    private int syncBatchSize = 500;
+    /**
+     * 本地令牌桶的最大数量
+     */
+    private long maxBuckets = 100000;
+    /**
+     * 本地令牌桶空闲多久后回收
+     */
+    private Duration bucketIdleTimeout = Duration.ofMinutes(2);
+}
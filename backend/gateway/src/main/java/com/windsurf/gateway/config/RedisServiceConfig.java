@@ -0,0 +1,17 @@
+package com.windsurf.gateway.config;
+
+import com.windsurf.common.redis.config.ReactiveRedisConfig;
+import com.windsurf.common.redis.properties.RedisScanProperties;
+import com.windsurf.common.redis.properties.RedisSerializerProperties;
+import com.windsurf.common.redis.service.ReactiveRedisService;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 网关只扫描自身的包，显式引入公共的响应式Redis服务，序列化方式与各业务服务一致
+ */
+@Configuration
+@Import({ReactiveRedisConfig.class, ReactiveRedisService.class,
+        RedisSerializerProperties.class, RedisScanProperties.class})
+public class RedisServiceConfig {
+}
@@ -0,0 +1,24 @@
+package com.windsurf.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+    /**
+     * 本地缓存的最大总字节数，按响应体大小计算
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    /**
+     * 单个响应体的最大大小，超过的不缓存
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+    /**
+     * 缓存在Redis中的key前缀
+     */
+    private String redisKeyPrefix = "gateway:response-cache:";
+}
@@ -12,6 +12,7 @@ import java.util.List;
 public class SecurityProperties {
     private IgnoreProperties ignore;
     private JwtProperties jwt;
+    private EncryptionProperties encryption = new EncryptionProperties();
 
     @Data
     public static class IgnoreProperties {
@@ -24,5 +25,34 @@ public class SecurityProperties {
         private long expiration;
         private String header;
         private String tokenPrefix;
+        /**
+         * 是否在网关统一校验JWT并向下游转发身份请求头
+         */
+        private boolean verify = false;
+        /**
+         * 声明信封的HMAC密钥，需与下游服务的 security.jwt.envelope-secret 一致，为空时不签发信封
+         */
+        private String envelopeSecret;
+        /**
+         * 是否检查token是否已被注销（Redis中的 token:revoked:&lt;jti&gt;）
+         */
+        private boolean revocationCheck = true;
+        /**
+         * 注销检查结果的缓存时间（秒），0表示每次请求都检查
+         */
+        private long revocationCacheTtl = 5;
+        /**
+         * 注销检查结果的最大缓存条目数
+         */
+        private long revocationCacheMaximumSize = 10000;
+    }
+
+    @Data
+    public static class EncryptionProperties {
+        /**
+         * 流式加密模式：报文体为原始AES密文（application/octet-stream），
+         * 按数据块增量加解密，内存占用恒定；关闭时报文体为Base64编码的密文，需要聚合完整报文
+         */
+        private boolean streaming = false;
     }
 }
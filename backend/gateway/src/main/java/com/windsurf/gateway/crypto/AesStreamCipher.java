@@ -0,0 +1,104 @@
+package com.windsurf.gateway.crypto;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Cipher;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+/**
+ * 流式AES加解密引擎
+ * <p>
+ * 每个请求/响应持有一个独立的Cipher上下文，数据块通过 {@link Cipher#update(ByteBuffer, ByteBuffer)}
+ * 直接写入由 {@link DataBufferFactory} 分配的缓冲区（网关运行时为Netty池化缓冲区），
+ * 仅在流结束时调用 {@link Cipher#doFinal(ByteBuffer, ByteBuffer)} 处理填充。
+ * 内存占用与报文总长度无关，只与单个数据块大小相关。
+ * <p>
+ * 非线程安全：一个实例只能服务于一个数据流。
+ */
+public class AesStreamCipher {
+
+    private final Cipher cipher;
+    private final DataBufferFactory bufferFactory;
+
+    /**
+     * @param cipher        已完成 init 的Cipher
+     * @param bufferFactory 输出缓冲区工厂
+     */
+    public AesStreamCipher(Cipher cipher, DataBufferFactory bufferFactory) {
+        this.cipher = cipher;
+        this.bufferFactory = bufferFactory;
+    }
+
+    /**
+     * 对整个数据流进行加解密，输入缓冲区在处理后立即释放
+     *
+     * @param body 输入数据流
+     * @return 输出数据流
+     */
+    public Flux<DataBuffer> transform(Flux<? extends DataBuffer> body) {
+        return body.<DataBuffer>map(this::update)
+                .concatWith(Mono.fromCallable(this::doFinal))
+                .filter(buffer -> {
+                    if (buffer.readableByteCount() > 0) {
+                        return true;
+                    }
+                    DataBufferUtils.release(buffer);
+                    return false;
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * 处理一个数据块，返回本次可输出的部分（可能为空）
+     *
+     * @param input 输入数据块，调用后即被释放
+     * @return 输出数据块
+     */
+    public DataBuffer update(DataBuffer input) {
+        try {
+            ByteBuffer in = input.asByteBuffer();
+            DataBuffer output = bufferFactory.allocateBuffer(Math.max(1, cipher.getOutputSize(in.remaining())));
+            try {
+                int written = cipher.update(in, output.asByteBuffer(0, output.capacity()));
+                return output.writePosition(written);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                DataBufferUtils.release(output);
+                throw new CipherStreamException("AES stream update failed", e);
+            }
+        } finally {
+            DataBufferUtils.release(input);
+        }
+    }
+
+    /**
+     * 结束数据流，输出剩余数据及填充
+     *
+     * @return 最后一个输出数据块
+     */
+    public DataBuffer doFinal() {
+        DataBuffer output = bufferFactory.allocateBuffer(Math.max(1, cipher.getOutputSize(0)));
+        try {
+            int written = cipher.doFinal(ByteBuffer.allocate(0), output.asByteBuffer(0, output.capacity()));
+            return output.writePosition(written);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            DataBufferUtils.release(output);
+            throw new CipherStreamException("AES stream finalization failed", e);
+        }
+    }
+
+    /**
+     * 流式加解密失败
+     */
+    public static class CipherStreamException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public CipherStreamException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.windsurf.gateway.filter;
+
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import com.windsurf.gateway.ratelimit.AdaptiveConcurrencyLimiter;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.HttpStatusHolder;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 路由级自适应并发限制
+ * <p>
+ * 按请求耗时自动调整路由的在途请求上限（见 {@link AdaptiveConcurrencyLimiter}），超过上限的请求直接返回
+ * {@code statusCode}，不排队等待。上游扩容或变快时上限随之升高，变慢时收缩，无需手工维护固定的速率。
+ * <pre>
+ * filters:
+ *   - name: AdaptiveConcurrency
+ *     args:
+ *       initialLimit: 20
+ *       maxLimit: 500
+ * </pre>
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private final GatewayMetrics metrics;
+    /**
+     * 各路由当前的限制器，路由刷新后替换
+     */
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyGatewayFilterFactory(GatewayMetrics metrics) {
+        super(Config.class);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config.getInitialLimit(),
+                config.getMinLimit(), config.getMaxLimit(), config.getQueueSize(), config.getSmoothing(),
+                config.getRttTolerance(), config.getBackoffRatio(), config.getLongWindow());
+        if (limiters.put(routeId, limiter) == null) {
+            metrics.registerConcurrencyLimiter(routeId, () -> limiters.get(routeId));
+        }
+        HttpStatusHolder statusCode = HttpStatusHolder.parse(config.getStatusCode());
+
+        return (exchange, chain) -> {
+            if (!limiter.tryAcquire()) {
+                metrics.recordConcurrencyRejected(routeId);
+                log.debug("Route {} rejected request, concurrency limit {} reached", routeId, limiter.getLimit());
+                ServerWebExchangeUtils.setResponseStatus(exchange, statusCode);
+                return exchange.getResponse().setComplete();
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signalType -> {
+                // 未到达上游的请求（如限流返回的429）耗时与上游无关，不作为样本
+                if (signalType == SignalType.CANCEL
+                        || !exchange.getAttributes().containsKey(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR)) {
+                    limiter.cancel();
+                    return;
+                }
+                HttpStatus status = exchange.getResponse().getStatusCode();
+                boolean dropped = signalType == SignalType.ON_ERROR
+                        || status == HttpStatus.SERVICE_UNAVAILABLE
+                        || status == HttpStatus.GATEWAY_TIMEOUT;
+                limiter.release(System.nanoTime() - start, dropped);
+            });
+        };
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        /**
+         * 初始并发上限
+         */
+        private int initialLimit = 20;
+        /**
+         * 并发上限的下限
+         */
+        private int minLimit = 10;
+        /**
+         * 并发上限的上限
+         */
+        private int maxLimit = 500;
+        /**
+         * 耗时正常时每次调整允许增加的并发数
+         */
+        private int queueSize = 4;
+        /**
+         * 新旧上限的加权系数，越大调整越快
+         */
+        private double smoothing = 0.2;
+        /**
+         * 耗时超过基准多少倍以内不收缩
+         */
+        private double rttTolerance = 1.5;
+        /**
+         * 转发失败或上游返回503/504时上限的收缩比例
+         */
+        private double backoffRatio = 0.9;
+        /**
+         * 长期耗时基准的平均窗口，按样本数
+         */
+        private int longWindow = 600;
+        /**
+         * 超过上限时的响应状态码，如 SERVICE_UNAVAILABLE、TOO_MANY_REQUESTS 或数字
+         */
+        private String statusCode = HttpStatus.SERVICE_UNAVAILABLE.name();
+    }
+}
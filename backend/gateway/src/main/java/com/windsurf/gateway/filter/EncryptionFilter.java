@@ -1,7 +1,9 @@
 package com.windsurf.gateway.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windsurf.common.core.crypto.CryptoCache;
 import com.windsurf.gateway.config.SecurityProperties;
+import com.windsurf.gateway.crypto.AesStreamCipher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
@@ -11,18 +13,23 @@ import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
 
 @Slf4j
@@ -35,6 +42,11 @@ public class EncryptionFilter implements GlobalFilter, Ordered {
     private static final String ALGORITHM = "AES";
     private static final String CIPHER_MODE = "AES/ECB/PKCS5Padding";
 
+    /**
+     * 由JWT密钥派生的加密密钥，密钥配置变化时重新计算
+     */
+    private volatile DerivedKey derivedKey;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         // 检查是否需要加密
@@ -44,29 +56,22 @@ public class EncryptionFilter implements GlobalFilter, Ordered {
 
         ServerHttpRequest request = exchange.getRequest();
         ServerHttpResponse response = exchange.getResponse();
+        DataBufferFactory bufferFactory = response.bufferFactory();
 
-        // 处理请求解密
+        // 处理请求解密，报文长度发生变化，改为分块传输
         ServerHttpRequestDecorator requestDecorator = new ServerHttpRequestDecorator(request) {
             @Override
-            public Flux<DataBuffer> getBody() {
-                return super.getBody().map(dataBuffer -> {
-                    try {
-                        byte[] content = new byte[dataBuffer.readableByteCount()];
-                        dataBuffer.read(content);
-                        DataBufferUtils.release(dataBuffer);
-
-                        // 解密数据
-                        String decrypted = decrypt(new String(content, StandardCharsets.UTF_8));
-                        byte[] decryptedBytes = decrypted.getBytes(StandardCharsets.UTF_8);
+            public HttpHeaders getHeaders() {
+                return withoutContentLength(super.getHeaders());
+            }
 
-                        DataBufferFactory dataBufferFactory = exchange.getResponse().bufferFactory();
-                        DataBuffer buffer = dataBufferFactory.wrap(decryptedBytes);
-                        return buffer;
-                    } catch (Exception e) {
-                        log.error("Failed to decrypt request body", e);
-                        return dataBuffer;
-                    }
-                });
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return decryptBody(super.getBody(), bufferFactory)
+                        .onErrorMap(e -> !(e instanceof ResponseStatusException), e -> {
+                            log.error("Failed to decrypt request body", e);
+                            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Failed to decrypt request body", e);
+                        });
             }
         };
 
@@ -74,28 +79,14 @@ public class EncryptionFilter implements GlobalFilter, Ordered {
         ServerHttpResponseDecorator responseDecorator = new ServerHttpResponseDecorator(response) {
             @Override
             public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-                if (body instanceof Flux) {
-                    Flux<? extends DataBuffer> fluxBody = (Flux<? extends DataBuffer>) body;
-                    return super.writeWith(fluxBody.map(dataBuffer -> {
-                        try {
-                            byte[] content = new byte[dataBuffer.readableByteCount()];
-                            dataBuffer.read(content);
-                            DataBufferUtils.release(dataBuffer);
-
-                            // 加密数据
-                            String encrypted = encrypt(new String(content, StandardCharsets.UTF_8));
-                            byte[] encryptedBytes = encrypted.getBytes(StandardCharsets.UTF_8);
-
-                            DataBufferFactory dataBufferFactory = exchange.getResponse().bufferFactory();
-                            DataBuffer buffer = dataBufferFactory.wrap(encryptedBytes);
-                            return buffer;
-                        } catch (Exception e) {
-                            log.error("Failed to encrypt response body", e);
-                            return dataBuffer;
-                        }
-                    }));
-                }
-                return super.writeWith(body);
+                getDelegate().getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                return super.writeWith(encryptBody(Flux.from(body), bufferFactory)
+                        .doOnError(e -> log.error("Failed to encrypt response body", e)));
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return writeWith(Flux.from(body).flatMapSequential(p -> p));
             }
         };
 
@@ -116,25 +107,94 @@ public class EncryptionFilter implements GlobalFilter, Ordered {
                 .anyMatch(path::startsWith);
     }
 
-    private String encrypt(String content) throws Exception {
-        SecretKeySpec key = new SecretKeySpec(getEncryptionKey(), ALGORITHM);
-        Cipher cipher = Cipher.getInstance(CIPHER_MODE);
-        cipher.init(Cipher.ENCRYPT_MODE, key);
-        byte[] encrypted = cipher.doFinal(content.getBytes());
-        return Base64.getEncoder().encodeToString(encrypted);
+    private boolean isStreaming() {
+        return securityProperties.getEncryption().isStreaming();
+    }
+
+    private Flux<DataBuffer> decryptBody(Flux<DataBuffer> body, DataBufferFactory bufferFactory) {
+        if (isStreaming()) {
+            // 每个请求一个Cipher上下文，逐块解密
+            return transformStream(body, Cipher.DECRYPT_MODE, bufferFactory);
+        }
+        // Base64报文需要完整聚合后再解码，避免在数据块边界截断
+        return DataBufferUtils.join(body)
+                .map(dataBuffer -> {
+                    try {
+                        byte[] content = new byte[dataBuffer.readableByteCount()];
+                        dataBuffer.read(content);
+                        return bufferFactory.wrap(decrypt(content));
+                    } catch (GeneralSecurityException | IllegalArgumentException e) {
+                        throw new AesStreamCipher.CipherStreamException("AES decryption failed", e);
+                    } finally {
+                        DataBufferUtils.release(dataBuffer);
+                    }
+                })
+                .flux();
+    }
+
+    private Flux<DataBuffer> encryptBody(Flux<? extends DataBuffer> body, DataBufferFactory bufferFactory) {
+        if (isStreaming()) {
+            return transformStream(body, Cipher.ENCRYPT_MODE, bufferFactory);
+        }
+        return DataBufferUtils.join(body)
+                .map(dataBuffer -> {
+                    try {
+                        byte[] content = new byte[dataBuffer.readableByteCount()];
+                        dataBuffer.read(content);
+                        return bufferFactory.wrap(encrypt(content));
+                    } catch (GeneralSecurityException e) {
+                        throw new AesStreamCipher.CipherStreamException("AES encryption failed", e);
+                    } finally {
+                        DataBufferUtils.release(dataBuffer);
+                    }
+                })
+                .flux();
+    }
+
+    private Flux<DataBuffer> transformStream(Flux<? extends DataBuffer> body, int mode, DataBufferFactory bufferFactory) {
+        return Mono.fromCallable(() -> CryptoCache.borrowCipher(CIPHER_MODE, mode, getEncryptionKey()))
+                .flatMapMany(cipher -> new AesStreamCipher(cipher, bufferFactory).transform(body)
+                        .doFinally(signalType -> {
+                            // 取消时可能仍有数据块在其他线程处理中，直接丢弃而不归还到池中
+                            if (signalType != SignalType.CANCEL) {
+                                CryptoCache.returnCipher(CIPHER_MODE, cipher);
+                            }
+                        }));
+    }
+
+    private static HttpHeaders withoutContentLength(HttpHeaders original) {
+        if (!original.containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            return original;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        return headers;
+    }
+
+    private byte[] encrypt(byte[] content) throws GeneralSecurityException {
+        byte[] encrypted = CryptoCache.cipher(CIPHER_MODE, Cipher.ENCRYPT_MODE, getEncryptionKey()).doFinal(content);
+        return Base64.getEncoder().encode(encrypted);
     }
 
-    private String decrypt(String content) throws Exception {
-        SecretKeySpec key = new SecretKeySpec(getEncryptionKey(), ALGORITHM);
-        Cipher cipher = Cipher.getInstance(CIPHER_MODE);
-        cipher.init(Cipher.DECRYPT_MODE, key);
-        byte[] decrypted = cipher.doFinal(Base64.getDecoder().decode(content));
-        return new String(decrypted);
+    private byte[] decrypt(byte[] content) throws GeneralSecurityException {
+        return CryptoCache.cipher(CIPHER_MODE, Cipher.DECRYPT_MODE, getEncryptionKey())
+                .doFinal(Base64.getDecoder().decode(content));
+    }
+
+    private SecretKeySpec getEncryptionKey() {
+        String secret = securityProperties.getJwt().getSecret();
+        DerivedKey current = derivedKey;
+        if (current == null || !current.secret.equals(secret)) {
+            // 使用JWT密钥作为加密密钥，确保长度为16字节
+            byte[] keyBytes = secret.substring(0, Math.min(16, secret.length())).getBytes(StandardCharsets.UTF_8);
+            current = new DerivedKey(secret, new SecretKeySpec(keyBytes, ALGORITHM));
+            derivedKey = current;
+        }
+        return current.key;
     }
 
-    private byte[] getEncryptionKey() {
-        // 使用JWT密钥作为加密密钥，确保长度为16字节
-        String key = securityProperties.getJwt().getSecret();
-        return key.substring(0, Math.min(16, key.length())).getBytes(StandardCharsets.UTF_8);
+    private record DerivedKey(String secret, SecretKeySpec key) {
     }
 }
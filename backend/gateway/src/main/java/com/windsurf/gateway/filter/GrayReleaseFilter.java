@@ -1,61 +1,142 @@
 package com.windsurf.gateway.filter;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.windsurf.gateway.config.GrayReleaseProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-import java.util.Random;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * 灰度发布
+ * <p>
+ * 按用户ID（没有时按IP）的哈希值分为100个桶，桶号小于灰度比例的请求打上 {@link #GRAY_VERSION_HEADER}，
+ * 由负载均衡选择元数据版本一致的实例。同一用户的分桶固定，不会在版本间来回切换；调大比例只会增加灰度用户。
+ * 开启 gateway.gray.allow-test-headers 时，请求头 gray_version 可指定灰度版本（gray_weight 为比例，缺省100），
+ * 仅用于测试环境；默认关闭，避免外部客户端自行进入未发布的灰度版本。
+ */
 @Slf4j
 @Component
 public class GrayReleaseFilter implements GlobalFilter, Ordered {
 
+    /**
+     * 选中的灰度版本，客户端传入的会被忽略
+     */
+    public static final String GRAY_VERSION_HEADER = "X-Gray-Version";
     private static final String GRAY_VERSION = "gray_version";
     private static final String GRAY_WEIGHT = "gray_weight";
-    private final Random random = new Random();
+    private static final String ANONYMOUS = "anonymous";
+    private static final int BUCKETS = 100;
+    private static final HashFunction HASH = Hashing.murmur3_32_fixed();
+
+    private final GrayReleaseProperties properties;
+    private final KeyResolver userKeyResolver;
+    private final KeyResolver ipKeyResolver;
+
+    public GrayReleaseFilter(GrayReleaseProperties properties,
+                             @Qualifier("userKeyResolver") KeyResolver userKeyResolver,
+                             @Qualifier("ipKeyResolver") KeyResolver ipKeyResolver) {
+        this.properties = properties;
+        this.userKeyResolver = userKeyResolver;
+        this.ipKeyResolver = ipKeyResolver;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
+        boolean spoofed = request.getHeaders().containsKey(GRAY_VERSION_HEADER);
+        String serviceId = serviceId(exchange);
+        if (!properties.isEnabled() || serviceId == null) {
+            return chain.filter(spoofed ? withoutGrayVersion(exchange) : exchange);
+        }
 
-        // 检查是否有灰度发布标记
-        List<String> grayVersion = request.getHeaders().get(GRAY_VERSION);
-        List<String> grayWeight = request.getHeaders().get(GRAY_WEIGHT);
-
-        if (grayVersion != null && !grayVersion.isEmpty() && grayWeight != null && !grayWeight.isEmpty()) {
-            try {
-                int weight = Integer.parseInt(grayWeight.get(0));
-                if (shouldRouteToGrayVersion(weight)) {
-                    // 添加灰度版本标记到请求头
-                    ServerHttpRequest newRequest = request.mutate()
-                            .header("X-Gray-Version", grayVersion.get(0))
-                            .build();
-                    exchange = exchange.mutate().request(newRequest).build();
-
-                    log.debug("Request routed to gray version: {}", grayVersion.get(0));
-                }
-            } catch (NumberFormatException e) {
-                log.warn("Invalid gray weight format: {}", grayWeight.get(0));
+        String version = properties.isAllowTestHeaders() ? request.getHeaders().getFirst(GRAY_VERSION) : null;
+        int weight;
+        if (version != null && !version.isEmpty()) {
+            weight = parseWeight(request.getHeaders().getFirst(GRAY_WEIGHT));
+        } else {
+            GrayReleaseProperties.Rule rule = properties.getServices().get(serviceId);
+            if (rule == null || rule.getVersion() == null || rule.getWeight() <= 0) {
+                return chain.filter(spoofed ? withoutGrayVersion(exchange) : exchange);
             }
+            version = rule.getVersion();
+            weight = rule.getWeight();
+        }
+
+        String grayVersion = version;
+        return resolveKey(exchange).flatMap(key -> {
+            if (bucket(key) >= weight) {
+                return chain.filter(spoofed ? withoutGrayVersion(exchange) : exchange);
+            }
+            log.debug("Request routed to gray version {} of {}", grayVersion, serviceId);
+            ServerHttpRequest newRequest = request.mutate()
+                    .headers(headers -> headers.set(GRAY_VERSION_HEADER, grayVersion))
+                    .build();
+            return chain.filter(exchange.mutate().request(newRequest).build());
+        });
+    }
+
+    /**
+     * 分桶依据：用户ID，匿名请求使用IP
+     */
+    private Mono<String> resolveKey(ServerWebExchange exchange) {
+        return userKeyResolver.resolve(exchange)
+                .filter(key -> !ANONYMOUS.equals(key))
+                .switchIfEmpty(Mono.defer(() -> ipKeyResolver.resolve(exchange)))
+                .onErrorResume(e -> Mono.empty())
+                .defaultIfEmpty(ANONYMOUS);
+    }
+
+    static int bucket(String key) {
+        return Math.floorMod(HASH.hashString(key, StandardCharsets.UTF_8).asInt(), BUCKETS);
+    }
+
+    private static int parseWeight(String weight) {
+        if (weight == null) {
+            return BUCKETS;
+        }
+        try {
+            return Integer.parseInt(weight);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid gray weight format: {}", weight);
+            return 0;
         }
+    }
 
-        return chain.filter(exchange);
+    /**
+     * lb:// 路由的服务名，其他路由不参与灰度
+     */
+    private static String serviceId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return null;
+        }
+        URI uri = route.getUri();
+        return "lb".equalsIgnoreCase(uri.getScheme()) ? uri.getHost() : null;
     }
 
-    private boolean shouldRouteToGrayVersion(int weight) {
-        // weight范围：0-100
-        int randomValue = random.nextInt(100);
-        return randomValue < weight;
+    private static ServerWebExchange withoutGrayVersion(ServerWebExchange exchange) {
+        ServerHttpRequest newRequest = exchange.getRequest().mutate()
+                .headers(headers -> headers.remove(GRAY_VERSION_HEADER))
+                .build();
+        return exchange.mutate().request(newRequest).build();
     }
 
     @Override
     public int getOrder() {
-        return Ordered.HIGHEST_PRECEDENCE + 2;
+        // 在JWT验签之后执行，按验签后的X-User-ID分桶
+        return Ordered.HIGHEST_PRECEDENCE + 4;
     }
 }
@@ -0,0 +1,185 @@
+package com.windsurf.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.windsurf.common.redis.service.ReactiveRedisService;
+import com.windsurf.common.security.service.TokenBlacklistService;
+import com.windsurf.common.security.util.ClaimsEnvelope;
+import com.windsurf.common.security.util.JwtUtils;
+import com.windsurf.common.security.util.ParsedToken;
+import com.windsurf.gateway.config.SecurityProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 网关统一JWT验签
+ * <p>
+ * 验签结果按token缓存，校验过程不涉及IO，直接在事件循环线程上完成。校验通过后向下游转发
+ * X-User-ID、X-User-Name、X-User-Roles，以及配置了密钥时的HMAC声明信封 {@link ClaimsEnvelope#HEADER}。
+ * 客户端传入的同名请求头一律移除，避免伪造身份。
+ * <p>
+ * 存在Redis时检查 {@code token:revoked:<jti>}，拒绝已登出的token；检查结果按 revocation-cache-ttl 本地缓存，
+ * 登出最迟在此时间后于网关生效。Redis不可用时放行，由下游服务的注销检查兜底。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "security.jwt", name = "verify", havingValue = "true")
+public class JwtVerificationFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_ID_HEADER = "X-User-ID";
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ROLES_HEADER = "X-User-Roles";
+
+    private final SecurityProperties securityProperties;
+    private final JwtUtils jwtUtils;
+    private final String header;
+    private final String tokenPrefix;
+    private final String envelopeSecret;
+    /**
+     * 已签发的信封，与 {@link JwtUtils} 缓存的解析结果同生命周期
+     */
+    private final Cache<ParsedToken, String> envelopeCache;
+    private final ReactiveRedisService redisService;
+    /**
+     * tokenId -> 是否已注销
+     */
+    private final Cache<String, Boolean> revocationCache;
+
+    public JwtVerificationFilter(SecurityProperties securityProperties) {
+        this(securityProperties, null);
+    }
+
+    @Autowired
+    public JwtVerificationFilter(SecurityProperties securityProperties,
+                                 ObjectProvider<ReactiveRedisService> redisServiceProvider) {
+        this.securityProperties = securityProperties;
+        SecurityProperties.JwtProperties jwt = securityProperties.getJwt();
+        this.header = StringUtils.hasText(jwt.getHeader()) ? jwt.getHeader() : HttpHeaders.AUTHORIZATION;
+        this.tokenPrefix = jwt.getTokenPrefix() != null ? jwt.getTokenPrefix() : "Bearer ";
+        this.envelopeSecret = StringUtils.hasText(jwt.getEnvelopeSecret()) ? jwt.getEnvelopeSecret() : null;
+        this.envelopeCache = Caffeine.newBuilder()
+                .weakKeys()
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .build();
+        this.redisService = jwt.isRevocationCheck() && redisServiceProvider != null
+                ? redisServiceProvider.getIfAvailable()
+                : null;
+        this.revocationCache = redisService != null && jwt.getRevocationCacheTtl() > 0
+                ? Caffeine.newBuilder()
+                    .maximumSize(jwt.getRevocationCacheMaximumSize())
+                    .expireAfterWrite(jwt.getRevocationCacheTtl(), TimeUnit.SECONDS)
+                    .build()
+                : null;
+
+        com.windsurf.common.security.properties.SecurityProperties verifierProperties =
+                new com.windsurf.common.security.properties.SecurityProperties();
+        verifierProperties.getJwt().setSecret(jwt.getSecret());
+        verifierProperties.getJwt().setExpiration(jwt.getExpiration());
+        this.jwtUtils = new JwtUtils(verifierProperties);
+        this.jwtUtils.init();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpRequest.Builder builder = request.mutate().headers(headers -> {
+            headers.remove(USER_ID_HEADER);
+            headers.remove(USER_NAME_HEADER);
+            headers.remove(USER_ROLES_HEADER);
+            headers.remove(ClaimsEnvelope.HEADER);
+        });
+
+        if (shouldSkip(request)) {
+            return chain.filter(exchange.mutate().request(builder.build()).build());
+        }
+
+        String authorization = request.getHeaders().getFirst(header);
+        if (authorization == null || !authorization.startsWith(tokenPrefix)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing token"));
+        }
+
+        ParsedToken token;
+        try {
+            token = jwtUtils.parseToken(authorization.substring(tokenPrefix.length()));
+        } catch (Exception e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token"));
+        }
+        if (!token.isValid()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token"));
+        }
+
+        return isRevoked(token).flatMap(revoked -> {
+            if (revoked) {
+                return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token revoked"));
+            }
+            return chain.filter(exchange.mutate().request(withIdentity(builder, token).build()).build());
+        });
+    }
+
+    private ServerHttpRequest.Builder withIdentity(ServerHttpRequest.Builder builder, ParsedToken token) {
+        return builder.headers(headers -> {
+            if (token.getUserId() != null) {
+                headers.set(USER_ID_HEADER, String.valueOf(token.getUserId()));
+            }
+            headers.set(USER_NAME_HEADER, token.getUsername());
+            headers.set(USER_ROLES_HEADER, String.join(",", token.getRoles()));
+            if (envelopeSecret != null) {
+                headers.set(ClaimsEnvelope.HEADER,
+                        envelopeCache.get(token, key -> ClaimsEnvelope.sign(key, envelopeSecret)));
+            }
+        });
+    }
+
+    private Mono<Boolean> isRevoked(ParsedToken token) {
+        if (redisService == null) {
+            return Mono.just(false);
+        }
+        String tokenId = token.getTokenId();
+        Boolean cached = revocationCache != null ? revocationCache.getIfPresent(tokenId) : null;
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return redisService.hasKey(TokenBlacklistService.REVOKED_KEY_PREFIX + tokenId)
+                .defaultIfEmpty(false)
+                .doOnNext(revoked -> {
+                    if (revocationCache != null) {
+                        revocationCache.put(tokenId, revoked);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Token revocation check failed: {}", e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // 在限流等路由过滤器之前执行，userKeyResolver依赖X-User-ID
+        return Ordered.HIGHEST_PRECEDENCE + 3;
+    }
+
+    private boolean shouldSkip(ServerHttpRequest request) {
+        if (securityProperties.getIgnore() == null || securityProperties.getIgnore().getUrls() == null) {
+            return false;
+        }
+        String path = request.getPath().value();
+        return securityProperties.getIgnore().getUrls().stream()
+                .anyMatch(path::startsWith);
+    }
+}
@@ -0,0 +1,138 @@
+package com.windsurf.gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windsurf.gateway.config.LoadSheddingProperties;
+import com.windsurf.gateway.loadshedding.OverloadMonitor;
+import com.windsurf.gateway.loadshedding.Priority;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按优先级丢弃过载请求
+ * <p>
+ * 按路由、路径、请求头把请求分为 {@link Priority} 各档，{@link OverloadMonitor} 检测到事件循环延迟或
+ * 等待上游连接的请求数超过某档的阈值时，直接以预先序列化好的503响应丢弃该档请求，不再经过验签、限流和转发，
+ * 把有限的事件循环时间留给登录等关键请求。
+ */
+@Slf4j
+@Component
+public class LoadSheddingFilter implements GlobalFilter, Ordered {
+
+    /**
+     * 请求的优先级，{@link Priority}
+     */
+    public static final String PRIORITY_ATTR = LoadSheddingFilter.class.getName() + ".priority";
+
+    private final LoadSheddingProperties properties;
+    private final OverloadMonitor monitor;
+    private final GatewayMetrics metrics;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final byte[] sheddingBody;
+
+    public LoadSheddingFilter(LoadSheddingProperties properties, OverloadMonitor monitor, GatewayMetrics metrics,
+                              ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.monitor = monitor;
+        this.metrics = metrics;
+        this.sheddingBody = sheddingBody(objectMapper);
+    }
+
+    private static byte[] sheddingBody(ObjectMapper objectMapper) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("code", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("message", "Gateway is overloaded, please retry later");
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize load shedding response", e);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        Priority priority = classify(exchange);
+        exchange.getAttributes().put(PRIORITY_ATTR, priority);
+        if (!overloaded(priority)) {
+            return chain.filter(exchange);
+        }
+
+        metrics.recordShed(priority);
+        log.debug("Shed {} priority request {}", priority, exchange.getRequest().getPath());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(sheddingBody.length);
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfter()));
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(sheddingBody)));
+    }
+
+    private boolean overloaded(Priority priority) {
+        LoadSheddingProperties.Threshold threshold = properties.getThresholds().get(priority);
+        if (threshold == null) {
+            return false;
+        }
+        return (threshold.getEventLoopLag() != null
+                && monitor.eventLoopLagNanos() >= threshold.getEventLoopLag().toNanos())
+                || (threshold.getPendingAcquire() > 0 && monitor.pendingAcquire() >= threshold.getPendingAcquire());
+    }
+
+    Priority classify(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        for (LoadSheddingProperties.Rule rule : properties.getRules()) {
+            if (rule.getPriority() != null && matches(rule, route, path, request.getHeaders())) {
+                return rule.getPriority();
+            }
+        }
+        return properties.getDefaultPriority();
+    }
+
+    /**
+     * 规则中配置的条件全部满足才匹配
+     */
+    private boolean matches(LoadSheddingProperties.Rule rule, Route route, String path, HttpHeaders headers) {
+        if (!rule.getRoutes().isEmpty() && (route == null || !rule.getRoutes().contains(route.getId()))) {
+            return false;
+        }
+        if (!rule.getPaths().isEmpty()
+                && rule.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return false;
+        }
+        if (rule.getHeader() != null) {
+            String value = headers.getFirst(rule.getHeader());
+            return value != null && (rule.getHeaderValue() == null || rule.getHeaderValue().equals(value));
+        }
+        return true;
+    }
+
+    @Override
+    public int getOrder() {
+        // 在MetricsFilter之后，丢弃的请求仍计入指标；在验签之前，尽早丢弃
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+}
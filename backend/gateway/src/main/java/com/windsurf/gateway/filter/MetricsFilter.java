@@ -5,12 +5,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -20,17 +24,25 @@ public class MetricsFilter implements GlobalFilter, Ordered {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
         metrics.recordRequest();
 
         return chain.filter(exchange)
                 .doFinally(signalType -> {
-                    // 记录请求处理时间
-                    long duration = System.currentTimeMillis() - startTime;
-                    metrics.recordLatency(duration);
+                    // 记录请求处理时间，区分网关自身耗时和上游耗时
+                    long durationNanos = System.nanoTime() - startNanos;
+                    HttpStatus statusCode = exchange.getResponse().getStatusCode();
+                    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                    Long upstreamNanos = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR);
+                    metrics.recordExchange(
+                            route != null ? route.getId() : null,
+                            exchange.getRequest().getMethodValue(),
+                            statusClass(statusCode),
+                            exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_INSTANCE_ATTR),
+                            durationNanos,
+                            upstreamNanos != null ? upstreamNanos : 0);
 
                     // 记录错误
-                    HttpStatus statusCode = exchange.getResponse().getStatusCode();
                     if (statusCode != null && statusCode.is5xxServerError()) {
                         metrics.recordError();
                     }
@@ -51,11 +63,18 @@ public class MetricsFilter implements GlobalFilter, Ordered {
                                 exchange.getRequest().getMethod(),
                                 exchange.getRequest().getPath(),
                                 statusCode,
-                                duration);
+                                TimeUnit.NANOSECONDS.toMillis(durationNanos));
                     }
                 });
     }
 
+    private static String statusClass(HttpStatus statusCode) {
+        if (statusCode == null) {
+            return "unknown";
+        }
+        return (statusCode.value() / 100) + "xx";
+    }
+
     @Override
     public int getOrder() {
         return Ordered.HIGHEST_PRECEDENCE + 1;
@@ -1,52 +1,81 @@
 package com.windsurf.gateway.filter;
 
+import com.windsurf.gateway.accesslog.AccessLogRecord;
+import com.windsurf.gateway.accesslog.AccessLogRingBuffer;
+import com.windsurf.gateway.accesslog.AccessLogWriter;
+import com.windsurf.gateway.config.AccessLogProperties;
+import com.windsurf.gateway.metrics.GatewayMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.InetSocketAddress;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
+/**
+ * 访问日志
+ * <p>
+ * 请求结束时把请求信息写入环形缓冲区的预分配记录，由后台线程批量序列化为JSON行写入滚动文件。
+ * 事件循环线程上不做格式化和IO，缓冲区满时丢弃记录并计数。
+ */
 @Slf4j
 @Component
 public class RequestLoggingFilter implements GlobalFilter, Ordered {
 
-    @Override
-    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest request = exchange.getRequest();
-        String path = request.getURI().getPath();
-        String method = request.getMethod().name();
-        String remoteAddress = request.getRemoteAddress().getAddress().getHostAddress();
+    private final AccessLogProperties properties;
+    private final GatewayMetrics metrics;
+    /**
+     * 不记录的请求头，忽略大小写比较，无需逐个转换小写
+     */
+    private final Set<String> excludeHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private AccessLogRingBuffer ringBuffer;
+    private AccessLogWriter writer;
 
-        // 记录请求头
-        List<String> headerInfo = new ArrayList<>();
-        request.getHeaders().forEach((name, values) -> {
-            if (shouldLogHeader(name)) {
-                headerInfo.add(String.format("%s: %s", name, String.join(", ", values)));
-            }
-        });
+    public RequestLoggingFilter(AccessLogProperties properties, GatewayMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.excludeHeaders.addAll(properties.getExcludeHeaders());
+    }
 
-        // 记录请求开始时间
-        long startTime = System.currentTimeMillis();
-        exchange.getAttributes().put("startTime", startTime);
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ringBuffer = new AccessLogRingBuffer(properties.getBufferSize());
+        writer = new AccessLogWriter(ringBuffer, properties);
+        metrics.registerAccessLogMetrics(ringBuffer, writer);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
 
-        log.info("Incoming Request - Method: {}, Path: {}, Remote: {}, Headers: {}",
-                method, path, remoteAddress, headerInfo);
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (ringBuffer == null) {
+            return chain.filter(exchange);
+        }
 
-        return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-            Long startTimeAttr = exchange.getAttribute("startTime");
-            if (startTimeAttr != null) {
-                long endTime = System.currentTimeMillis();
-                long duration = endTime - startTimeAttr;
-                log.info("Response Complete - Method: {}, Path: {}, Status: {}, Duration: {}ms",
-                        method, path, exchange.getResponse().getStatusCode(), duration);
-            }
-        }));
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signalType -> record(exchange, startTime, System.nanoTime() - startNanos));
     }
 
     @Override
@@ -54,14 +83,32 @@ public class RequestLoggingFilter implements GlobalFilter, Ordered {
         return Ordered.HIGHEST_PRECEDENCE;
     }
 
-    private boolean shouldLogHeader(String headerName) {
-        // 排除一些敏感或不必要的请求头
-        List<String> excludeHeaders = List.of(
-                "cookie",
-                "authorization",
-                "proxy-authorization",
-                "x-xsrf-token"
-        );
-        return !excludeHeaders.contains(headerName.toLowerCase());
+    private void record(ServerWebExchange exchange, long startTime, long durationNanos) {
+        long sequence = ringBuffer.tryClaim();
+        if (sequence < 0) {
+            return;
+        }
+
+        // 已申请的槽位必须发布，否则消费者会停在该序号上
+        try {
+            ServerHttpRequest request = exchange.getRequest();
+            InetSocketAddress remoteAddress = request.getRemoteAddress();
+            HttpStatus status = exchange.getResponse().getStatusCode();
+            AccessLogRecord record = ringBuffer.get(sequence).set(
+                    startTime,
+                    request.getMethodValue(),
+                    request.getPath().value(),
+                    remoteAddress != null ? remoteAddress.getHostString() : null,
+                    status != null ? status.value() : 0,
+                    durationNanos);
+            for (Map.Entry<String, List<String>> header : request.getHeaders().entrySet()) {
+                if (!excludeHeaders.contains(header.getKey())) {
+                    List<String> values = header.getValue();
+                    record.addHeader(header.getKey(), values.size() == 1 ? values.get(0) : String.join(", ", values));
+                }
+            }
+        } finally {
+            ringBuffer.publish(sequence);
+        }
     }
 }
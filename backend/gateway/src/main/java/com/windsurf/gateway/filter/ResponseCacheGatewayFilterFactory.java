@@ -0,0 +1,399 @@
+package com.windsurf.gateway.filter;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.windsurf.gateway.cache.CachedResponse;
+import com.windsurf.gateway.cache.ResponseCacheStore;
+import com.windsurf.gateway.config.ResponseCacheProperties;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * GET请求的响应缓存
+ * <p>
+ * 按路由、路径、查询参数、指定请求头以及可选的用户身份生成key，缓存上游200响应。
+ * 命中时直接回放，请求带 If-None-Match 且与ETag一致时返回304；上游未给出ETag时按响应体哈希生成。
+ * 遵循 Cache-Control：请求 no-store 不使用缓存，no-cache 跳过缓存重新请求上游；
+ * 响应 no-store、no-cache 或带 Set-Cookie 的不缓存，private 只在按用户缓存时缓存，
+ * max-age/s-maxage 小于配置的有效时间时以其为准。
+ * <p>
+ * 命中的请求不再经过下游的鉴权，因此只有开启网关验签（security.jwt.verify）且请求带有
+ * {@link JwtVerificationFilter} 校验过的 X-User-ID 时才使用缓存，匿名请求和免鉴权路径直接转发；
+ * 已登出的token由 {@link JwtVerificationFilter} 拒绝，不会读取到缓存。
+ * 按用户缓存的key包含 X-User-ID 和 Authorization；不按用户缓存的只适用于所有登录用户可见的数据，如字典、配置。
+ * 上游 Vary 中的请求头必须包含在 headers 配置中，否则不缓存。
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *     args:
+ *       paths: /system/dict/**
+ *       ttl: 5m
+ *       headers: Accept-Language
+ * </pre>
+ */
+@Slf4j
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    static final String CACHE_HEADER = "X-Cache";
+    private static final String USER_ID_HEADER = JwtVerificationFilter.USER_ID_HEADER;
+    private static final HashFunction HASH = Hashing.murmur3_128();
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(s-maxage|max-age)\\s*=\\s*\"?(\\d+)");
+    /**
+     * 回放时保留的上游响应头
+     */
+    private static final List<String> REPLAY_HEADERS = List.of(HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.VARY);
+    /**
+     * Vary 中可以忽略的请求头：跨域响应头不回放，由网关的跨域配置重新生成
+     */
+    private static final List<String> IGNORED_VARY_HEADERS = List.of(HttpHeaders.ORIGIN,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+    private final ResponseCacheStore store;
+    private final ResponseCacheProperties properties;
+    private final GatewayMetrics metrics;
+    /**
+     * 网关是否验签，未验签时 X-User-ID 不可信，缓存不生效
+     */
+    private final boolean verified;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store, ResponseCacheProperties properties,
+                                             GatewayMetrics metrics,
+                                             ObjectProvider<JwtVerificationFilter> jwtVerificationFilter) {
+        super(Config.class);
+        this.store = store;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.verified = jwtVerificationFilter.getIfAvailable() != null;
+        if (!verified) {
+            log.warn("security.jwt.verify is disabled, gateway response cache will be bypassed");
+        }
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || !matchesPath(config, request.getPath().value())) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = routeId(exchange);
+            String requestCacheControl = request.getHeaders().getCacheControl();
+            if (!verified || request.getHeaders().getFirst(USER_ID_HEADER) == null
+                    || hasDirective(requestCacheControl, "no-store")) {
+                metrics.recordResponseCache(routeId, "bypass", 0);
+                return chain.filter(exchange);
+            }
+
+            String key = key(config, routeId, request);
+            boolean revalidate = hasDirective(requestCacheControl, "no-cache")
+                    || hasDirective(request.getHeaders().getPragma(), "no-cache");
+            Mono<CachedResponse> cached = revalidate ? Mono.empty() : store.get(key, config.isRedis());
+            return cached.map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(hit -> hit.isPresent()
+                            ? replay(exchange, routeId, hit.get())
+                            : forward(exchange, chain, config, routeId, key));
+        };
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, String routeId, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.getHeaders().forEach(headers::set);
+        headers.setETag(cached.getEtag());
+        headers.set(CACHE_HEADER, "HIT");
+        if (etagMatches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.getEtag())) {
+            metrics.recordResponseCache(routeId, "not_modified", cached.getBody().length);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        metrics.recordResponseCache(routeId, "hit", cached.getBody().length);
+        response.setRawStatusCode(cached.getStatus());
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, Config config, String routeId,
+                               String key) {
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        // 去掉条件请求头，上游返回完整响应才能写入缓存，是否返回304由网关判断
+        ServerHttpRequest upstreamRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                })
+                .build();
+
+        ServerHttpResponseDecorator responseDecorator = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                long ttlMillis = cacheableTtl(config, getDelegate());
+                long maxEntrySize = properties.getMaxEntrySize().toBytes();
+                if (ttlMillis <= 0 || getDelegate().getHeaders().getContentLength() > maxEntrySize) {
+                    metrics.recordResponseCache(routeId, "bypass", 0);
+                    return super.writeWith(body);
+                }
+                // 最多缓冲 maxEntrySize 字节，超过后把已缓冲的数据和剩余数据直接转发，不缓存
+                AtomicLong size = new AtomicLong();
+                return Flux.from(body)
+                        .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxEntrySize)
+                        .switchOnFirst((first, chunks) -> {
+                            if (size.get() > maxEntrySize) {
+                                metrics.recordResponseCache(routeId, "bypass", 0);
+                                return super.writeWith(chunks.flatMapIterable(Function.identity()));
+                            }
+                            return chunks.defaultIfEmpty(List.of()).concatMap(buffers -> {
+                                DataBuffer joined = bufferFactory().join(buffers);
+                                byte[] bytes = new byte[joined.readableByteCount()];
+                                joined.read(bytes);
+                                DataBufferUtils.release(joined);
+                                return write(bytes, ttlMillis);
+                            });
+                        })
+                        .then();
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return writeWith(Flux.from(body).flatMapSequential(p -> p));
+            }
+
+            private Mono<Void> write(byte[] bytes, long ttlMillis) {
+                HttpHeaders headers = getDelegate().getHeaders();
+                String etag = headers.getETag();
+                if (etag == null) {
+                    etag = '"' + HASH.hashBytes(bytes).toString() + '"';
+                    headers.setETag(etag);
+                }
+                headers.set(CACHE_HEADER, "MISS");
+                metrics.recordResponseCache(routeId, "miss", 0);
+                store.put(key, cachedResponse(getDelegate(), bytes, etag, ttlMillis), config.isRedis());
+
+                if (etagMatches(ifNoneMatch, etag)) {
+                    getDelegate().setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                    return getDelegate().setComplete();
+                }
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                headers.setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }
+        };
+
+        return chain.filter(exchange.mutate()
+                .request(upstreamRequest)
+                .response(responseDecorator)
+                .build());
+    }
+
+    private static CachedResponse cachedResponse(ServerHttpResponse response, byte[] body, String etag,
+                                                 long ttlMillis) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAY_HEADERS) {
+            String value = response.getHeaders().getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        CachedResponse cached = new CachedResponse();
+        cached.setStatus(response.getRawStatusCode() != null ? response.getRawStatusCode() : HttpStatus.OK.value());
+        cached.setHeaders(headers);
+        cached.setBody(body);
+        cached.setEtag(etag);
+        cached.setExpiresAt(System.currentTimeMillis() + ttlMillis);
+        return cached;
+    }
+
+    /**
+     * 响应可缓存时返回有效时间，否则返回0
+     */
+    private static long cacheableTtl(Config config, ServerHttpResponse response) {
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return 0;
+        }
+        HttpHeaders headers = response.getHeaders();
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || !varyCovered(config, headers.getVary())) {
+            return 0;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (hasDirective(cacheControl, "no-store") || hasDirective(cacheControl, "no-cache")
+                || (!config.isPerUser() && hasDirective(cacheControl, "private"))) {
+            return 0;
+        }
+
+        long ttl = config.getTtl().toMillis();
+        if (cacheControl != null) {
+            // s-maxage 针对共享缓存，优先于 max-age
+            long maxAge = -1;
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            while (matcher.find()) {
+                long seconds = Long.parseLong(matcher.group(2));
+                if ("s-maxage".equals(matcher.group(1)) || maxAge < 0) {
+                    maxAge = seconds;
+                }
+            }
+            if (maxAge >= 0) {
+                ttl = Math.min(ttl, maxAge * 1000);
+            }
+        }
+        return ttl;
+    }
+
+    /**
+     * Vary 中的请求头都已计入key时才能缓存，否则可能回放其他表示，如给未声明 gzip 的客户端返回压缩体
+     */
+    private static boolean varyCovered(Config config, List<String> vary) {
+        for (String header : vary) {
+            boolean covered = config.getHeaders().stream().anyMatch(header::equalsIgnoreCase)
+                    || IGNORED_VARY_HEADERS.stream().anyMatch(header::equalsIgnoreCase)
+                    || (config.isPerUser() && (USER_ID_HEADER.equalsIgnoreCase(header)
+                    || HttpHeaders.AUTHORIZATION.equalsIgnoreCase(header)));
+            if (!covered) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String key(Config config, String routeId, ServerHttpRequest request) {
+        Hasher hasher = HASH.newHasher()
+                .putString(routeId, StandardCharsets.UTF_8).putByte((byte) 0)
+                .putString(request.getPath().value(), StandardCharsets.UTF_8).putByte((byte) 0);
+        if (config.isIncludeQuery() && request.getURI().getRawQuery() != null) {
+            hasher.putString(request.getURI().getRawQuery(), StandardCharsets.UTF_8);
+        }
+        hasher.putByte((byte) 0);
+        for (String header : config.getHeaders()) {
+            putHeader(hasher, request, header);
+        }
+        if (config.isPerUser()) {
+            putHeader(hasher, request, USER_ID_HEADER);
+            putHeader(hasher, request, HttpHeaders.AUTHORIZATION);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void putHeader(Hasher hasher, ServerHttpRequest request, String header) {
+        String value = request.getHeaders().getFirst(header);
+        hasher.putString(header.toLowerCase(), StandardCharsets.UTF_8).putByte((byte) 0);
+        if (value != null) {
+            hasher.putString(value, StandardCharsets.UTF_8);
+        }
+        hasher.putByte((byte) 0);
+    }
+
+    private boolean matchesPath(Config config, String path) {
+        return config.getPaths().isEmpty()
+                || config.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "none";
+    }
+
+    static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String part : cacheControl.split(",")) {
+            String name = part.trim();
+            int eq = name.indexOf('=');
+            if ((eq >= 0 ? name.substring(0, eq).trim() : name).equalsIgnoreCase(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match 按弱比较匹配
+     */
+    static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty() || etag == null) {
+            return false;
+        }
+        String expected = weak(etag);
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate.trim()) || weak(candidate.trim()).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String weak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    @Data
+    public static class Config {
+        /**
+         * 缓存的有效时间，上游 max-age/s-maxage 更短时以上游为准
+         */
+        private Duration ttl = Duration.ofSeconds(60);
+        /**
+         * Ant风格的请求路径，为空时缓存路由下所有GET请求
+         */
+        private List<String> paths = new ArrayList<>();
+        /**
+         * key是否包含查询参数
+         */
+        private boolean includeQuery = true;
+        /**
+         * key包含的请求头，如 Accept-Language
+         */
+        private List<String> headers = new ArrayList<>();
+        /**
+         * 是否按用户缓存，key包含 X-User-ID 和 Authorization
+         */
+        private boolean perUser = false;
+        /**
+         * 是否同时缓存到Redis，多个网关节点共享
+         */
+        private boolean redis = false;
+    }
+}
@@ -0,0 +1,75 @@
+package com.windsurf.gateway.filter;
+
+import com.windsurf.gateway.loadbalancer.InstanceLoadStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+
+/**
+ * 上游耗时统计
+ * <p>
+ * 紧挨着路由转发过滤器执行，记录从发出请求到收到上游响应头的耗时，以及负载均衡选中的实例，
+ * 供 {@link MetricsFilter} 区分网关自身耗时和上游耗时，同时更新 {@link InstanceLoadStats} 供负载均衡使用。
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    /**
+     * 上游耗时（纳秒），Long
+     */
+    public static final String UPSTREAM_NANOS_ATTR = UpstreamTimingFilter.class.getName() + ".upstreamNanos";
+    /**
+     * 上游实例 host:port
+     */
+    public static final String UPSTREAM_INSTANCE_ATTR = UpstreamTimingFilter.class.getName() + ".upstreamInstance";
+
+    private final InstanceLoadStats instanceLoadStats;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        String instance = null;
+        if (requestUrl != null && requestUrl.getHost() != null) {
+            instance = requestUrl.getHost() + ':' + requestUrl.getPort();
+            exchange.getAttributes().put(UPSTREAM_INSTANCE_ATTR, instance);
+        }
+
+        long start = System.nanoTime();
+        // 不使用doFinally：其回调在下游收到完成信号之后执行，外层MetricsFilter会先于此处读取属性
+        Runnable record = () -> exchange.getAttributes().put(UPSTREAM_NANOS_ATTR, System.nanoTime() - start);
+        Mono<Void> routed = chain.filter(exchange)
+                .doOnTerminate(record)
+                .doOnCancel(record);
+        if (instance == null) {
+            return routed;
+        }
+
+        InstanceLoadStats.InstanceLoad load = instanceLoadStats.start(instance);
+        return routed.doFinally(signalType -> release(load, signalType, System.nanoTime() - start));
+    }
+
+    private static void release(InstanceLoadStats.InstanceLoad load, SignalType signalType, long nanos) {
+        if (signalType == SignalType.ON_COMPLETE) {
+            load.complete(nanos);
+        } else if (signalType == SignalType.ON_ERROR) {
+            load.fail(nanos);
+        } else {
+            load.cancel();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
@@ -0,0 +1,66 @@
+package com.windsurf.gateway.loadbalancer;
+
+import com.windsurf.gateway.config.GrayReleaseProperties;
+import com.windsurf.gateway.filter.GrayReleaseFilter;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 按实例元数据中的版本筛选候选实例
+ * <p>
+ * 带 {@link GrayReleaseFilter#GRAY_VERSION_HEADER} 的请求只选择该版本的实例；其余请求排除当前灰度版本的实例。
+ * 筛选后没有实例时退回全部实例，灰度版本下线不影响可用性。
+ */
+@Component
+public class GrayInstanceSelector {
+
+    private final GrayReleaseProperties properties;
+
+    public GrayInstanceSelector(GrayReleaseProperties properties) {
+        this.properties = properties;
+    }
+
+    public List<ServiceInstance> select(String serviceId, Request<?> request, List<ServiceInstance> instances) {
+        if (!properties.isEnabled() || instances.size() <= 1) {
+            return instances;
+        }
+
+        String grayVersion = grayVersion(request);
+        if (grayVersion != null) {
+            return filter(instances, grayVersion, true);
+        }
+        GrayReleaseProperties.Rule rule = properties.getServices().get(serviceId);
+        if (rule == null || rule.getVersion() == null) {
+            return instances;
+        }
+        return filter(instances, rule.getVersion(), false);
+    }
+
+    private List<ServiceInstance> filter(List<ServiceInstance> instances, String version, boolean matching) {
+        String metadataKey = properties.getMetadataKey();
+        List<ServiceInstance> selected = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (Objects.equals(version, instance.getMetadata().get(metadataKey)) == matching) {
+                selected.add(instance);
+            }
+        }
+        return selected.isEmpty() ? instances : selected;
+    }
+
+    private static String grayVersion(Request<?> request) {
+        if (request == null || !(request.getContext() instanceof RequestDataContext)) {
+            return null;
+        }
+        RequestDataContext context = (RequestDataContext) request.getContext();
+        if (context.getClientRequest() == null || context.getClientRequest().getHeaders() == null) {
+            return null;
+        }
+        return context.getClientRequest().getHeaders().getFirst(GrayReleaseFilter.GRAY_VERSION_HEADER);
+    }
+}
@@ -0,0 +1,138 @@
+package com.windsurf.gateway.loadbalancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.windsurf.gateway.config.LoadBalancerProperties;
+import com.windsurf.gateway.filter.UpstreamTimingFilter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 上游实例负载统计
+ * <p>
+ * 按 host:port 记录每个实例的在途请求数和上游耗时的EWMA，由 {@link UpstreamTimingFilter} 在转发前后更新，
+ * 与 {@code gateway.requests.upstream} 指标使用同一份耗时。EWMA采用峰值敏感的方式：
+ * 样本高于当前值时直接取样本，低于时按距上次更新的时间指数衰减，实例一旦变慢立即体现，恢复后逐渐回落。
+ */
+@Component
+public class InstanceLoadStats {
+
+    private final Cache<String, InstanceLoad> instances;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+
+    public InstanceLoadStats(LoadBalancerProperties properties) {
+        this.instances = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxInstances())
+                .expireAfterAccess(properties.getInstanceIdleTimeout())
+                .build();
+        this.decayNanos = Math.max(1, properties.getDecayTime().toNanos());
+        this.failurePenaltyNanos = properties.getFailurePenalty().toNanos();
+    }
+
+    /**
+     * 请求转发到实例前调用，在途请求数加一
+     *
+     * @param instance host:port
+     * @return 实例负载，请求结束时必须调用其 complete、fail、cancel 之一
+     */
+    public InstanceLoad start(String instance) {
+        InstanceLoad load = instances.get(instance, key -> new InstanceLoad());
+        load.inflight.incrementAndGet();
+        return load;
+    }
+
+    /**
+     * 实例当前的负载代价，越小越优先：耗时EWMA * (在途请求数 + 1)
+     * <p>
+     * 没有耗时样本的新实例代价为0，以便尽快获得样本；但已有在途请求时按失败惩罚估算，避免新实例瞬间涌入大量请求。
+     *
+     * @param instance host:port
+     */
+    public double cost(String instance) {
+        InstanceLoad load = instances.getIfPresent(instance);
+        if (load == null) {
+            return 0;
+        }
+        int inflight = load.inflight.get();
+        double latency = load.latency(System.nanoTime());
+        if (latency == 0 && inflight > 0) {
+            return (double) failurePenaltyNanos * inflight;
+        }
+        return latency * (inflight + 1);
+    }
+
+    /**
+     * 实例的在途请求数
+     */
+    public int inflight(String instance) {
+        InstanceLoad load = instances.getIfPresent(instance);
+        return load != null ? load.inflight.get() : 0;
+    }
+
+    /**
+     * 实例的耗时EWMA，纳秒，没有样本时为0
+     */
+    public double latencyNanos(String instance) {
+        InstanceLoad load = instances.getIfPresent(instance);
+        return load != null ? load.latency(System.nanoTime()) : 0;
+    }
+
+    /**
+     * 单个实例的负载
+     */
+    public final class InstanceLoad {
+
+        private final AtomicInteger inflight = new AtomicInteger();
+        private double ewmaNanos;
+        private long updatedAt = System.nanoTime();
+
+        private InstanceLoad() {
+        }
+
+        /**
+         * 收到上游响应
+         *
+         * @param nanos 上游耗时
+         */
+        public void complete(long nanos) {
+            inflight.decrementAndGet();
+            observe(nanos, System.nanoTime());
+        }
+
+        /**
+         * 转发失败，耗时至少按失败惩罚计入
+         *
+         * @param nanos 上游耗时
+         */
+        public void fail(long nanos) {
+            inflight.decrementAndGet();
+            observe(Math.max(nanos, failurePenaltyNanos), System.nanoTime());
+        }
+
+        /**
+         * 客户端取消，不代表实例的快慢，只减少在途请求数
+         */
+        public void cancel() {
+            inflight.decrementAndGet();
+        }
+
+        private synchronized void observe(double sample, long now) {
+            double weight = weight(now);
+            ewmaNanos = sample > ewmaNanos ? sample : ewmaNanos * weight + sample * (1 - weight);
+            updatedAt = now;
+        }
+
+        /**
+         * 读取时向0衰减，长时间没有样本的慢实例会重新获得探测机会
+         */
+        private synchronized double latency(long now) {
+            return ewmaNanos * weight(now);
+        }
+
+        private double weight(long now) {
+            return Math.exp(-Math.max(0, now - updatedAt) / decayNanos);
+        }
+    }
+}
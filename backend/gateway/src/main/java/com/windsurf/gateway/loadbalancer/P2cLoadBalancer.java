@@ -0,0 +1,76 @@
+package com.windsurf.gateway.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 两次随机选择（power of two choices）负载均衡
+ * <p>
+ * 先由 {@link GrayInstanceSelector} 按灰度版本筛选，再随机取两个不同的实例，
+ * 选择 {@link InstanceLoadStats#cost(String)} 较小的一个。
+ * 变慢或GC停顿的实例耗时升高、在途请求堆积，几乎不会再被选中；只比较两个实例，
+ * 避免所有网关节点同时涌向同一个"最快"实例。
+ */
+@Slf4j
+public class P2cLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final InstanceLoadStats stats;
+    private final GrayInstanceSelector grayInstanceSelector;
+
+    public P2cLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                           String serviceId, InstanceLoadStats stats, GrayInstanceSelector grayInstanceSelector) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.stats = stats;
+        this.grayInstanceSelector = grayInstanceSelector;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next()
+                .map(instances -> choose(grayInstanceSelector.select(serviceId, request, instances)));
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(stats.cost(key(a)) <= stats.cost(key(b)) ? a : b);
+    }
+
+    /**
+     * 与 {@link com.windsurf.gateway.filter.UpstreamTimingFilter#UPSTREAM_INSTANCE_ATTR} 一致的实例标识
+     */
+    static String key(ServiceInstance instance) {
+        return instance.getHost() + ':' + instance.getPort();
+    }
+}
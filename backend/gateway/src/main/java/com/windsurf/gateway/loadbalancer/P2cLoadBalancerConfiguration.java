@@ -0,0 +1,25 @@
+package com.windsurf.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * 各服务负载均衡子上下文的配置，由 {@link com.windsurf.gateway.config.LoadBalancerConfig} 注册。
+ * 不加 {@code @Configuration}，避免被网关主上下文扫描。
+ */
+public class P2cLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment, LoadBalancerClientFactory loadBalancerClientFactory, InstanceLoadStats stats,
+            GrayInstanceSelector grayInstanceSelector) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new P2cLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, stats, grayInstanceSelector);
+    }
+}
@@ -0,0 +1,134 @@
+package com.windsurf.gateway.loadshedding;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.windsurf.gateway.config.LoadSheddingProperties;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 网关过载检测
+ * <p>
+ * 后台线程定期向每个服务端事件循环提交一个空任务，从提交到执行的时间即事件循环的排队延迟；
+ * 上一次提交的任务仍未执行时按已等待的时间计算，事件循环完全卡住也能发现。
+ * 同时读取Reactor Netty连接池的 {@value #PENDING_CONNECTIONS} 指标（需开启
+ * {@code spring.cloud.gateway.httpclient.pool.metrics}），即等待上游连接的请求数。
+ * 请求线程只读取两个volatile字段，不产生额外开销。
+ */
+@Slf4j
+@Component
+public class OverloadMonitor {
+
+    static final String PENDING_CONNECTIONS = "reactor.netty.connection.provider.pending.connections";
+
+    private final LoadSheddingProperties properties;
+    private final GatewayMetrics metrics;
+    private final List<Probe> probes = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private volatile long eventLoopLagNanos;
+    private volatile int pendingAcquire;
+
+    public OverloadMonitor(LoadSheddingProperties properties, GatewayMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (EventExecutor executor : HttpResources.get().onServer(LoopResources.DEFAULT_NATIVE)) {
+            probes.add(new Probe(executor));
+        }
+        metrics.registerLoadSheddingMetrics(this);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("overload-monitor").setDaemon(true).build());
+        long interval = properties.getProbeInterval().toNanos();
+        scheduler.scheduleWithFixedDelay(this::sample, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void sample() {
+        try {
+            long now = System.nanoTime();
+            long lag = 0;
+            for (Probe probe : probes) {
+                lag = Math.max(lag, probe.sample(now));
+            }
+            eventLoopLagNanos = lag;
+            pendingAcquire = (int) Metrics.globalRegistry.find(PENDING_CONNECTIONS).gauges().stream()
+                    .mapToDouble(Gauge::value)
+                    .filter(value -> !Double.isNaN(value))
+                    .sum();
+        } catch (Exception e) {
+            log.warn("Failed to sample gateway load: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 最近一次采样的事件循环排队延迟，取所有事件循环的最大值
+     */
+    public long eventLoopLagNanos() {
+        return eventLoopLagNanos;
+    }
+
+    /**
+     * 最近一次采样的等待上游连接的请求数
+     */
+    public int pendingAcquire() {
+        return pendingAcquire;
+    }
+
+    /**
+     * 单个事件循环的探测任务
+     */
+    private static final class Probe {
+
+        private final EventExecutor executor;
+        /**
+         * 未执行的探测任务的提交时间，0表示没有未执行的任务
+         */
+        private final AtomicLong submittedAt = new AtomicLong();
+        private volatile long lastLagNanos;
+
+        private Probe(EventExecutor executor) {
+            this.executor = executor;
+        }
+
+        private long sample(long now) {
+            long pending = submittedAt.get();
+            if (pending != 0) {
+                return Math.max(lastLagNanos, now - pending);
+            }
+            long lag = lastLagNanos;
+            submittedAt.set(now);
+            executor.execute(() -> {
+                lastLagNanos = System.nanoTime() - now;
+                submittedAt.set(0);
+            });
+            return lag;
+        }
+    }
+}
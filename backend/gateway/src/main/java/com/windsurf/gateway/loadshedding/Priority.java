@@ -0,0 +1,23 @@
+package com.windsurf.gateway.loadshedding;
+
+/**
+ * 请求优先级，过载时从低到高依次丢弃
+ */
+public enum Priority {
+    /**
+     * 批量、报表等可重试的请求，最先丢弃
+     */
+    LOW,
+    /**
+     * 普通业务请求
+     */
+    NORMAL,
+    /**
+     * 重要业务请求
+     */
+    HIGH,
+    /**
+     * 登录、刷新令牌等关键请求，不丢弃
+     */
+    CRITICAL
+}
@@ -1,24 +1,88 @@
 package com.windsurf.gateway.metrics;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.windsurf.common.core.crypto.CryptoCache;
+import com.windsurf.gateway.accesslog.AccessLogRingBuffer;
+import com.windsurf.gateway.accesslog.AccessLogWriter;
+import com.windsurf.gateway.loadshedding.OverloadMonitor;
+import com.windsurf.gateway.loadshedding.Priority;
+import com.windsurf.gateway.ratelimit.AdaptiveConcurrencyLimiter;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 
 @Component
 @Getter
 public class GatewayMetrics {
 
+    private static final String OTHER = "other";
+    /**
+     * 超过标签组合上限后所有请求归入的唯一序列
+     */
+    private static final ExchangeSeries OVERFLOW_SERIES = new ExchangeSeries(OTHER, OTHER, OTHER, OTHER);
+    private static final long MIN_EXPECTED_NANOS = 10_000;
+
     private final Counter totalRequestsCounter;
     private final Counter errorRequestsCounter;
     private final Timer requestLatencyTimer;
     private final Counter rateLimitedRequestsCounter;
     private final Counter circuitBreakerTripsCounter;
+    private final Counter rateLimitSyncSuccessCounter;
+    private final Counter rateLimitSyncFailureCounter;
+    private final MeterRegistry registry;
+    /**
+     * 按key类别区分的限流计数，key为 keyClass + ':' + result
+     */
+    private final Map<String, Counter> rateLimitCounters = new ConcurrentHashMap<>();
+    /**
+     * 按路由区分的自适应并发限制拒绝计数
+     */
+    private final Map<String, Counter> concurrencyRejectedCounters = new ConcurrentHashMap<>();
+    /**
+     * 按优先级区分的过载丢弃计数
+     */
+    private final Map<Priority, Counter> sheddingCounters = new ConcurrentHashMap<>();
+    /**
+     * 按路由、结果区分的响应缓存计数，key为 routeId + ':' + result
+     */
+    private final Map<String, Counter> responseCacheCounters = new ConcurrentHashMap<>();
+    /**
+     * 按路由区分的响应缓存节省的上游响应字节数
+     */
+    private final Map<String, Counter> responseCacheBytesSavedCounters = new ConcurrentHashMap<>();
+    /**
+     * 按路由、方法、状态类别、上游实例区分的耗时直方图
+     */
+    private final Map<ExchangeSeries, ExchangeTimers> exchangeTimers = new ConcurrentHashMap<>();
+    /**
+     * 耗时直方图的最大标签组合数，超过后新的组合全部归入 {@link #OVERFLOW_SERIES}
+     */
+    private final int maxExchangeSeries;
+    private final Counter exchangeSeriesOverflowCounter;
 
     public GatewayMetrics(MeterRegistry registry) {
+        this(registry, 1000);
+    }
+
+    @Autowired
+    public GatewayMetrics(MeterRegistry registry,
+                          @Value("${gateway.metrics.max-exchange-series:1000}") int maxExchangeSeries) {
+        this.registry = registry;
+        this.maxExchangeSeries = maxExchangeSeries;
         this.totalRequestsCounter = Counter.builder("gateway.requests.total")
                 .description("Total number of requests processed")
                 .register(registry);
@@ -39,6 +103,56 @@ public class GatewayMetrics {
         this.circuitBreakerTripsCounter = Counter.builder("gateway.circuit_breaker.trips")
                 .description("Number of circuit breaker trips")
                 .register(registry);
+
+        this.rateLimitSyncSuccessCounter = Counter.builder("gateway.ratelimit.sync")
+                .description("Rate limiter reconciliation batches sent to Redis")
+                .tag("result", "success")
+                .register(registry);
+
+        this.rateLimitSyncFailureCounter = Counter.builder("gateway.ratelimit.sync")
+                .description("Rate limiter reconciliation batches sent to Redis")
+                .tag("result", "failure")
+                .register(registry);
+
+        this.exchangeSeriesOverflowCounter = Counter.builder("gateway.requests.series.overflow")
+                .description("Requests recorded under the 'other' series because the tag cardinality limit was reached")
+                .register(registry);
+
+        registerCryptoCacheMetrics(registry);
+    }
+
+    private void registerCryptoCacheMetrics(MeterRegistry registry) {
+        for (CryptoCache.Primitive primitive : CryptoCache.Primitive.values()) {
+            String name = primitive.name().toLowerCase();
+            FunctionCounter.builder("gateway.crypto.cache.requests", primitive, CryptoCache::hits)
+                    .description("Crypto primitive cache lookups")
+                    .tag("primitive", name)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("gateway.crypto.cache.requests", primitive, CryptoCache::misses)
+                    .description("Crypto primitive cache lookups")
+                    .tag("primitive", name)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("gateway.crypto.cache.allocations", primitive, CryptoCache::allocations)
+                    .description("Crypto primitives created")
+                    .tag("primitive", name)
+                    .register(registry);
+        }
+    }
+
+    public void registerAccessLogMetrics(AccessLogRingBuffer ringBuffer, AccessLogWriter writer) {
+        FunctionCounter.builder("gateway.accesslog.records", ringBuffer, AccessLogRingBuffer::consumed)
+                .description("Access log records written")
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("gateway.accesslog.records", ringBuffer, AccessLogRingBuffer::dropped)
+                .description("Access log records dropped because the ring buffer was full")
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("gateway.accesslog.write.errors", writer, AccessLogWriter::writeErrors)
+                .description("Access log file write failures")
+                .register(registry);
     }
 
     public void recordRequest() {
@@ -53,11 +167,176 @@ public class GatewayMetrics {
         requestLatencyTimer.record(timeInMs, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * 记录一次请求的耗时
+     *
+     * @param routeId       路由id，未匹配路由时为null
+     * @param method        请求方法，非标准方法记为 OTHER
+     * @param statusClass   状态类别，如 2xx
+     * @param upstream      上游实例 host:port，未转发时为null
+     * @param totalNanos    网关处理总耗时
+     * @param upstreamNanos 等待上游响应的耗时，未转发时为0
+     */
+    public void recordExchange(String routeId, String method, String statusClass, String upstream,
+                               long totalNanos, long upstreamNanos) {
+        requestLatencyTimer.record(totalNanos, TimeUnit.NANOSECONDS);
+
+        // 客户端可以发送任意方法名，只保留标准方法避免标签无限增长
+        String methodTag = HttpMethod.resolve(method) != null ? method : "OTHER";
+        ExchangeSeries series = new ExchangeSeries(routeId != null ? routeId : "none", methodTag, statusClass,
+                upstream != null ? upstream : "none");
+        ExchangeTimers timers = exchangeTimers.get(series);
+        if (timers == null) {
+            if (exchangeTimers.size() >= maxExchangeSeries) {
+                exchangeSeriesOverflowCounter.increment();
+                series = OVERFLOW_SERIES;
+            }
+            timers = exchangeTimers.computeIfAbsent(series, this::newExchangeTimers);
+        }
+
+        timers.total.record(totalNanos, TimeUnit.NANOSECONDS);
+        if (upstreamNanos > 0) {
+            timers.upstream.record(upstreamNanos, TimeUnit.NANOSECONDS);
+        }
+        timers.overhead.record(Math.max(0, totalNanos - upstreamNanos), TimeUnit.NANOSECONDS);
+    }
+
+    private ExchangeTimers newExchangeTimers(ExchangeSeries series) {
+        return new ExchangeTimers(
+                exchangeTimer("gateway.requests.duration", "Total time spent on the request", series),
+                exchangeTimer("gateway.requests.upstream", "Time waiting for the upstream response", series),
+                exchangeTimer("gateway.requests.overhead", "Time spent in the gateway filter chain", series));
+    }
+
+    private Timer exchangeTimer(String name, String description, ExchangeSeries series) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("route", series.route())
+                .tag("method", series.method())
+                .tag("status", series.status())
+                .tag("upstream", series.upstream())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(MIN_EXPECTED_NANOS))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(registry);
+    }
+
     public void recordRateLimited() {
         rateLimitedRequestsCounter.increment();
     }
 
+    public void recordRateLimit(String keyClass, boolean allowed) {
+        String result = allowed ? "allowed" : "blocked";
+        rateLimitCounters.computeIfAbsent(keyClass + ':' + result, key -> Counter.builder("gateway.ratelimit.requests")
+                .description("Rate limiter decisions by key class")
+                .tag("key_class", keyClass)
+                .tag("result", result)
+                .register(registry))
+                .increment();
+    }
+
+    /**
+     * 注册路由的自适应并发限制指标，路由刷新后重新创建的限制器通过supplier取到
+     *
+     * @param routeId 路由id
+     * @param limiter 路由当前的限制器，可能为null
+     */
+    public void registerConcurrencyLimiter(String routeId, Supplier<AdaptiveConcurrencyLimiter> limiter) {
+        concurrencyGauge("gateway.concurrency.limit", "Current adaptive concurrency limit",
+                routeId, limiter, AdaptiveConcurrencyLimiter::getLimit);
+        concurrencyGauge("gateway.concurrency.inflight", "Requests in flight under the concurrency limit",
+                routeId, limiter, AdaptiveConcurrencyLimiter::getInflight);
+        concurrencyGauge("gateway.concurrency.queue", "Estimated requests queued upstream beyond the no-load latency",
+                routeId, limiter, AdaptiveConcurrencyLimiter::getQueued);
+    }
+
+    private void concurrencyGauge(String name, String description, String routeId,
+                                  Supplier<AdaptiveConcurrencyLimiter> limiter,
+                                  ToDoubleFunction<AdaptiveConcurrencyLimiter> value) {
+        Gauge.builder(name, limiter, supplier -> {
+                    AdaptiveConcurrencyLimiter current = supplier.get();
+                    return current != null ? value.applyAsDouble(current) : Double.NaN;
+                })
+                .description(description)
+                .tag("route", routeId)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    public void recordConcurrencyRejected(String routeId) {
+        concurrencyRejectedCounters.computeIfAbsent(routeId, key -> Counter.builder("gateway.concurrency.rejected")
+                .description("Requests rejected because the adaptive concurrency limit was reached")
+                .tag("route", routeId)
+                .register(registry))
+                .increment();
+    }
+
+    public void registerLoadSheddingMetrics(OverloadMonitor monitor) {
+        Gauge.builder("gateway.loadshedding.eventloop.lag", monitor, m -> m.eventLoopLagNanos() / 1e6)
+                .description("Delay before a task submitted to the server event loops runs, in milliseconds")
+                .register(registry);
+        Gauge.builder("gateway.loadshedding.pending.acquire", monitor, OverloadMonitor::pendingAcquire)
+                .description("Requests waiting for an upstream connection")
+                .register(registry);
+    }
+
+    public void recordShed(Priority priority) {
+        sheddingCounters.computeIfAbsent(priority, key -> Counter.builder("gateway.loadshedding.dropped")
+                .description("Requests dropped by priority load shedding")
+                .tag("priority", priority.name().toLowerCase())
+                .register(registry))
+                .increment();
+    }
+
+    public void registerResponseCacheMetrics(Cache<String, ?> cache) {
+        Gauge.builder("gateway.response.cache.size", cache, Cache::estimatedSize)
+                .description("Responses held in the local response cache")
+                .register(registry);
+        Gauge.builder("gateway.response.cache.bytes", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .description("Body bytes held in the local response cache")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * 记录一次响应缓存查询
+     *
+     * @param routeId    路由id
+     * @param result     hit、not_modified、miss、bypass
+     * @param bytesSaved 未从上游读取的响应体字节数，未命中时为0
+     */
+    public void recordResponseCache(String routeId, String result, long bytesSaved) {
+        responseCacheCounters.computeIfAbsent(routeId + ':' + result,
+                key -> Counter.builder("gateway.response.cache.requests")
+                        .description("Response cache lookups by result")
+                        .tag("route", routeId)
+                        .tag("result", result)
+                        .register(registry))
+                .increment();
+        if (bytesSaved > 0) {
+            responseCacheBytesSavedCounters.computeIfAbsent(routeId,
+                    key -> Counter.builder("gateway.response.cache.bytes.saved")
+                            .description("Response body bytes served from the cache instead of the upstream")
+                            .baseUnit("bytes")
+                            .tag("route", routeId)
+                            .register(registry))
+                    .increment(bytesSaved);
+        }
+    }
+
+    public void recordRateLimitSync(boolean success) {
+        (success ? rateLimitSyncSuccessCounter : rateLimitSyncFailureCounter).increment();
+    }
+
     public void recordCircuitBreakerTrip() {
         circuitBreakerTripsCounter.increment();
     }
+
+    private record ExchangeSeries(String route, String method, String status, String upstream) {
+    }
+
+    private record ExchangeTimers(Timer total, Timer upstream, Timer overhead) {
+    }
 }
@@ -0,0 +1,147 @@
+package com.windsurf.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 自适应并发限制（Gradient算法）
+ * <p>
+ * 用长期RTT的指数平均作为无排队时的基准，与短期RTT（约最近 {@value #SHORT_WINDOW} 个样本的指数平均）比较得到梯度：
+ * {@code gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)}，{@code newLimit = limit * gradient + queueSize}，
+ * 再按 {@code smoothing} 与旧值加权。上游变慢时梯度小于1，限制按比例收缩；耗时回到基准时每次增加 {@code queueSize}。
+ * 短期平均平滑单个请求的耗时抖动，避免正常的长尾请求压低限制。
+ * 在途请求不到限制的一半时不增长，避免空闲时限制无限膨胀；转发失败按 {@code backoffRatio} 乘性收缩。
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 长期RTT明显偏高时的衰减系数，避免持续高负载后基准无法回落
+     */
+    private static final double LONG_RTT_DECAY = 0.95;
+    /**
+     * 前若干个样本取算术平均作为长期RTT的初值
+     */
+    private static final int WARMUP_SAMPLES = 10;
+    /**
+     * 短期RTT的平滑窗口（样本数）
+     */
+    private static final int SHORT_WINDOW = 10;
+    private static final double SHORT_RTT_FACTOR = 2.0 / (SHORT_WINDOW + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueSize;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double backoffRatio;
+    private final double longRttFactor;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+    private volatile double queued;
+    private double estimatedLimit;
+    private double longRtt;
+    private double shortRtt;
+    private int samples;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int queueSize,
+                                      double smoothing, double rttTolerance, double backoffRatio, int longWindow) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.queueSize = queueSize;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.backoffRatio = backoffRatio;
+        this.longRttFactor = 2.0 / (Math.max(1, longWindow) + 1);
+        this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * 获取一个并发名额
+     *
+     * @return 在途请求已达到限制时为false，此时不占用名额
+     */
+    public boolean tryAcquire() {
+        if (inflight.incrementAndGet() > limit) {
+            inflight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 请求完成，归还名额并按耗时调整限制
+     *
+     * @param rttNanos 请求耗时
+     * @param dropped  是否转发失败或上游过载（超时、503等）
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int current = inflight.getAndDecrement();
+        onSample(rttNanos, current, dropped);
+    }
+
+    /**
+     * 请求被取消，只归还名额，耗时不计入
+     */
+    public void cancel() {
+        inflight.decrementAndGet();
+    }
+
+    private synchronized void onSample(long rttNanos, int inflightAtCompletion, boolean dropped) {
+        if (dropped) {
+            setEstimatedLimit(estimatedLimit * backoffRatio);
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        double rtt = rttNanos;
+        if (samples < WARMUP_SAMPLES) {
+            samples++;
+            longRtt += (rtt - longRtt) / samples;
+            shortRtt += (rtt - shortRtt) / samples;
+        } else {
+            longRtt += (rtt - longRtt) * longRttFactor;
+            shortRtt += (rtt - shortRtt) * SHORT_RTT_FACTOR;
+        }
+        // 只在短期平均明显低于基准时衰减，单个快速请求不影响基准
+        if (longRtt / shortRtt > 2) {
+            longRtt *= LONG_RTT_DECAY;
+        }
+        queued = Math.max(0, inflightAtCompletion * (1 - longRtt / shortRtt));
+
+        if (inflightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + queueSize;
+        setEstimatedLimit(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private void setEstimatedLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * 当前并发限制
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 在途请求数
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 估算的上游排队请求数：在途请求中超出无排队耗时的部分
+     */
+    public double getQueued() {
+        return queued;
+    }
+}
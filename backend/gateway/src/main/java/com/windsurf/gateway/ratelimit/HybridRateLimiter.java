@@ -0,0 +1,239 @@
+package com.windsurf.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.windsurf.gateway.config.RateLimitProperties;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.constraints.Min;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地令牌桶 + Redis对账的混合限流器
+ * <p>
+ * 每个请求只访问本地令牌桶（GCRA，单个CAS，无锁），不等待Redis。后台按 {@code gateway.rate-limit.sync-interval}
+ * 将各key的消耗批量上报到Redis中的全局令牌桶，并用返回的全局剩余令牌收紧本地令牌桶，
+ * 集群整体超发量不超过 节点数 × 对账间隔 × 补充速率。Redis超时或不可用时，各节点按本地令牌桶独立限流。
+ * <p>
+ * 路由配置示例：{@code rate-limiter: "#{@hybridRateLimiter}"}，
+ * {@code hybrid-rate-limiter.replenish-rate}、{@code hybrid-rate-limiter.burst-capacity}、
+ * {@code hybrid-rate-limiter.key-class}（指标标签，如 user、ip、api）。
+ */
+@Slf4j
+@Primary
+@Component
+public class HybridRateLimiter extends AbstractRateLimiter<HybridRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "hybrid-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private static final String KEY_PREFIX = "gateway:rate_limiter:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final GatewayMetrics metrics;
+    private final RateLimitProperties properties;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> script;
+    private final Cache<String, Bucket> buckets;
+    private Disposable reconciliation;
+
+    public HybridRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                             ConfigurationService configurationService,
+                             GatewayMetrics metrics,
+                             RateLimitProperties properties) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.redisTemplate = redisTemplate;
+        this.metrics = metrics;
+        this.properties = properties;
+        this.script = RedisScript.of(new ClassPathResource("scripts/hybrid_rate_limiter.lua"), List.class);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getBucketIdleTimeout())
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        reconciliation = Flux.interval(properties.getSyncInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> reconcile(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (reconciliation != null) {
+            reconciliation.dispose();
+        }
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            throw new IllegalArgumentException("No Configuration found for route " + routeId);
+        }
+
+        Bucket bucket = buckets.get(routeId + ':' + id, key -> new Bucket(KEY_PREFIX + key, config));
+        long now = System.nanoTime();
+        boolean allowed = bucket.tryAcquire(now);
+        metrics.recordRateLimit(config.getKeyClass(), allowed);
+
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put(REMAINING_HEADER, String.valueOf(bucket.remaining(now)));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        return Mono.just(new Response(allowed, headers));
+    }
+
+    /**
+     * 上报各令牌桶的消耗，按路由配置分组，每组每批一次脚本调用
+     */
+    Mono<Void> reconcile() {
+        Map<Config, List<Bucket>> groups = new IdentityHashMap<>();
+        for (Bucket bucket : buckets.asMap().values()) {
+            if (bucket.pending.get() > 0) {
+                groups.computeIfAbsent(bucket.config, config -> new ArrayList<>()).add(bucket);
+            }
+        }
+        if (groups.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Flux.fromIterable(groups.entrySet())
+                .flatMap(group -> Flux.fromIterable(group.getValue())
+                        .buffer(properties.getSyncBatchSize())
+                        .flatMap(batch -> reconcileBatch(group.getKey(), batch)))
+                .then();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Void> reconcileBatch(Config config, List<Bucket> batch) {
+        List<String> keys = new ArrayList<>(batch.size());
+        List<String> args = new ArrayList<>(batch.size() + 2);
+        args.add(String.valueOf(config.getReplenishRate()));
+        args.add(String.valueOf(config.getBurstCapacity()));
+        for (Bucket bucket : batch) {
+            keys.add(bucket.redisKey);
+            args.add(String.valueOf(bucket.pending.getAndSet(0)));
+        }
+
+        return redisTemplate.execute(script, keys, args)
+                .next()
+                .timeout(properties.getSyncTimeout())
+                .doOnNext(result -> {
+                    long now = System.nanoTime();
+                    for (int i = 0; i < batch.size() && i < result.size(); i++) {
+                        batch.get(i).reconcile(((Number) result.get(i)).longValue(), now);
+                    }
+                    metrics.recordRateLimitSync(true);
+                })
+                .onErrorResume(e -> {
+                    // 本轮消耗不再补报，避免恢复后一次性扣减导致误限流
+                    log.warn("Rate limiter reconciliation failed for {} keys: {}", keys.size(), e.toString());
+                    metrics.recordRateLimitSync(false);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * 基于GCRA的本地令牌桶，状态为理论到达时间（TAT），单个CAS完成取令牌
+     */
+    static final class Bucket {
+
+        private final String redisKey;
+        private final Config config;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+        /**
+         * 上次对账后本地消耗的令牌数
+         */
+        private final AtomicLong pending = new AtomicLong();
+
+        Bucket(String redisKey, Config config) {
+            this.redisKey = redisKey;
+            this.config = config;
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getReplenishRate();
+            this.burstNanos = intervalNanos * Math.max(1, config.getBurstCapacity());
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + intervalNanos;
+                if (next - now > burstNanos) {
+                    return false;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    pending.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+
+        long remaining(long now) {
+            long backlog = Math.max(tat.get(), now) - now;
+            return Math.max(0, (burstNanos - backlog) / intervalNanos);
+        }
+
+        /**
+         * 用全局剩余令牌收紧本地令牌桶，只收紧不放宽，本地令牌桶自然补充
+         *
+         * @param globalTokens Redis中全局令牌桶的剩余令牌数，可能为负
+         */
+        void reconcile(long globalTokens, long now) {
+            long target = now + burstNanos - globalTokens * intervalNanos;
+            long current;
+            do {
+                current = tat.get();
+                if (current >= target) {
+                    return;
+                }
+            } while (!tat.compareAndSet(current, target));
+        }
+    }
+
+    @Data
+    @Validated
+    public static class Config {
+        /**
+         * 每秒补充的令牌数
+         */
+        @Min(1)
+        private int replenishRate;
+        /**
+         * 令牌桶容量
+         */
+        @Min(1)
+        private int burstCapacity = 1;
+        /**
+         * key的类别，用作指标标签
+         */
+        private String keyClass = "default";
+    }
+}
@@ -0,0 +1,28 @@
+-- 批量对账：将各节点上报的消耗从全局令牌桶中扣除，返回每个key剩余的令牌数
+-- KEYS[i]: 令牌桶key
+-- ARGV[1]: 每秒补充的令牌数，ARGV[2]: 桶容量，ARGV[2 + i]: KEYS[i]在本轮的消耗
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local ttl = math.ceil(capacity / rate * 2) + 1
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local result = {}
+for i, key in ipairs(KEYS) do
+    local consumed = tonumber(ARGV[2 + i])
+    local state = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(state[1]) or capacity
+    local ts = tonumber(state[2]) or now
+
+    tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000) - consumed
+    -- 透支最多一个桶容量，避免长时间阻塞
+    if tokens < -capacity then
+        tokens = -capacity
+    end
+
+    redis.call('HSET', key, 'tokens', tokens, 'ts', now)
+    redis.call('EXPIRE', key, ttl)
+    result[i] = math.floor(tokens)
+end
+return result
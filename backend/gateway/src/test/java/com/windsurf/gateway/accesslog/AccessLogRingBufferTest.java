@@ -0,0 +1,69 @@
+package com.windsurf.gateway.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    void capacity_ShouldRoundUpToPowerOfTwo() {
+        assertEquals(8, new AccessLogRingBuffer(5).capacity());
+        assertEquals(8, new AccessLogRingBuffer(8).capacity());
+    }
+
+    @Test
+    void tryClaim_WhenFull_ShouldDropWithoutBlocking() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            publish(ringBuffer, "/path/" + i);
+        }
+
+        assertEquals(-1, ringBuffer.tryClaim());
+        assertEquals(1, ringBuffer.dropped());
+
+        List<String> paths = new ArrayList<>();
+        assertEquals(4, ringBuffer.drain(record -> paths.add(record.path), 10));
+        assertEquals(List.of("/path/0", "/path/1", "/path/2", "/path/3"), paths);
+
+        // 消费后槽位可复用，且记录引用已释放
+        publish(ringBuffer, "/path/4");
+        assertEquals(1, ringBuffer.drain(record -> assertEquals("/path/4", record.path), 10));
+        assertEquals(5, ringBuffer.consumed());
+    }
+
+    @Test
+    void drain_ShouldStopAtUnpublishedSlot() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(4);
+        long first = ringBuffer.tryClaim();
+        publish(ringBuffer, "/second");
+
+        assertEquals(0, ringBuffer.drain(record -> fail("unpublished slot consumed"), 10));
+
+        ringBuffer.get(first).set(0, "GET", "/first", null, 200, 0);
+        ringBuffer.publish(first);
+        assertEquals(2, ringBuffer.drain(record -> { }, 10));
+    }
+
+    @Test
+    void appendJson_ShouldEscapeValues() {
+        AccessLogRecord record = new AccessLogRecord().set(1L, "GET", "/a\"b", "127.0.0.1", 200, 1500_000);
+        record.addHeader("User-Agent", "curl\\8.0\n");
+        StringBuilder out = new StringBuilder();
+
+        record.appendJson(out);
+
+        assertEquals("{\"ts\":1,\"method\":\"GET\",\"path\":\"/a\\\"b\",\"remote\":\"127.0.0.1\",\"status\":200,"
+                + "\"durationUs\":1500,\"headers\":{\"User-Agent\":\"curl\\\\8.0\\n\"}}\n", out.toString());
+    }
+
+    private static void publish(AccessLogRingBuffer ringBuffer, String path) {
+        long sequence = ringBuffer.tryClaim();
+        assertTrue(sequence >= 0);
+        ringBuffer.get(sequence).set(0, "GET", path, null, 200, 0);
+        ringBuffer.publish(sequence);
+    }
+}
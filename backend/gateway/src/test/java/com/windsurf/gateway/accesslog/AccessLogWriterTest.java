@@ -0,0 +1,49 @@
+package com.windsurf.gateway.accesslog;
+
+import com.windsurf.gateway.config.AccessLogProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void drainOnce_ShouldRollByEncodedBytes() throws IOException {
+        AccessLogRecord record = new AccessLogRecord().set(1L, "GET", "/system/字典/性别", "127.0.0.1", 200, 1000);
+        StringBuilder json = new StringBuilder();
+        record.appendJson(json);
+        int bytes = json.toString().getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(json.length() < bytes);
+
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setFile(dir.resolve("access.log").toString());
+        properties.setMaxFileSize(DataSize.ofBytes(bytes));
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(4);
+        AccessLogWriter writer = new AccessLogWriter(ringBuffer, properties);
+
+        long sequence = ringBuffer.tryClaim();
+        ringBuffer.get(sequence).set(1L, "GET", "/system/字典/性别", "127.0.0.1", 200, 1000);
+        ringBuffer.publish(sequence);
+        assertEquals(1, writer.drainOnce());
+
+        // 按字符数计算时未达到上限，按UTF-8字节数已达到，应滚动
+        try (Stream<Path> files = Files.list(dir)) {
+            Path rolled = files.filter(path -> path.getFileName().toString().startsWith("access.log."))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(json.toString(), Files.readString(rolled));
+        }
+        assertEquals(0, writer.writeErrors());
+    }
+}
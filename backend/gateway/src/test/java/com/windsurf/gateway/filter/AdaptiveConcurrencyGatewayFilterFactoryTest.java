@@ -0,0 +1,71 @@
+package com.windsurf.gateway.filter;
+
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyGatewayFilterFactoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyGatewayFilterFactory factory =
+            new AdaptiveConcurrencyGatewayFilterFactory(new GatewayMetrics(registry));
+
+    @Test
+    void filter_ShouldRejectWhenLimitReachedAndExportMetrics() {
+        AdaptiveConcurrencyGatewayFilterFactory.Config config = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+        config.setRouteId("system-service");
+        config.setInitialLimit(1);
+        config.setMinLimit(1);
+        config.setStatusCode("TOO_MANY_REQUESTS");
+        GatewayFilter filter = factory.apply(config);
+
+        // 第一个请求挂起，占用唯一的名额
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/users"));
+        filter.filter(first, exchange -> upstream.asMono()).subscribe();
+
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/users"));
+        StepVerifier.create(filter.filter(second, exchange -> Mono.error(new AssertionError("should not route"))))
+                .verifyComplete();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertEquals(1, registry.get("gateway.concurrency.inflight").tag("route", "system-service").gauge().value());
+        assertEquals(1, registry.get("gateway.concurrency.rejected").tag("route", "system-service").counter().count());
+
+        upstream.tryEmitEmpty();
+        assertEquals(0, registry.get("gateway.concurrency.inflight").tag("route", "system-service").gauge().value());
+        assertEquals(1, registry.get("gateway.concurrency.limit").tag("route", "system-service").gauge().value());
+    }
+
+    @Test
+    void filter_ShouldOnlySampleRequestsThatReachedUpstream() {
+        AdaptiveConcurrencyGatewayFilterFactory.Config config = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+        config.setRouteId("auth-service");
+        GatewayFilter filter = factory.apply(config);
+
+        // 网关本地返回的429不影响上限
+        for (int i = 0; i < 20; i++) {
+            filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/login")), exchange -> {
+                exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                return Mono.empty();
+            }).block();
+        }
+        assertEquals(20, registry.get("gateway.concurrency.limit").tag("route", "auth-service").gauge().value());
+
+        // 上游返回503时收缩
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/login")), exchange -> {
+            exchange.getAttributes().put(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR, 1_000_000L);
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        }).block();
+        assertEquals(18, registry.get("gateway.concurrency.limit").tag("route", "auth-service").gauge().value());
+    }
+}
@@ -4,18 +4,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.windsurf.gateway.config.SecurityProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.server.RequestPath;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -24,194 +21,198 @@ import reactor.test.StepVerifier;
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class EncryptionFilterTest {
 
-    @Mock
-    private SecurityProperties securityProperties;
-    @Mock
-    private SecurityProperties.JwtProperties jwtProperties;
-    @Mock
-    private ServerWebExchange exchange;
-    @Mock
-    private GatewayFilterChain chain;
-    @Mock
-    private ServerHttpResponse response;
-    @Mock
-    private ServerHttpRequest mockRequest;
-
-    private EncryptionFilter filter;
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private static final String TEST_SECRET = "testSecretKeyWith32BytesForAES256!!!";
     private static final String TEST_CONTENT = "{\"message\":\"test\"}";
     private static final DefaultDataBufferFactory BUFFER_FACTORY = new DefaultDataBufferFactory();
 
+    private SecurityProperties securityProperties;
+    private EncryptionFilter filter;
+
     @BeforeEach
     void setUp() {
-        when(securityProperties.getJwt()).thenReturn(jwtProperties);
-        when(jwtProperties.getSecret()).thenReturn(TEST_SECRET);
-        when(exchange.getResponse()).thenReturn(response);
-        when(chain.filter(any())).thenReturn(Mono.empty());
-        when(response.bufferFactory()).thenReturn(BUFFER_FACTORY);
-
+        securityProperties = new SecurityProperties();
+        SecurityProperties.JwtProperties jwtProperties = new SecurityProperties.JwtProperties();
+        jwtProperties.setSecret(TEST_SECRET);
+        securityProperties.setJwt(jwtProperties);
         SecurityProperties.IgnoreProperties ignoreProperties = new SecurityProperties.IgnoreProperties();
         ignoreProperties.setUrls(Arrays.asList("/auth/login", "/auth/register"));
-        when(securityProperties.getIgnore()).thenReturn(ignoreProperties);
+        securityProperties.setIgnore(ignoreProperties);
 
-        filter = new EncryptionFilter(securityProperties, objectMapper);
+        filter = new EncryptionFilter(securityProperties, new ObjectMapper());
     }
 
     @Test
     void filter_WhitelistedPath_SkipsEncryption() {
-        // Given
-        String path = "/auth/login";
-        RequestPath mockRequestPath = mock(RequestPath.class);
-        when(mockRequestPath.value()).thenReturn(path);
-        when(mockRequest.getPath()).thenReturn(mockRequestPath);
-        when(exchange.getRequest()).thenReturn(mockRequest);
-
-        // When & Then
-        StepVerifier.create(filter.filter(exchange, chain))
-                .expectComplete()
-                .verify();
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/auth/login").body(TEST_CONTENT));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
 
-        verify(chain).filter(exchange);
-        verifyNoMoreInteractions(response);
+        assertSame(exchange, captured.get());
     }
 
     @Test
-    void filter_ValidRequest_ProcessesEncryption() {
-        // Given
-        String path = "/api/protected";
-        RequestPath mockRequestPath = mock(RequestPath.class);
-        when(mockRequestPath.value()).thenReturn(path);
-        when(mockRequest.getPath()).thenReturn(mockRequestPath);
-        when(exchange.getRequest()).thenReturn(mockRequest);
-        DataBuffer buffer = BUFFER_FACTORY.wrap(TEST_CONTENT.getBytes(StandardCharsets.UTF_8));
-        when(mockRequest.getBody()).thenReturn(Flux.just(buffer));
-        when(response.getHeaders()).thenReturn(mock(HttpHeaders.class));
-
-        // When & Then
-        StepVerifier.create(filter.filter(exchange, chain))
-                .expectComplete()
-                .verify();
+    void filter_ValidRequest_DecryptsBody() {
+        String body = Base64.getEncoder().encodeToString(encrypt(TEST_CONTENT.getBytes(StandardCharsets.UTF_8)));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/protected")
+                        .contentLength(body.length())
+                        .body(body));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
+
+        assertEquals(TEST_CONTENT, readBody(captured.get().getRequest().getBody()));
+        assertFalse(captured.get().getRequest().getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+    }
 
-        verify(response.getHeaders()).setContentType(MediaType.APPLICATION_JSON);
-        verify(chain).filter(any());
+    @Test
+    void filter_MultipleChunks_DecryptsBody() {
+        String body = Base64.getEncoder().encodeToString(encrypt(TEST_CONTENT.getBytes(StandardCharsets.UTF_8)));
+        int split = body.length() / 3;
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/protected")
+                        .body(Flux.just(buffer(body.substring(0, split)), buffer(body.substring(split)))));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
+
+        assertEquals(TEST_CONTENT, readBody(captured.get().getRequest().getBody()));
     }
 
     @Test
-    void filter_InvalidJson_ReturnsBadRequest() {
-        // Given
-        String path = "/api/protected";
-        RequestPath mockRequestPath = mock(RequestPath.class);
-        when(mockRequestPath.value()).thenReturn(path);
-        when(mockRequest.getPath()).thenReturn(mockRequestPath);
-        when(exchange.getRequest()).thenReturn(mockRequest);
-        DataBuffer buffer = BUFFER_FACTORY.wrap("invalid json".getBytes(StandardCharsets.UTF_8));
-        when(mockRequest.getBody()).thenReturn(Flux.just(buffer));
-        when(response.setStatusCode(HttpStatus.BAD_REQUEST)).thenReturn(true);
-
-        // When & Then
-        StepVerifier.create(filter.filter(exchange, chain))
-                .expectComplete()
+    void filter_InvalidCiphertext_ReturnsBadRequest() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/protected").body("invalid json"));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
+
+        StepVerifier.create(DataBufferUtils.join(captured.get().getRequest().getBody()))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(ResponseStatusException.class, e);
+                    assertEquals(HttpStatus.BAD_REQUEST, ((ResponseStatusException) e).getStatus());
+                })
                 .verify();
-
-        verify(response).setStatusCode(HttpStatus.BAD_REQUEST);
-        verifyNoMoreInteractions(chain);
     }
 
     @Test
     void filter_EmptyRequest_HandlesGracefully() {
-        // Given
-        String path = "/api/protected";
-        RequestPath mockRequestPath = mock(RequestPath.class);
-        when(mockRequestPath.value()).thenReturn(path);
-        when(mockRequest.getPath()).thenReturn(mockRequestPath);
-        when(exchange.getRequest()).thenReturn(mockRequest);
-        when(mockRequest.getBody()).thenReturn(Flux.empty());
-
-        // When & Then
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/protected"));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
+
+        StepVerifier.create(captured.get().getRequest().getBody())
+                .verifyComplete();
+    }
+
+    @Test
+    void filter_MultipleChunkResponse_EncryptsWholeBody() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/protected"));
+        GatewayFilterChain chain = mutated -> mutated.getResponse()
+                .writeWith(Flux.just(buffer("{\"part1\":"), buffer("\"test\"}")));
+
         StepVerifier.create(filter.filter(exchange, chain))
-                .expectComplete()
-                .verify();
+                .verifyComplete();
 
-        verify(chain).filter(exchange);
+        String encrypted = exchange.getResponse().getBodyAsString().block();
+        assertEquals("{\"part1\":\"test\"}",
+                new String(decrypt(Base64.getDecoder().decode(encrypted)), StandardCharsets.UTF_8));
     }
 
     @Test
-    void filter_LargePayload_HandlesCorrectly() {
-        // Given
-        String path = "/api/protected";
-        RequestPath mockRequestPath = mock(RequestPath.class);
-        when(mockRequestPath.value()).thenReturn(path);
-        when(mockRequest.getPath()).thenReturn(mockRequestPath);
-        when(exchange.getRequest()).thenReturn(mockRequest);
+    void filter_StreamingMode_DecryptsLargeMultiChunkBody() {
+        securityProperties.getEncryption().setStreaming(true);
         StringBuilder largeContent = new StringBuilder();
         for (int i = 0; i < 1000; i++) {
             largeContent.append(TEST_CONTENT);
         }
+        byte[] ciphertext = encrypt(largeContent.toString().getBytes(StandardCharsets.UTF_8));
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < ciphertext.length; offset += 1000) {
+            chunks.add(BUFFER_FACTORY.wrap(Arrays.copyOfRange(ciphertext, offset, Math.min(ciphertext.length, offset + 1000))));
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/protected").body(Flux.fromIterable(chunks)));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
 
-        DataBuffer buffer = BUFFER_FACTORY.wrap(largeContent.toString().getBytes(StandardCharsets.UTF_8));
-        when(mockRequest.getBody()).thenReturn(Flux.just(buffer));
-        when(response.getHeaders()).thenReturn(mock(HttpHeaders.class));
-
-        // When & Then
-        StepVerifier.create(filter.filter(exchange, chain))
-                .expectComplete()
-                .verify();
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
 
-        verify(chain).filter(any());
+        assertEquals(largeContent.toString(), readBody(captured.get().getRequest().getBody()));
     }
 
     @Test
-    void filter_MultipleChunks_HandlesCorrectly() {
-        // Given
-        String path = "/api/protected";
-        RequestPath mockRequestPath = mock(RequestPath.class);
-        when(mockRequestPath.value()).thenReturn(path);
-        when(mockRequest.getPath()).thenReturn(mockRequestPath);
-        when(exchange.getRequest()).thenReturn(mockRequest);
-        DataBuffer chunk1 = BUFFER_FACTORY.wrap("{\"part1\":\"test\"}".getBytes(StandardCharsets.UTF_8));
-        DataBuffer chunk2 = BUFFER_FACTORY.wrap("{\"part2\":\"test\"}".getBytes(StandardCharsets.UTF_8));
-        when(mockRequest.getBody()).thenReturn(Flux.just(chunk1, chunk2));
-        when(response.getHeaders()).thenReturn(mock(HttpHeaders.class));
-
-        // When & Then
+    void filter_StreamingMode_EncryptsResponseChunks() {
+        securityProperties.getEncryption().setStreaming(true);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/protected"));
+        GatewayFilterChain chain = mutated -> mutated.getResponse()
+                .writeWith(Flux.just(buffer("{\"part1\":"), buffer("\"test\"}")));
+
         StepVerifier.create(filter.filter(exchange, chain))
-                .expectComplete()
-                .verify();
+                .verifyComplete();
+
+        byte[] encrypted = DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(dataBuffer -> {
+                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                    dataBuffer.read(bytes);
+                    return bytes;
+                })
+                .block();
+        assertEquals("{\"part1\":\"test\"}", new String(decrypt(encrypted), StandardCharsets.UTF_8));
+    }
 
-        verify(chain).filter(any());
+    private GatewayFilterChain capturing(AtomicReference<ServerWebExchange> captured) {
+        return exchange -> {
+            captured.set(exchange);
+            return Mono.empty();
+        };
     }
 
-    private String encryptContent(String content) {
-        try {
-            SecretKeySpec secretKey = new SecretKeySpec(TEST_SECRET.getBytes(StandardCharsets.UTF_8), "AES");
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-            byte[] encryptedBytes = cipher.doFinal(content.getBytes());
-            return Base64.getEncoder().encodeToString(encryptedBytes);
-        } catch (Exception e) {
-            throw new RuntimeException("Error encrypting content", e);
-        }
+    private DataBuffer buffer(String content) {
+        return BUFFER_FACTORY.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String readBody(Flux<DataBuffer> body) {
+        return DataBufferUtils.join(body)
+                .map(dataBuffer -> dataBuffer.toString(StandardCharsets.UTF_8))
+                .block();
+    }
+
+    private byte[] encrypt(byte[] content) {
+        return doCipher(Cipher.ENCRYPT_MODE, content);
+    }
+
+    private byte[] decrypt(byte[] content) {
+        return doCipher(Cipher.DECRYPT_MODE, content);
     }
 
-    private String decryptContent(String encryptedContent) {
+    private byte[] doCipher(int mode, byte[] content) {
         try {
-            SecretKeySpec secretKey = new SecretKeySpec(TEST_SECRET.getBytes(StandardCharsets.UTF_8), "AES");
+            SecretKeySpec secretKey = new SecretKeySpec(
+                    TEST_SECRET.substring(0, 16).getBytes(StandardCharsets.UTF_8), "AES");
             Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
-            byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedContent));
-            return new String(decryptedBytes, StandardCharsets.UTF_8);
+            cipher.init(mode, secretKey);
+            return cipher.doFinal(content);
         } catch (Exception e) {
-            throw new RuntimeException("Error decrypting content", e);
+            throw new RuntimeException("Error processing content", e);
         }
     }
-}
\ No newline at end of file
+}
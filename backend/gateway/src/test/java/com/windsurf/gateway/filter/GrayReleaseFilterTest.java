@@ -0,0 +1,117 @@
+package com.windsurf.gateway.filter;
+
+import com.windsurf.gateway.config.GrayReleaseProperties;
+import com.windsurf.gateway.config.RateLimitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrayReleaseFilterTest {
+
+    private final GrayReleaseProperties properties = new GrayReleaseProperties();
+    private GrayReleaseFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig rateLimitConfig = new RateLimitConfig();
+        filter = new GrayReleaseFilter(properties, rateLimitConfig.userKeyResolver(), rateLimitConfig.ipKeyResolver());
+        rule(10);
+    }
+
+    @Test
+    void filter_ShouldKeepUserInSameVersionAsWeightGrows() {
+        String grayUser = userInBucketBelow(10);
+        String stableUser = userInBucketAtLeast(50);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("1.1.0", grayVersion(request().header("X-User-ID", grayUser)));
+            assertNull(grayVersion(request().header("X-User-ID", stableUser)));
+        }
+
+        // 调大比例后原灰度用户仍在灰度中，无需重启
+        rule(50);
+        assertEquals("1.1.0", grayVersion(request().header("X-User-ID", grayUser)));
+        rule(0);
+        assertNull(grayVersion(request().header("X-User-ID", grayUser)));
+    }
+
+    @Test
+    void filter_ShouldFallBackToIpForAnonymousRequests() {
+        rule(100);
+
+        assertEquals("1.1.0", grayVersion(request().remoteAddress(new InetSocketAddress("192.168.1.1", 8080))));
+    }
+
+    @Test
+    void filter_ShouldDropClientSuppliedGrayVersion() {
+        String stableUser = userInBucketAtLeast(10);
+
+        assertNull(grayVersion(request()
+                .header("X-User-ID", stableUser)
+                .header(GrayReleaseFilter.GRAY_VERSION_HEADER, "1.1.0")));
+    }
+
+    @Test
+    void filter_ShouldHonourGrayVersionHeaderOnlyWhenAllowed() {
+        properties.getServices().clear();
+        assertNull(grayVersion(request().header("X-User-ID", "1").header("gray_version", "2.0.0")));
+
+        properties.setAllowTestHeaders(true);
+        assertEquals("2.0.0", grayVersion(request().header("X-User-ID", "1").header("gray_version", "2.0.0")));
+        assertNull(grayVersion(request().header("X-User-ID", "1")
+                .header("gray_version", "2.0.0")
+                .header("gray_weight", "invalid")));
+    }
+
+    private void rule(int weight) {
+        GrayReleaseProperties.Rule rule = new GrayReleaseProperties.Rule();
+        rule.setVersion("1.1.0");
+        rule.setWeight(weight);
+        properties.getServices().put("windsurf-system", rule);
+    }
+
+    private String grayVersion(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("system-service")
+                .uri(URI.create("lb://windsurf-system"))
+                .predicate(ex -> true)
+                .build());
+        AtomicReference<String> version = new AtomicReference<>();
+        filter.filter(exchange, ex -> {
+            version.set(ex.getRequest().getHeaders().getFirst(GrayReleaseFilter.GRAY_VERSION_HEADER));
+            return Mono.empty();
+        }).block();
+        return version.get();
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> request() {
+        return MockServerHttpRequest.get("/users");
+    }
+
+    private static String userInBucketBelow(int bucket) {
+        for (int i = 0; ; i++) {
+            if (GrayReleaseFilter.bucket(String.valueOf(i)) < bucket) {
+                return String.valueOf(i);
+            }
+        }
+    }
+
+    private static String userInBucketAtLeast(int bucket) {
+        for (int i = 0; ; i++) {
+            if (GrayReleaseFilter.bucket(String.valueOf(i)) >= bucket) {
+                return String.valueOf(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.windsurf.gateway.filter;
+
+import com.windsurf.common.redis.service.ReactiveRedisService;
+import com.windsurf.common.security.entity.User;
+import com.windsurf.common.security.entity.UserStatus;
+import com.windsurf.common.security.service.TokenBlacklistService;
+import com.windsurf.common.security.util.ClaimsEnvelope;
+import com.windsurf.common.security.util.JwtUtils;
+import com.windsurf.common.security.util.ParsedToken;
+import com.windsurf.gateway.config.SecurityProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class JwtVerificationFilterTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "windsurf-test-secret-key-which-is-long-enough-for-hs512-signing!".getBytes(StandardCharsets.UTF_8));
+    private static final String ENVELOPE_SECRET = "envelope-secret";
+
+    private SecurityProperties securityProperties;
+    private JwtVerificationFilter filter;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        securityProperties = new SecurityProperties();
+        SecurityProperties.JwtProperties jwtProperties = new SecurityProperties.JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setExpiration(3600);
+        jwtProperties.setEnvelopeSecret(ENVELOPE_SECRET);
+        securityProperties.setJwt(jwtProperties);
+        SecurityProperties.IgnoreProperties ignoreProperties = new SecurityProperties.IgnoreProperties();
+        ignoreProperties.setUrls(Arrays.asList("/auth/login", "/auth/register"));
+        securityProperties.setIgnore(ignoreProperties);
+        filter = new JwtVerificationFilter(securityProperties);
+
+        com.windsurf.common.security.properties.SecurityProperties issuerProperties =
+                new com.windsurf.common.security.properties.SecurityProperties();
+        issuerProperties.getJwt().setSecret(SECRET);
+        JwtUtils issuer = new JwtUtils(issuerProperties);
+        issuer.init();
+        token = issuer.generateToken(User.builder()
+                .id(42L)
+                .username("testuser")
+                .roles("ROLE_USER,ROLE_ADMIN")
+                .status(UserStatus.ACTIVE)
+                .enabled(true)
+                .build());
+    }
+
+    @Test
+    void filter_ValidToken_ForwardsIdentityHeaders() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/system/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
+
+        HttpHeaders headers = captured.get().getRequest().getHeaders();
+        assertEquals("42", headers.getFirst(JwtVerificationFilter.USER_ID_HEADER));
+        assertEquals("testuser", headers.getFirst(JwtVerificationFilter.USER_NAME_HEADER));
+        assertEquals("ROLE_USER,ROLE_ADMIN", headers.getFirst(JwtVerificationFilter.USER_ROLES_HEADER));
+
+        ParsedToken envelope = ClaimsEnvelope.verify(headers.getFirst(ClaimsEnvelope.HEADER), ENVELOPE_SECRET);
+        assertNotNull(envelope);
+        assertEquals(42L, envelope.getUserId());
+        assertEquals("testuser", envelope.getUsername());
+        assertTrue(envelope.isValid());
+        assertNull(ClaimsEnvelope.verify(headers.getFirst(ClaimsEnvelope.HEADER), "other-secret"));
+    }
+
+    @Test
+    void filter_SpoofedHeaders_AreReplaced() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/system/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(JwtVerificationFilter.USER_ID_HEADER, "1")
+                        .header(ClaimsEnvelope.HEADER, "forged"));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
+
+        HttpHeaders headers = captured.get().getRequest().getHeaders();
+        assertEquals("42", headers.getFirst(JwtVerificationFilter.USER_ID_HEADER));
+        assertNotEquals("forged", headers.getFirst(ClaimsEnvelope.HEADER));
+    }
+
+    @Test
+    void filter_IgnoredPath_StripsIdentityHeaders() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/auth/login")
+                        .header(JwtVerificationFilter.USER_ID_HEADER, "1"));
+        AtomicReference<ServerWebExchange> captured = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, capturing(captured)))
+                .verifyComplete();
+
+        assertNull(captured.get().getRequest().getHeaders().getFirst(JwtVerificationFilter.USER_ID_HEADER));
+    }
+
+    @Test
+    void filter_MissingToken_ReturnsUnauthorized() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/system/users"));
+
+        StepVerifier.create(filter.filter(exchange, capturing(new AtomicReference<>())))
+                .expectErrorSatisfies(e -> assertEquals(HttpStatus.UNAUTHORIZED,
+                        ((ResponseStatusException) e).getStatus()))
+                .verify();
+    }
+
+    @Test
+    void filter_TamperedToken_ReturnsUnauthorized() {
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/system/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered));
+
+        StepVerifier.create(filter.filter(exchange, capturing(new AtomicReference<>())))
+                .expectErrorSatisfies(e -> assertEquals(HttpStatus.UNAUTHORIZED,
+                        ((ResponseStatusException) e).getStatus()))
+                .verify();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filter_RevokedToken_ReturnsUnauthorized() {
+        ReactiveRedisService redisService = mock(ReactiveRedisService.class);
+        ObjectProvider<ReactiveRedisService> redisServiceProvider = mock(ObjectProvider.class);
+        when(redisServiceProvider.getIfAvailable()).thenReturn(redisService);
+        when(redisService.hasKey(startsWith(TokenBlacklistService.REVOKED_KEY_PREFIX))).thenReturn(Mono.just(true));
+        JwtVerificationFilter revocationFilter = new JwtVerificationFilter(securityProperties, redisServiceProvider);
+
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                    MockServerHttpRequest.get("/system/dict/gender")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+            StepVerifier.create(revocationFilter.filter(exchange, capturing(new AtomicReference<>())))
+                    .expectErrorSatisfies(e -> assertEquals(HttpStatus.UNAUTHORIZED,
+                            ((ResponseStatusException) e).getStatus()))
+                    .verify();
+        }
+        // 第二次命中本地缓存
+        verify(redisService, times(1)).hasKey(anyString());
+    }
+
+    private static GatewayFilterChain capturing(AtomicReference<ServerWebExchange> captured) {
+        return exchange -> {
+            captured.set(exchange);
+            return Mono.empty();
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.windsurf.gateway.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windsurf.gateway.config.LoadSheddingProperties;
+import com.windsurf.gateway.loadshedding.OverloadMonitor;
+import com.windsurf.gateway.loadshedding.Priority;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LoadSheddingFilterTest {
+
+    @Mock
+    private OverloadMonitor monitor;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LoadSheddingProperties properties = new LoadSheddingProperties();
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        LoadSheddingProperties.Rule critical = new LoadSheddingProperties.Rule();
+        critical.setPriority(Priority.CRITICAL);
+        critical.setPaths(List.of("/auth/login", "/auth/refresh"));
+        LoadSheddingProperties.Rule low = new LoadSheddingProperties.Rule();
+        low.setPriority(Priority.LOW);
+        low.setRoutes(List.of("system-service"));
+        low.setPaths(List.of("/system/**/list"));
+        LoadSheddingProperties.Rule batch = new LoadSheddingProperties.Rule();
+        batch.setPriority(Priority.LOW);
+        batch.setHeader("X-Request-Priority");
+        batch.setHeaderValue("low");
+        properties.setRules(List.of(critical, low, batch));
+        filter = new LoadSheddingFilter(properties, monitor, new GatewayMetrics(registry), new ObjectMapper());
+    }
+
+    @Test
+    void classify_ShouldMatchRoutePathAndHeaderRules() {
+        assertEquals(Priority.CRITICAL, filter.classify(exchange("auth-service", MockServerHttpRequest.post("/auth/login"))));
+        assertEquals(Priority.LOW, filter.classify(exchange("system-service", MockServerHttpRequest.get("/system/user/list"))));
+        assertEquals(Priority.NORMAL, filter.classify(exchange("auth-service", MockServerHttpRequest.get("/auth/user/list"))));
+        assertEquals(Priority.LOW, filter.classify(exchange("auth-service",
+                MockServerHttpRequest.get("/auth/info").header("X-Request-Priority", "low"))));
+    }
+
+    @Test
+    void filter_ShouldShedLowPriorityButKeepCriticalUnderLoad() {
+        when(monitor.eventLoopLagNanos()).thenReturn(TimeUnit.MILLISECONDS.toNanos(100));
+
+        MockServerWebExchange listing = exchange("system-service", MockServerHttpRequest.get("/system/user/list"));
+        StepVerifier.create(filter.filter(listing, ex -> Mono.error(new AssertionError("should be shed"))))
+                .verifyComplete();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, listing.getResponse().getStatusCode());
+        assertEquals("1", listing.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        StepVerifier.create(listing.getResponse().getBodyAsString())
+                .assertNext(body -> assertTrue(body.contains("\"code\":503")))
+                .verifyComplete();
+
+        AtomicBoolean routed = new AtomicBoolean();
+        MockServerWebExchange login = exchange("auth-service", MockServerHttpRequest.post("/auth/login"));
+        StepVerifier.create(filter.filter(login, ex -> Mono.fromRunnable(() -> routed.set(true))))
+                .verifyComplete();
+        assertTrue(routed.get());
+        assertEquals(1, registry.get("gateway.loadshedding.dropped").tag("priority", "low").counter().count());
+    }
+
+    @Test
+    void filter_ShouldShedNormalOnlyWhenPendingAcquireExceedsItsThreshold() {
+        when(monitor.pendingAcquire()).thenReturn(100);
+        AtomicBoolean routed = new AtomicBoolean();
+
+        StepVerifier.create(filter.filter(exchange("auth-service", MockServerHttpRequest.get("/auth/info")),
+                ex -> Mono.fromRunnable(() -> routed.set(true)))).verifyComplete();
+        assertTrue(routed.get());
+
+        when(monitor.pendingAcquire()).thenReturn(200);
+        MockServerWebExchange exchange = exchange("auth-service", MockServerHttpRequest.get("/auth/info"));
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.error(new AssertionError("should be shed"))))
+                .verifyComplete();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+    }
+
+    private static MockServerWebExchange exchange(String routeId, MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://" + routeId))
+                .predicate(ex -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -0,0 +1,129 @@
+package com.windsurf.gateway.filter;
+
+import com.windsurf.gateway.config.LoadBalancerProperties;
+import com.windsurf.gateway.loadbalancer.InstanceLoadStats;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private MetricsFilter metricsFilter;
+    private UpstreamTimingFilter upstreamTimingFilter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metricsFilter = new MetricsFilter(new GatewayMetrics(registry, 2));
+        upstreamTimingFilter = new UpstreamTimingFilter(new InstanceLoadStats(new LoadBalancerProperties()));
+    }
+
+    @Test
+    void filter_ShouldSplitUpstreamTimeFromGatewayOverhead() {
+        MockServerWebExchange exchange = exchange("system-service", "http://10.0.0.1:8080/users");
+
+        StepVerifier.create(metricsFilter.filter(exchange, ex -> upstreamTimingFilter.filter(ex, routed ->
+                Mono.fromRunnable(() -> {
+                    // 同步模拟上游耗时，doFinally回调在订阅线程上完成后再断言
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                    routed.getResponse().setStatusCode(HttpStatus.OK);
+                }))))
+                .verifyComplete();
+
+        Timer duration = registry.get("gateway.requests.duration")
+                .tags("route", "system-service", "method", "GET", "status", "2xx", "upstream", "10.0.0.1:8080")
+                .timer();
+        Timer upstream = registry.get("gateway.requests.upstream")
+                .tags("route", "system-service", "upstream", "10.0.0.1:8080")
+                .timer();
+        Timer overhead = registry.get("gateway.requests.overhead")
+                .tags("route", "system-service", "upstream", "10.0.0.1:8080")
+                .timer();
+        assertEquals(1, duration.count());
+        assertEquals(1, upstream.count());
+        assertTrue(upstream.totalTime(TimeUnit.MILLISECONDS) >= 50);
+        assertTrue(overhead.totalTime(TimeUnit.NANOSECONDS) < duration.totalTime(TimeUnit.NANOSECONDS));
+        assertEquals(1, registry.get("gateway.requests.latency").timer().count());
+    }
+
+    @Test
+    void filter_ShouldRecordShortCircuitedRequestWithoutUpstream() {
+        MockServerWebExchange exchange = exchange("auth-service", null);
+
+        StepVerifier.create(metricsFilter.filter(exchange, ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return Mono.empty();
+        })).verifyComplete();
+
+        assertEquals(1, registry.get("gateway.requests.duration")
+                .tags("route", "auth-service", "status", "4xx", "upstream", "none")
+                .timer().count());
+        assertEquals(0, registry.get("gateway.requests.upstream")
+                .tags("route", "auth-service")
+                .timer().count());
+        assertEquals(1, registry.get("gateway.ratelimit.blocked").counter().count());
+    }
+
+    @Test
+    void filter_ShouldCollapseSeriesBeyondCardinalityLimit() {
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = exchange("route-" + i, "http://10.0.0." + i + ":8080/");
+            StepVerifier.create(metricsFilter.filter(exchange, ex -> {
+                ex.getResponse().setStatusCode(HttpStatus.OK);
+                return Mono.empty();
+            })).verifyComplete();
+        }
+
+        assertEquals(3, registry.get("gateway.requests.duration").timers().size());
+        assertEquals(3, registry.get("gateway.requests.duration")
+                .tags("route", "other", "upstream", "other")
+                .timer().count());
+        assertEquals(3, registry.get("gateway.requests.series.overflow").counter().count());
+    }
+
+    @Test
+    void recordExchange_ShouldBoundSeriesForArbitraryMethods() {
+        GatewayMetrics metrics = new GatewayMetrics(registry, 2);
+        for (int i = 0; i < 100; i++) {
+            metrics.recordExchange("auth-service", "FOO" + i, "4xx", null, 1000, 0);
+        }
+        for (int i = 0; i < 100; i++) {
+            metrics.recordExchange("route-" + i, "GET", "2xx", "10.0.0." + i + ":8080", 1000, 0);
+        }
+
+        assertEquals(100, registry.get("gateway.requests.duration").tags("method", "OTHER").timer().count());
+        assertEquals(3, registry.get("gateway.requests.duration").timers().size());
+        assertEquals(99, registry.get("gateway.requests.duration")
+                .tags("route", "other", "method", "other", "status", "other", "upstream", "other")
+                .timer().count());
+    }
+
+    private static MockServerWebExchange exchange(String routeId, String requestUrl) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(routeId)
+                .uri(URI.create("lb://" + routeId))
+                .predicate(ex -> true)
+                .build());
+        if (requestUrl != null) {
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create(requestUrl));
+        }
+        return exchange;
+    }
+}
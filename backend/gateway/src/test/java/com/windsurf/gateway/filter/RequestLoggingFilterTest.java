@@ -0,0 +1,74 @@
+package com.windsurf.gateway.filter;
+
+import com.windsurf.gateway.config.AccessLogProperties;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLoggingFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+    private SimpleMeterRegistry registry;
+    private RequestLoggingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        logFile = tempDir.resolve("access.log");
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setFile(logFile.toString());
+        properties.setFlushInterval(Duration.ofMillis(10));
+        registry = new SimpleMeterRegistry();
+        filter = new RequestLoggingFilter(properties, new GatewayMetrics(registry));
+        filter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.stop();
+    }
+
+    @Test
+    void filter_ShouldWriteJsonLineWithoutSensitiveHeaders() throws Exception {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/system/users")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer secret")
+                        .header("Cookie", "session=secret")
+                        .header("X-Request-Id", "abc"));
+
+        StepVerifier.create(filter.filter(exchange, ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        })).verifyComplete();
+        filter.stop();
+
+        List<String> lines = Files.readAllLines(logFile);
+        assertEquals(1, lines.size());
+        String line = lines.get(0);
+        assertTrue(line.contains("\"method\":\"GET\""));
+        assertTrue(line.contains("\"path\":\"/system/users\""));
+        assertTrue(line.contains("\"status\":200"));
+        assertTrue(line.contains("\"X-Request-Id\":\"abc\""));
+        assertFalse(line.contains("secret"));
+        assertEquals(1, registry.get("gateway.accesslog.records").tag("result", "written")
+                .functionCounter().count());
+    }
+}
@@ -0,0 +1,210 @@
+package com.windsurf.gateway.filter;
+
+import com.windsurf.gateway.cache.ResponseCacheStore;
+import com.windsurf.gateway.config.ResponseCacheProperties;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String BODY = "{\"code\":200,\"data\":[\"male\",\"female\"]}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private ResponseCacheGatewayFilterFactory factory;
+    private ResponseCacheGatewayFilterFactory.Config config;
+    private String cacheControl;
+    private String vary;
+    private String body = BODY;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        GatewayMetrics metrics = new GatewayMetrics(registry);
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntrySize(DataSize.ofBytes(BODY.length()));
+        ResponseCacheStore store = new ResponseCacheStore(properties, mock(ObjectProvider.class), metrics);
+        ObjectProvider<JwtVerificationFilter> jwtVerificationFilter = mock(ObjectProvider.class);
+        when(jwtVerificationFilter.getIfAvailable()).thenReturn(mock(JwtVerificationFilter.class));
+        factory = new ResponseCacheGatewayFilterFactory(store, properties, metrics, jwtVerificationFilter);
+        config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setPaths(List.of("/system/dict/**"));
+    }
+
+    @Test
+    void filter_ShouldServeSecondRequestFromCache() {
+        GatewayFilter filter = factory.apply(config);
+
+        MockServerWebExchange first = execute(filter, get("/system/dict/gender"));
+        MockServerWebExchange second = execute(filter, get("/system/dict/gender"));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER));
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+        assertEquals(1, registry.get("gateway.response.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(BODY.length(), registry.get("gateway.response.cache.bytes.saved").counter().count());
+    }
+
+    @Test
+    void filter_ShouldReturnNotModifiedWhenEtagMatches() {
+        GatewayFilter filter = factory.apply(config);
+        String etag = execute(filter, get("/system/dict/gender"))
+                .getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidated = execute(filter, get("/system/dict/gender")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+        assertEquals(etag, revalidated.getResponse().getHeaders().getETag());
+        assertEquals("", revalidated.getResponse().getBodyAsString().defaultIfEmpty("").block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_ShouldHonourCacheControl() {
+        GatewayFilter filter = factory.apply(config);
+
+        // 请求 no-cache 跳过缓存，但仍写入
+        execute(filter, get("/system/dict/gender"));
+        execute(filter, get("/system/dict/gender").header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        assertEquals(2, upstreamCalls.get());
+
+        // 响应 no-store、max-age=0 都不缓存
+        cacheControl = "no-store";
+        execute(filter, get("/system/dict/status"));
+        cacheControl = "public, max-age=0";
+        execute(filter, get("/system/dict/status"));
+        cacheControl = null;
+        execute(filter, get("/system/dict/status"));
+        assertEquals(5, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_ShouldSeparateUsersWhenCachingPerUser() {
+        config.setPerUser(true);
+        cacheControl = "private, max-age=60";
+        GatewayFilter filter = factory.apply(config);
+
+        execute(filter, MockServerHttpRequest.get("/system/dict/menu").header("X-User-ID", "1"));
+        execute(filter, MockServerHttpRequest.get("/system/dict/menu").header("X-User-ID", "2"));
+        execute(filter, MockServerHttpRequest.get("/system/dict/menu").header("X-User-ID", "1"));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_ShouldIgnoreUnmatchedPathsAndNonGetRequests() {
+        GatewayFilter filter = factory.apply(config);
+
+        execute(filter, get("/system/user/1"));
+        execute(filter, get("/system/user/1"));
+        execute(filter, MockServerHttpRequest.post("/system/dict/gender"));
+        execute(filter, MockServerHttpRequest.post("/system/dict/gender"));
+
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filter_ShouldBypassCacheWithoutVerifiedIdentity() {
+        GatewayFilter filter = factory.apply(config);
+        execute(filter, get("/system/dict/gender"));
+
+        execute(filter, MockServerHttpRequest.get("/system/dict/gender"));
+        assertEquals(2, upstreamCalls.get());
+
+        ObjectProvider<JwtVerificationFilter> disabled = mock(ObjectProvider.class);
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        GatewayMetrics metrics = new GatewayMetrics(registry);
+        GatewayFilter unverified = new ResponseCacheGatewayFilterFactory(
+                new ResponseCacheStore(properties, mock(ObjectProvider.class), metrics), properties, metrics, disabled)
+                .apply(config);
+        execute(unverified, get("/system/dict/gender"));
+        execute(unverified, get("/system/dict/gender"));
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void filter_ShouldNotCacheUncoveredVaryOrOversizedBody() {
+        GatewayFilter filter = factory.apply(config);
+
+        vary = HttpHeaders.ACCEPT_ENCODING;
+        execute(filter, get("/system/dict/gender"));
+        execute(filter, get("/system/dict/gender"));
+        assertEquals(2, upstreamCalls.get());
+
+        config.setHeaders(List.of(HttpHeaders.ACCEPT_ENCODING));
+        filter = factory.apply(config);
+        execute(filter, get("/system/dict/gender"));
+        execute(filter, get("/system/dict/gender"));
+        assertEquals(3, upstreamCalls.get());
+
+        vary = null;
+        body = BODY + BODY;
+        MockServerWebExchange oversized = execute(filter, get("/system/dict/large"));
+        execute(filter, get("/system/dict/large"));
+        assertEquals(body, oversized.getResponse().getBodyAsString().block());
+        assertEquals(5, upstreamCalls.get());
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> get(String path) {
+        // 模拟 JwtVerificationFilter 验签后转发的身份
+        return MockServerHttpRequest.get(path).header(JwtVerificationFilter.USER_ID_HEADER, "1");
+    }
+
+    private MockServerWebExchange execute(GatewayFilter filter, MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("system-service")
+                .uri(URI.create("lb://windsurf-system"))
+                .predicate(ex -> true)
+                .build());
+        filter.filter(exchange, upstream()).block();
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream() {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            assertNull(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            if (cacheControl != null) {
+                exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+            }
+            if (vary != null) {
+                exchange.getResponse().getHeaders().setVary(List.of(vary));
+            }
+            // 分块写出，模拟上游未给出 Content-Length 的响应
+            return exchange.getResponse().writeWith(Flux.fromArray(body.split("(?<=,)"))
+                    .map(chunk -> exchange.getResponse().bufferFactory()
+                            .wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package com.windsurf.gateway.loadbalancer;
+
+import com.windsurf.gateway.config.GrayReleaseProperties;
+import com.windsurf.gateway.config.LoadBalancerProperties;
+import com.windsurf.gateway.filter.GrayReleaseFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class P2cLoadBalancerTest {
+
+    private static final ServiceInstance FAST = instance("10.0.0.1");
+    private static final ServiceInstance NORMAL = instance("10.0.0.2");
+    private static final ServiceInstance SLOW = instance("10.0.0.3");
+
+    private final GrayReleaseProperties grayProperties = new GrayReleaseProperties();
+    private InstanceLoadStats stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = new InstanceLoadStats(new LoadBalancerProperties());
+    }
+
+    @Test
+    void choose_ShouldNeverPickTheSlowestOfThree() {
+        record(FAST, 5);
+        record(NORMAL, 10);
+        record(SLOW, 500);
+        P2cLoadBalancer loadBalancer = loadBalancer(FAST, NORMAL, SLOW);
+
+        Map<String, Integer> picks = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            Response<ServiceInstance> response = loadBalancer.choose(new DefaultRequest<>()).block();
+            picks.merge(response.getServer().getHost(), 1, Integer::sum);
+        }
+
+        assertNull(picks.get("10.0.0.3"));
+        assertTrue(picks.get("10.0.0.1") > picks.get("10.0.0.2"));
+    }
+
+    @Test
+    void choose_ShouldAvoidInstanceWithPendingRequests() {
+        record(FAST, 5);
+        record(NORMAL, 5);
+        for (int i = 0; i < 10; i++) {
+            stats.start(P2cLoadBalancer.key(FAST));
+        }
+        P2cLoadBalancer loadBalancer = loadBalancer(FAST, NORMAL);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(NORMAL, loadBalancer.choose(new DefaultRequest<>()).block().getServer());
+        }
+    }
+
+    @Test
+    void choose_ShouldSeparateGrayAndStableInstances() {
+        GrayReleaseProperties.Rule rule = new GrayReleaseProperties.Rule();
+        rule.setVersion("1.1.0");
+        rule.setWeight(10);
+        grayProperties.getServices().put("windsurf-system", rule);
+        ServiceInstance gray = instance("10.0.0.4", "1.1.0");
+        P2cLoadBalancer loadBalancer = loadBalancer(instance("10.0.0.1", "1.0.0"), instance("10.0.0.2", "1.0.0"), gray);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(gray, loadBalancer.choose(request("1.1.0")).block().getServer());
+            assertNotEquals(gray, loadBalancer.choose(request(null)).block().getServer());
+        }
+        // 灰度版本没有实例时退回全部实例
+        assertTrue(loadBalancer.choose(request("2.0.0")).block().hasServer());
+    }
+
+    @Test
+    void choose_ShouldReturnEmptyResponseWithoutInstances() {
+        Response<ServiceInstance> response = loadBalancer().choose(new DefaultRequest<>()).block();
+
+        assertFalse(response.hasServer());
+    }
+
+    @Test
+    void stats_ShouldTrackPeakLatencyAndPendingRequests() {
+        String key = P2cLoadBalancer.key(FAST);
+        record(FAST, 10);
+        InstanceLoadStats.InstanceLoad load = stats.start(key);
+
+        assertEquals(1, stats.inflight(key));
+        load.complete(TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(0, stats.inflight(key));
+        // 峰值敏感：单次慢响应立即生效，恢复后逐渐回落
+        assertTrue(stats.latencyNanos(key) > TimeUnit.MILLISECONDS.toNanos(190));
+        record(FAST, 10);
+        assertTrue(stats.latencyNanos(key) > TimeUnit.MILLISECONDS.toNanos(100));
+
+        stats.start(key).fail(0);
+        assertTrue(stats.latencyNanos(key) > TimeUnit.MILLISECONDS.toNanos(900));
+        stats.start(key).cancel();
+        assertEquals(0, stats.inflight(key));
+    }
+
+    private void record(ServiceInstance instance, long millis) {
+        stats.start(P2cLoadBalancer.key(instance)).complete(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private P2cLoadBalancer loadBalancer(ServiceInstance... instances) {
+        ServiceInstanceListSupplier supplier = ServiceInstanceListSuppliers.from("windsurf-system", instances);
+        return new P2cLoadBalancer(new SimpleObjectProvider<>(supplier), "windsurf-system", stats,
+                new GrayInstanceSelector(grayProperties));
+    }
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, "windsurf-system", host, 8080, false);
+    }
+
+    private static ServiceInstance instance(String host, String version) {
+        return new DefaultServiceInstance(host, "windsurf-system", host, 8080, false, Map.of("version", version));
+    }
+
+    private static Request<RequestDataContext> request(String grayVersion) {
+        MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get("http://windsurf-system/users");
+        if (grayVersion != null) {
+            builder.header(GrayReleaseFilter.GRAY_VERSION_HEADER, grayVersion);
+        }
+        return new DefaultRequest<>(new RequestDataContext(new RequestData(builder.build())));
+    }
+}
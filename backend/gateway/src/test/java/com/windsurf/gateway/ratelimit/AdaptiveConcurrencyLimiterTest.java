@@ -0,0 +1,98 @@
+package com.windsurf.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100, 4, 0.2, 1.5, 0.9, 600);
+
+    @Test
+    void tryAcquire_ShouldRejectBeyondLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(20, limiter.getInflight());
+        limiter.cancel();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_ShouldGrowLimitWhileLatencyIsStable() {
+        saturate(BASE_RTT, 200);
+
+        assertTrue(limiter.getLimit() > 50);
+    }
+
+    @Test
+    void release_ShouldShrinkLimitWhenLatencyRises() {
+        saturate(BASE_RTT, 200);
+        int grown = limiter.getLimit();
+
+        saturate(BASE_RTT * 10, 50);
+
+        assertTrue(limiter.getLimit() < grown / 2);
+        assertTrue(limiter.getQueued() > 0);
+    }
+
+    @Test
+    void release_ShouldNotCollapseUnderLatencyJitter() {
+        AdaptiveConcurrencyLimiter jittered = new AdaptiveConcurrencyLimiter(40, 10, 500, 4, 0.2, 1.5, 0.9, 600);
+        Random random = new Random(42);
+        // 上游耗时与负载无关，对数正态分布 σ=1.0
+        for (int round = 0; round < 5000; round++) {
+            while (jittered.tryAcquire()) {
+                // 占满名额
+            }
+            jittered.release((long) (BASE_RTT * Math.exp(random.nextGaussian())), false);
+            while (jittered.getInflight() > 0) {
+                jittered.cancel();
+            }
+        }
+
+        assertTrue(jittered.getLimit() >= 40, "limit " + jittered.getLimit());
+    }
+
+    @Test
+    void release_ShouldNotGrowWhenUnderused() {
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(BASE_RTT, false);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void release_ShouldBackOffOnDrops() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(BASE_RTT, true);
+        }
+
+        assertEquals(5, limiter.getLimit());
+    }
+
+    /**
+     * 保持在途请求等于当前上限，逐个完成
+     */
+    private void saturate(long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            while (limiter.tryAcquire()) {
+                // 占满名额
+            }
+            limiter.release(rttNanos, false);
+            while (limiter.getInflight() > 0) {
+                limiter.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.windsurf.gateway.ratelimit;
+
+import com.windsurf.gateway.config.RateLimitProperties;
+import com.windsurf.gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HybridRateLimiterTest {
+
+    private static final String ROUTE_ID = "system-service";
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private SimpleMeterRegistry registry;
+    private HybridRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        registry = new SimpleMeterRegistry();
+        rateLimiter = new HybridRateLimiter(redisTemplate, mock(ConfigurationService.class),
+                new GatewayMetrics(registry), new RateLimitProperties());
+
+        HybridRateLimiter.Config config = new HybridRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(3);
+        config.setKeyClass("user");
+        rateLimiter.getConfig().put(ROUTE_ID, config);
+    }
+
+    @Test
+    void isAllowed_ShouldAllowBurstThenBlock() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(isAllowed("user-1"));
+        }
+        assertFalse(isAllowed("user-1"));
+        // 不同key使用独立的令牌桶
+        assertTrue(isAllowed("user-2"));
+
+        assertEquals(4, registry.get("gateway.ratelimit.requests")
+                .tags("key_class", "user", "result", "allowed").counter().count());
+        assertEquals(1, registry.get("gateway.ratelimit.requests")
+                .tags("key_class", "user", "result", "blocked").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_GlobalBucketExhausted_ShouldBlockLocally() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(Collections.singletonList(0L)));
+        assertTrue(isAllowed("user-1"));
+
+        StepVerifier.create(rateLimiter.reconcile()).verifyComplete();
+
+        assertFalse(isAllowed("user-1"));
+        assertEquals(1, registry.get("gateway.ratelimit.sync").tag("result", "success").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_RedisDown_ShouldKeepLocalLimits() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new IllegalStateException("connection refused")));
+        assertTrue(isAllowed("user-1"));
+
+        StepVerifier.create(rateLimiter.reconcile()).verifyComplete();
+
+        assertTrue(isAllowed("user-1"));
+        assertEquals(1, registry.get("gateway.ratelimit.sync").tag("result", "failure").counter().count());
+    }
+
+    @Test
+    void isAllowed_UnknownRoute_ShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> rateLimiter.isAllowed("unknown", "user-1"));
+    }
+
+    private boolean isAllowed(String id) {
+        RateLimiter.Response response = rateLimiter.isAllowed(ROUTE_ID, id).block();
+        assertNotNull(response);
+        return response.isAllowed();
+    }
+}